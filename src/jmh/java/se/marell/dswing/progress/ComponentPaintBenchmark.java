@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2026 Daniel Marell
+ * All rights reserved.
+ *
+ * Permission is hereby granted, free  of charge, to any person obtaining
+ * a  copy  of this  software  and  associated  documentation files  (the
+ * "Software"), to  deal in  the Software without  restriction, including
+ * without limitation  the rights to  use, copy, modify,  merge, publish,
+ * distribute,  sublicense, and/or sell  copies of  the Software,  and to
+ * permit persons to whom the Software  is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The  above  copyright  notice  and  this permission  notice  shall  be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE  SOFTWARE IS  PROVIDED  "AS  IS", WITHOUT  WARRANTY  OF ANY  KIND,
+ * EXPRESS OR  IMPLIED, INCLUDING  BUT NOT LIMITED  TO THE  WARRANTIES OF
+ * MERCHANTABILITY,    FITNESS    FOR    A   PARTICULAR    PURPOSE    AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE,  ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package se.marell.dswing.progress;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import se.marell.dswing.util.ColorDisplayComponent;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of painting one frame of the dswing components into an offscreen image, headless.
+ * The components are painted directly, bypassing the RepaintManager, so the figures are the
+ * painting code itself.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ComponentPaintBenchmark {
+    @Param({"64", "256", "1024"})
+    public int size;
+
+    private BufferedImage image;
+    private Graphics2D g;
+    private InfiniteProgressPanel progressPanel;
+    private ActionSpinner spinner;
+    private ColorDisplayComponent colorDisplay;
+
+    @Setup
+    public void setUp() {
+        image = new BufferedImage(size, size, BufferedImage.TYPE_INT_ARGB);
+        g = image.createGraphics();
+
+        // No ramp delay, so the veil is fully opaque from the first frame
+        progressPanel = new InfiniteProgressPanel("Working...", 14, 0.70f, 15.0f, 0);
+        progressPanel.setSize(size, size);
+        // Not added to a window, so there is no font to inherit
+        progressPanel.setFont(new Font(Font.SANS_SERIF, Font.BOLD, 24));
+        progressPanel.start();
+        // The animation is driven by the benchmark, not by the timer
+        progressPanel.animationTimer.stop();
+
+        spinner = new ActionSpinner(0);
+        spinner.setSize(size, size);
+
+        colorDisplay = new ColorDisplayComponent(Color.ORANGE, size, size);
+        colorDisplay.setSize(size, size);
+    }
+
+    @TearDown
+    public void tearDown() {
+        progressPanel.interrupt();
+        g.dispose();
+    }
+
+    @Benchmark
+    public BufferedImage infiniteProgressPanel() {
+        progressPanel.paintComponent(g);
+        return image;
+    }
+
+    /**
+     * One animation frame: the timer action rotating the bars followed by the repaint.
+     */
+    @Benchmark
+    public BufferedImage infiniteProgressPanelFrame() {
+        progressPanel.actionPerformed(null);
+        progressPanel.paintComponent(g);
+        return image;
+    }
+
+    @Benchmark
+    public BufferedImage actionSpinner() {
+        spinner.tick();
+        spinner.paint(g);
+        return image;
+    }
+
+    @Benchmark
+    public BufferedImage colorDisplayComponent() {
+        colorDisplay.paint(g);
+        return image;
+    }
+}
@@ -0,0 +1,161 @@
+/*
+ * Copyright (c) 2026 Daniel Marell
+ * All rights reserved.
+ *
+ * Permission is hereby granted, free  of charge, to any person obtaining
+ * a  copy  of this  software  and  associated  documentation files  (the
+ * "Software"), to  deal in  the Software without  restriction, including
+ * without limitation  the rights to  use, copy, modify,  merge, publish,
+ * distribute,  sublicense, and/or sell  copies of  the Software,  and to
+ * permit persons to whom the Software  is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The  above  copyright  notice  and  this permission  notice  shall  be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE  SOFTWARE IS  PROVIDED  "AS  IS", WITHOUT  WARRANTY  OF ANY  KIND,
+ * EXPRESS OR  IMPLIED, INCLUDING  BUT NOT LIMITED  TO THE  WARRANTIES OF
+ * MERCHANTABILITY,    FITNESS    FOR    A   PARTICULAR    PURPOSE    AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE,  ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package se.marell.dswing.progress;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of reporting progress from task threads into a ProgressWorker and of sampling it from the
+ * update timer. Each group runs against its own worker, shared by the writer threads of the group
+ * as the threads of a parallel task share it.
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ProgressWorkerBenchmark {
+    private static final String[] TEXTS = {"Reading", "Parsing", "Writing"};
+
+    private CountingProgressWorker worker;
+    private int counter;
+
+    @State(Scope.Thread)
+    public static class WriterState {
+        int counter;
+    }
+
+    @Setup
+    public void setUp() {
+        worker = new CountingProgressWorker();
+        worker.setProgress(0, TEXTS[0]);
+    }
+
+    @Benchmark
+    @Group("setProgressValue_1")
+    @GroupThreads(1)
+    public void setProgressValue1(WriterState s) {
+        worker.setProgressValue(nextValue(s));
+    }
+
+    @Benchmark
+    @Group("setProgressValue_4")
+    @GroupThreads(4)
+    public void setProgressValue4(WriterState s) {
+        worker.setProgressValue(nextValue(s));
+    }
+
+    @Benchmark
+    @Group("setProgressValue_16")
+    @GroupThreads(16)
+    public void setProgressValue16(WriterState s) {
+        worker.setProgressValue(nextValue(s));
+    }
+
+    @Benchmark
+    @Group("setProgress_1")
+    @GroupThreads(1)
+    public void setProgress1(WriterState s) {
+        worker.setProgress(nextValue(s), TEXTS[s.counter % TEXTS.length]);
+    }
+
+    @Benchmark
+    @Group("setProgress_4")
+    @GroupThreads(4)
+    public void setProgress4(WriterState s) {
+        worker.setProgress(nextValue(s), TEXTS[s.counter % TEXTS.length]);
+    }
+
+    /**
+     * Four writers and the sampler running against each other, the situation while a task is running.
+     */
+    @Benchmark
+    @Group("contended")
+    @GroupThreads(4)
+    public void contendedWriter(WriterState s) {
+        worker.setProgress(nextValue(s), TEXTS[s.counter % TEXTS.length]);
+    }
+
+    @Benchmark
+    @Group("contended")
+    @GroupThreads(1)
+    public void contendedSampler() {
+        worker.updateProgress();
+    }
+
+    /**
+     * Sampling when neither value nor text changed since the last sample, the common case
+     * for a slow task and a 100 ms update period.
+     */
+    @Benchmark
+    @Group("updateProgress_unchanged")
+    public void updateProgressUnchanged() {
+        worker.updateProgress();
+    }
+
+    /**
+     * Sampling when both value and text changed, so both notifications are made.
+     */
+    @Benchmark
+    @Group("updateProgress_changed")
+    public void updateProgressChanged() {
+        ++counter;
+        worker.setProgress((counter % 1000) / 1000f, TEXTS[counter % TEXTS.length]);
+        worker.updateProgress();
+    }
+
+    private static float nextValue(WriterState s) {
+        return (++s.counter % 1000) / 1000f;
+    }
+
+    static final class CountingProgressWorker extends ProgressWorker {
+        int notifications;
+
+        @Override
+        protected void runTask() {
+        }
+
+        @Override
+        protected void notifyProgressValueChanged(float value) {
+            ++notifications;
+        }
+
+        @Override
+        protected void notifyProgressTextChanged(String text) {
+            ++notifications;
+        }
+
+        @Override
+        protected void notifyTaskEnded(boolean cancelled) {
+        }
+    }
+}
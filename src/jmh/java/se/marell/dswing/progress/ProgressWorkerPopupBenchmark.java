@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2026 Daniel Marell
+ * All rights reserved.
+ *
+ * Permission is hereby granted, free  of charge, to any person obtaining
+ * a  copy  of this  software  and  associated  documentation files  (the
+ * "Software"), to  deal in  the Software without  restriction, including
+ * without limitation  the rights to  use, copy, modify,  merge, publish,
+ * distribute,  sublicense, and/or sell  copies of  the Software,  and to
+ * permit persons to whom the Software  is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The  above  copyright  notice  and  this permission  notice  shall  be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE  SOFTWARE IS  PROVIDED  "AS  IS", WITHOUT  WARRANTY  OF ANY  KIND,
+ * EXPRESS OR  IMPLIED, INCLUDING  BUT NOT LIMITED  TO THE  WARRANTIES OF
+ * MERCHANTABILITY,    FITNESS    FOR    A   PARTICULAR    PURPOSE    AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE,  ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package se.marell.dswing.progress;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of one progress timer tick in a ProgressWorkerPopup, updating the progress bar from the
+ * progress value. The popup is created without a dialog, so the bar is not displayable and the
+ * benchmark measures the dispatch and model update, not the native repaint.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ProgressWorkerPopupBenchmark {
+    private ProgressWorkerPopup popup;
+    private ProgressWorkerPopup leanPopup;
+    private int counter;
+
+    @Setup
+    public void setUp() {
+        popup = createPopup();
+        popup.createProgressBar();
+        leanPopup = createPopup();
+        LeanProgressBar bar = new LeanProgressBar();
+        bar.setSize(bar.getPreferredSize());
+        leanPopup.setLeanProgressBar(bar);
+    }
+
+    private static ProgressWorkerPopup createPopup() {
+        return new ProgressWorkerPopup(null, "Benchmark", 200, false, 0, false, false) {
+            @Override
+            protected void runTask() {
+            }
+
+            @Override
+            protected void notifyTaskEnded(boolean cancelled) {
+            }
+        };
+    }
+
+    /**
+     * The progress value is the same as at the previous tick.
+     */
+    @Benchmark
+    public void updateProgressDialogUnchanged() {
+        popup.updateProgressDialog();
+    }
+
+    /**
+     * The progress value moved one progress bar step since the previous tick.
+     */
+    @Benchmark
+    public void updateProgressDialogChanged() {
+        popup.setProgressValue((++counter % 100) / 100f);
+        popup.updateProgressDialog();
+    }
+
+    /**
+     * As updateProgressDialogChanged, with a LeanProgressBar.
+     */
+    @Benchmark
+    public void updateProgressDialogChangedLean() {
+        leanPopup.setProgressValue((++counter % 100) / 100f);
+        leanPopup.updateProgressDialog();
+    }
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright (c) 2026 Daniel Marell
+ * All rights reserved.
+ *
+ * Permission is hereby granted, free  of charge, to any person obtaining
+ * a  copy  of this  software  and  associated  documentation files  (the
+ * "Software"), to  deal in  the Software without  restriction, including
+ * without limitation  the rights to  use, copy, modify,  merge, publish,
+ * distribute,  sublicense, and/or sell  copies of  the Software,  and to
+ * permit persons to whom the Software  is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The  above  copyright  notice  and  this permission  notice  shall  be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE  SOFTWARE IS  PROVIDED  "AS  IS", WITHOUT  WARRANTY  OF ANY  KIND,
+ * EXPRESS OR  IMPLIED, INCLUDING  BUT NOT LIMITED  TO THE  WARRANTIES OF
+ * MERCHANTABILITY,    FITNESS    FOR    A   PARTICULAR    PURPOSE    AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE,  ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package se.marell.dswing.form;
+
+import javax.swing.*;
+
+/**
+ * Creates the component editing a form field and moves the value between the component and the
+ * {@link FormModel}. See {@link FieldEditors} for common editors.
+ */
+public interface FieldEditor {
+    /**
+     * @return A new component editing the field
+     */
+    JComponent createComponent();
+
+    /**
+     * Show a value in a component created by this editor.
+     *
+     * @param component The component
+     * @param value     The value, null if not set in the model
+     */
+    void setValue(JComponent component, Object value);
+
+    /**
+     * Get the value from a component created by this editor.
+     *
+     * @param component The component
+     * @return The value to store in the model
+     */
+    Object getValue(JComponent component);
+}
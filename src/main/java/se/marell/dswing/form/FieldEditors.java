@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2026 Daniel Marell
+ * All rights reserved.
+ *
+ * Permission is hereby granted, free  of charge, to any person obtaining
+ * a  copy  of this  software  and  associated  documentation files  (the
+ * "Software"), to  deal in  the Software without  restriction, including
+ * without limitation  the rights to  use, copy, modify,  merge, publish,
+ * distribute,  sublicense, and/or sell  copies of  the Software,  and to
+ * permit persons to whom the Software  is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The  above  copyright  notice  and  this permission  notice  shall  be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE  SOFTWARE IS  PROVIDED  "AS  IS", WITHOUT  WARRANTY  OF ANY  KIND,
+ * EXPRESS OR  IMPLIED, INCLUDING  BUT NOT LIMITED  TO THE  WARRANTIES OF
+ * MERCHANTABILITY,    FITNESS    FOR    A   PARTICULAR    PURPOSE    AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE,  ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package se.marell.dswing.form;
+
+import javax.swing.*;
+
+/**
+ * Field editors for common components.
+ */
+public class FieldEditors {
+    private FieldEditors() {
+    }
+
+    /**
+     * @param columns Number of columns of the text field
+     * @return Editor for a String value in a JTextField
+     */
+    public static FieldEditor textField(final int columns) {
+        return new FieldEditor() {
+            @Override
+            public JComponent createComponent() {
+                return new JTextField(columns);
+            }
+
+            @Override
+            public void setValue(JComponent component, Object value) {
+                ((JTextField) component).setText(value != null ? value.toString() : "");
+            }
+
+            @Override
+            public Object getValue(JComponent component) {
+                return ((JTextField) component).getText();
+            }
+        };
+    }
+
+    /**
+     * @param text Text of the check box
+     * @return Editor for a Boolean value in a JCheckBox
+     */
+    public static FieldEditor checkBox(final String text) {
+        return new FieldEditor() {
+            @Override
+            public JComponent createComponent() {
+                return new JCheckBox(text);
+            }
+
+            @Override
+            public void setValue(JComponent component, Object value) {
+                ((JCheckBox) component).setSelected(Boolean.TRUE.equals(value));
+            }
+
+            @Override
+            public Object getValue(JComponent component) {
+                return ((JCheckBox) component).isSelected();
+            }
+        };
+    }
+
+    /**
+     * @param items Items to choose from
+     * @return Editor for one of the items in a JComboBox
+     */
+    public static FieldEditor comboBox(final Object... items) {
+        return new FieldEditor() {
+            @Override
+            public JComponent createComponent() {
+                return new JComboBox<Object>(items);
+            }
+
+            @Override
+            public void setValue(JComponent component, Object value) {
+                ((JComboBox<?>) component).setSelectedItem(value);
+            }
+
+            @Override
+            public Object getValue(JComponent component) {
+                return ((JComboBox<?>) component).getSelectedItem();
+            }
+        };
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ * Copyright (c) 2026 Daniel Marell
+ * All rights reserved.
+ *
+ * Permission is hereby granted, free  of charge, to any person obtaining
+ * a  copy  of this  software  and  associated  documentation files  (the
+ * "Software"), to  deal in  the Software without  restriction, including
+ * without limitation  the rights to  use, copy, modify,  merge, publish,
+ * distribute,  sublicense, and/or sell  copies of  the Software,  and to
+ * permit persons to whom the Software  is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The  above  copyright  notice  and  this permission  notice  shall  be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE  SOFTWARE IS  PROVIDED  "AS  IS", WITHOUT  WARRANTY  OF ANY  KIND,
+ * EXPRESS OR  IMPLIED, INCLUDING  BUT NOT LIMITED  TO THE  WARRANTIES OF
+ * MERCHANTABILITY,    FITNESS    FOR    A   PARTICULAR    PURPOSE    AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE,  ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package se.marell.dswing.form;
+
+import se.marell.dswing.util.CachedGridBagLayout;
+
+import javax.swing.*;
+import java.awt.*;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A section of a {@link LazyFormPanel}. The section only records the declared labels and fields with their
+ * constraints, typically created with {@link se.marell.dswing.util.GridBagConstraintsSetter}. The components
+ * are created when the section is scrolled into view.
+ *
+ * Usage example:
+ *
+ * <pre>
+ * FormSection s = new FormSection("Network", 120);
+ * s.addLabel("Host", new GridBagConstraintsSetter().setXY(0, 0));
+ * s.addField("network.host", FieldEditors.textField(20), new GridBagConstraintsSetter().setXY(1, 0));
+ * </pre>
+ */
+public class FormSection {
+    private final String title;
+    private final int estimatedHeight;
+    private final List<Entry> entries = new ArrayList<Entry>();
+
+    /**
+     * @param title           Section title shown in a titled border, null for none
+     * @param estimatedHeight Height in pixels used until the section has been created the first time
+     */
+    public FormSection(String title, int estimatedHeight) {
+        this.title = title;
+        this.estimatedHeight = estimatedHeight;
+    }
+
+    /**
+     * Declare a label.
+     *
+     * @param text        Label text
+     * @param constraints Constraints, copied
+     * @return This section
+     */
+    public FormSection addLabel(String text, GridBagConstraints constraints) {
+        entries.add(new Entry(null, text, null, constraints));
+        return this;
+    }
+
+    /**
+     * Declare a field.
+     *
+     * @param key         Key of the value in the form model
+     * @param editor      Editor creating the component
+     * @param constraints Constraints, copied
+     * @return This section
+     */
+    public FormSection addField(String key, FieldEditor editor, GridBagConstraints constraints) {
+        entries.add(new Entry(key, null, editor, constraints));
+        return this;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public int getEstimatedHeight() {
+        return estimatedHeight;
+    }
+
+    /**
+     * Create the components of the section with values from the model.
+     *
+     * @param panel      Panel to add the components to
+     * @param model      Form model
+     * @param components Receives the created field components, in declaration order
+     */
+    void realize(JPanel panel, FormModel model, List<JComponent> components) {
+        panel.setLayout(new CachedGridBagLayout());
+        if (title != null) {
+            panel.setBorder(BorderFactory.createTitledBorder(title));
+        }
+        for (Entry e : entries) {
+            JComponent c;
+            if (e.editor != null) {
+                c = e.editor.createComponent();
+                e.editor.setValue(c, model.getValue(e.key));
+            } else {
+                c = new JLabel(e.text);
+            }
+            components.add(c);
+            panel.add(c, e.constraints);
+        }
+    }
+
+    /**
+     * Store the values of the field components in the model.
+     *
+     * @param model      Form model
+     * @param components Components created by {@link #realize(JPanel, FormModel, List)}
+     */
+    void save(FormModel model, List<JComponent> components) {
+        for (int i = 0; i < entries.size(); ++i) {
+            Entry e = entries.get(i);
+            if (e.editor != null) {
+                model.setValue(e.key, e.editor.getValue(components.get(i)));
+            }
+        }
+    }
+
+    private static class Entry {
+        private final String key;
+        private final String text;
+        private final FieldEditor editor;
+        private final GridBagConstraints constraints;
+
+        Entry(String key, String text, FieldEditor editor, GridBagConstraints constraints) {
+            this.key = key;
+            this.text = text;
+            this.editor = editor;
+            this.constraints = (GridBagConstraints) constraints.clone();
+        }
+    }
+}
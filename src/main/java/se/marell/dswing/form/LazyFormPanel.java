@@ -0,0 +1,276 @@
+/*
+ * Copyright (c) 2026 Daniel Marell
+ * All rights reserved.
+ *
+ * Permission is hereby granted, free  of charge, to any person obtaining
+ * a  copy  of this  software  and  associated  documentation files  (the
+ * "Software"), to  deal in  the Software without  restriction, including
+ * without limitation  the rights to  use, copy, modify,  merge, publish,
+ * distribute,  sublicense, and/or sell  copies of  the Software,  and to
+ * permit persons to whom the Software  is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The  above  copyright  notice  and  this permission  notice  shall  be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE  SOFTWARE IS  PROVIDED  "AS  IS", WITHOUT  WARRANTY  OF ANY  KIND,
+ * EXPRESS OR  IMPLIED, INCLUDING  BUT NOT LIMITED  TO THE  WARRANTIES OF
+ * MERCHANTABILITY,    FITNESS    FOR    A   PARTICULAR    PURPOSE    AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE,  ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package se.marell.dswing.form;
+
+import se.marell.dswing.util.CachedGridBagLayout;
+import se.marell.dswing.util.GridBagConstraintsSetter;
+
+import javax.swing.*;
+import javax.swing.event.ChangeEvent;
+import javax.swing.event.ChangeListener;
+import java.awt.*;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A form made of {@link FormSection}s whose components are only created when the section is scrolled
+ * into view, and released again when it has been scrolled far out of view. Field values are kept in a
+ * {@link FormModel}, so nothing is lost when components are released. Meant to be the view of a
+ * JScrollPane.
+ *
+ * Usage example:
+ *
+ * <pre>
+ * LazyFormPanel form = new LazyFormPanel(new FormModel());
+ * form.addSection(networkSection);
+ * form.addSection(storageSection);
+ * frame.add(new JScrollPane(form));
+ * ...
+ * form.saveValues();
+ * Object host = form.getModel().getValue("network.host");
+ * </pre>
+ *
+ * Sections are created when they are within {@link #setRealizeDistance(int)} viewport heights of the
+ * visible area and released when they are more than {@link #setReleaseDistance(int)} viewport heights away.
+ * A section containing the focus owner is never released.
+ */
+public class LazyFormPanel extends JPanel implements Scrollable {
+    private final FormModel model;
+    private final JPanel sectionsPanel = new JPanel(new CachedGridBagLayout());
+    private final List<SectionHolder> holders = new ArrayList<SectionHolder>();
+    private int realizeDistance = 1;
+    private int releaseDistance = 3;
+    private JViewport viewport;
+    private boolean updatePending;
+    private final ChangeListener viewportListener = new ChangeListener() {
+        @Override
+        public void stateChanged(ChangeEvent e) {
+            scheduleUpdate();
+        }
+    };
+
+    /**
+     * @param model Model holding the field values
+     */
+    public LazyFormPanel(FormModel model) {
+        super(new BorderLayout());
+        this.model = model;
+        add(sectionsPanel, BorderLayout.NORTH);
+    }
+
+    public FormModel getModel() {
+        return model;
+    }
+
+    /**
+     * Add a section below the existing sections.
+     *
+     * @param section The section
+     */
+    public void addSection(FormSection section) {
+        SectionHolder holder = new SectionHolder(section);
+        sectionsPanel.add(holder, new GridBagConstraintsSetter().setXY(0, holders.size())
+                .setAnchorFill(GridBagConstraints.NORTH, GridBagConstraints.HORIZONTAL).setWeights(1, 0));
+        holders.add(holder);
+        sectionsPanel.revalidate();
+        scheduleUpdate();
+    }
+
+    /**
+     * Store the values of all created sections in the model. Call before reading values from the model.
+     */
+    public void saveValues() {
+        for (SectionHolder holder : holders) {
+            holder.save();
+        }
+    }
+
+    /**
+     * @param screens Sections within this many viewport heights of the visible area are created
+     */
+    public void setRealizeDistance(int screens) {
+        realizeDistance = screens;
+        scheduleUpdate();
+    }
+
+    /**
+     * @param screens Sections further away than this many viewport heights from the visible area are released
+     */
+    public void setReleaseDistance(int screens) {
+        releaseDistance = screens;
+        scheduleUpdate();
+    }
+
+    /**
+     * @return Number of sections whose components currently exist
+     */
+    public int getRealizedSectionCount() {
+        int n = 0;
+        for (SectionHolder holder : holders) {
+            if (holder.realized) {
+                ++n;
+            }
+        }
+        return n;
+    }
+
+    @Override
+    public void addNotify() {
+        super.addNotify();
+        if (getParent() instanceof JViewport) {
+            viewport = (JViewport) getParent();
+            viewport.addChangeListener(viewportListener);
+        }
+        scheduleUpdate();
+    }
+
+    @Override
+    public void removeNotify() {
+        if (viewport != null) {
+            viewport.removeChangeListener(viewportListener);
+            viewport = null;
+        }
+        super.removeNotify();
+    }
+
+    private void scheduleUpdate() {
+        if (!updatePending) {
+            updatePending = true;
+            SwingUtilities.invokeLater(new Runnable() {
+                @Override
+                public void run() {
+                    updatePending = false;
+                    updateSections();
+                }
+            });
+        }
+    }
+
+    private void updateSections() {
+        validate();
+        Rectangle visible = getVisibleRect();
+        if (visible.isEmpty()) {
+            return;
+        }
+        int realizeTop = visible.y - visible.height * realizeDistance;
+        int realizeBottom = visible.y + visible.height * (realizeDistance + 1);
+        int releaseTop = visible.y - visible.height * releaseDistance;
+        int releaseBottom = visible.y + visible.height * (releaseDistance + 1);
+        int offset = sectionsPanel.getY();
+        boolean changed = false;
+        for (SectionHolder holder : holders) {
+            int top = offset + holder.getY();
+            int bottom = top + holder.getHeight();
+            if (bottom > realizeTop && top < realizeBottom) {
+                changed |= holder.realize();
+            } else if (bottom <= releaseTop || top >= releaseBottom) {
+                changed |= holder.release();
+            }
+        }
+        if (changed) {
+            sectionsPanel.revalidate();
+            repaint();
+        }
+    }
+
+    @Override
+    public Dimension getPreferredScrollableViewportSize() {
+        return getPreferredSize();
+    }
+
+    @Override
+    public int getScrollableUnitIncrement(Rectangle visibleRect, int orientation, int direction) {
+        return 16;
+    }
+
+    @Override
+    public int getScrollableBlockIncrement(Rectangle visibleRect, int orientation, int direction) {
+        return orientation == SwingConstants.VERTICAL ? visibleRect.height : visibleRect.width;
+    }
+
+    @Override
+    public boolean getScrollableTracksViewportWidth() {
+        return getParent() instanceof JViewport && getParent().getWidth() > getPreferredSize().width;
+    }
+
+    @Override
+    public boolean getScrollableTracksViewportHeight() {
+        return getParent() instanceof JViewport && getParent().getHeight() > getPreferredSize().height;
+    }
+
+    /**
+     * Placeholder of a section, holding the components of the section while it is realized.
+     */
+    private class SectionHolder extends JPanel {
+        private final FormSection section;
+        private final List<JComponent> components = new ArrayList<JComponent>();
+        private boolean realized;
+        private int releasedHeight = -1;
+
+        SectionHolder(FormSection section) {
+            this.section = section;
+        }
+
+        @Override
+        public Dimension getPreferredSize() {
+            if (realized) {
+                return super.getPreferredSize();
+            }
+            return new Dimension(0, releasedHeight >= 0 ? releasedHeight : section.getEstimatedHeight());
+        }
+
+        boolean realize() {
+            if (realized) {
+                return false;
+            }
+            section.realize(this, model, components);
+            realized = true;
+            return true;
+        }
+
+        boolean release() {
+            if (!realized || containsFocusOwner()) {
+                return false;
+            }
+            save();
+            releasedHeight = getHeight();
+            removeAll();
+            components.clear();
+            setBorder(null);
+            realized = false;
+            return true;
+        }
+
+        void save() {
+            if (realized) {
+                section.save(model, components);
+            }
+        }
+
+        private boolean containsFocusOwner() {
+            Component focusOwner = KeyboardFocusManager.getCurrentKeyboardFocusManager().getFocusOwner();
+            return focusOwner != null && SwingUtilities.isDescendingFrom(focusOwner, this);
+        }
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2026 Daniel Marell
+ * All rights reserved.
+ *
+ * Permission is hereby granted, free  of charge, to any person obtaining
+ * a  copy  of this  software  and  associated  documentation files  (the
+ * "Software"), to  deal in  the Software without  restriction, including
+ * without limitation  the rights to  use, copy, modify,  merge, publish,
+ * distribute,  sublicense, and/or sell  copies of  the Software,  and to
+ * permit persons to whom the Software  is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The  above  copyright  notice  and  this permission  notice  shall  be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE  SOFTWARE IS  PROVIDED  "AS  IS", WITHOUT  WARRANTY  OF ANY  KIND,
+ * EXPRESS OR  IMPLIED, INCLUDING  BUT NOT LIMITED  TO THE  WARRANTIES OF
+ * MERCHANTABILITY,    FITNESS    FOR    A   PARTICULAR    PURPOSE    AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE,  ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package se.marell.dswing.monitor;
+
+import java.awt.*;
+
+/**
+ * Posts an event on the swing event queue periodically and records the time until it executes.
+ * Only one event is outstanding at a time, so a blocked swing thread is not flooded.
+ */
+class EdtHeartbeat {
+    private final int periodMillis;
+    private volatile long pendingSinceNanos;
+    private volatile Thread edtThread;
+    private volatile boolean running;
+    private Thread thread;
+
+    private final Runnable beat = new Runnable() {
+        @Override
+        public void run() {
+            edtThread = Thread.currentThread();
+            long posted = pendingSinceNanos;
+            EdtStatistics statistics = EdtMetrics.getStatistics();
+            if (posted != 0 && statistics != null) {
+                statistics.getEdtLatency().record(System.nanoTime() - posted);
+            }
+            pendingSinceNanos = 0;
+        }
+    };
+
+    EdtHeartbeat(int periodMillis) {
+        this.periodMillis = periodMillis;
+    }
+
+    void start() {
+        running = true;
+        thread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                while (running) {
+                    if (pendingSinceNanos == 0) {
+                        pendingSinceNanos = System.nanoTime();
+                        EventQueue.invokeLater(beat);
+                    }
+                    try {
+                        Thread.sleep(periodMillis);
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+            }
+        }, "EDT heartbeat");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    void stop() {
+        running = false;
+        if (thread != null) {
+            thread.interrupt();
+            thread = null;
+        }
+    }
+
+    /**
+     * @return System.nanoTime() when the outstanding heartbeat was posted, or 0 if none is outstanding
+     */
+    long getPendingSinceNanos() {
+        return pendingSinceNanos;
+    }
+
+    /**
+     * @return The swing thread as seen by the last executed heartbeat, or null before the first one
+     */
+    Thread getEdtThread() {
+        return edtThread;
+    }
+}
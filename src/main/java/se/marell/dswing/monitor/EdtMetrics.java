@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2026 Daniel Marell
+ * All rights reserved.
+ *
+ * Permission is hereby granted, free  of charge, to any person obtaining
+ * a  copy  of this  software  and  associated  documentation files  (the
+ * "Software"), to  deal in  the Software without  restriction, including
+ * without limitation  the rights to  use, copy, modify,  merge, publish,
+ * distribute,  sublicense, and/or sell  copies of  the Software,  and to
+ * permit persons to whom the Software  is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The  above  copyright  notice  and  this permission  notice  shall  be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE  SOFTWARE IS  PROVIDED  "AS  IS", WITHOUT  WARRANTY  OF ANY  KIND,
+ * EXPRESS OR  IMPLIED, INCLUDING  BUT NOT LIMITED  TO THE  WARRANTIES OF
+ * MERCHANTABILITY,    FITNESS    FOR    A   PARTICULAR    PURPOSE    AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE,  ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package se.marell.dswing.monitor;
+
+/**
+ * Instrumentation hooks called by dswing components. The hooks do nothing until {@link EdtMonitor}
+ * is installed, and do not load any swing classes.
+ *
+ * Usage example:
+ *
+ * <pre>
+ * long t = EdtMetrics.begin();
+ * try {
+ *     // paint or handle timer event
+ * } finally {
+ *     EdtMetrics.end(getClass(), t);
+ * }
+ * </pre>
+ */
+public final class EdtMetrics {
+    private static volatile EdtStatistics statistics;
+
+    private EdtMetrics() {
+    }
+
+    static void setStatistics(EdtStatistics statistics) {
+        EdtMetrics.statistics = statistics;
+    }
+
+    /**
+     * @return The statistics being collected, or null if not enabled
+     */
+    public static EdtStatistics getStatistics() {
+        return statistics;
+    }
+
+    public static boolean isEnabled() {
+        return statistics != null;
+    }
+
+    /**
+     * Begin measuring work on the swing thread.
+     *
+     * @return Start time to pass to {@link #end(Class, long)}, or 0 if not enabled
+     */
+    public static long begin() {
+        return statistics != null ? System.nanoTime() : 0;
+    }
+
+    /**
+     * End measuring work on the swing thread.
+     *
+     * @param cls        Class to account the time to
+     * @param startNanos Value returned by {@link #begin()}
+     */
+    public static void end(Class<?> cls, long startNanos) {
+        EdtStatistics s = statistics;
+        if (s != null && startNanos != 0) {
+            s.edtTime(cls, System.nanoTime() - startNanos);
+        }
+    }
+}
@@ -0,0 +1,216 @@
+/*
+ * Copyright (c) 2026 Daniel Marell
+ * All rights reserved.
+ *
+ * Permission is hereby granted, free  of charge, to any person obtaining
+ * a  copy  of this  software  and  associated  documentation files  (the
+ * "Software"), to  deal in  the Software without  restriction, including
+ * without limitation  the rights to  use, copy, modify,  merge, publish,
+ * distribute,  sublicense, and/or sell  copies of  the Software,  and to
+ * permit persons to whom the Software  is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The  above  copyright  notice  and  this permission  notice  shall  be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE  SOFTWARE IS  PROVIDED  "AS  IS", WITHOUT  WARRANTY  OF ANY  KIND,
+ * EXPRESS OR  IMPLIED, INCLUDING  BUT NOT LIMITED  TO THE  WARRANTIES OF
+ * MERCHANTABILITY,    FITNESS    FOR    A   PARTICULAR    PURPOSE    AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE,  ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package se.marell.dswing.monitor;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Opt-in instrumentation of the swing thread, published as a JMX MBean named {@link #OBJECT_NAME}.
+ *
+ * When installed, the monitor:
+ * <ul>
+ * <li>replaces the current RepaintManager with one counting repaint requests and coalesced repaints per
+ * component class and timing each paint cycle. The previous repaint manager is restored at uninstall.</li>
+ * <li>enables the {@link EdtMetrics} hooks, recording paint and timer event time per class for the dswing
+ * components and progress workers</li>
+ * <li>measures swing event queue latency with a periodic heartbeat event</li>
+ * </ul>
+ *
+ * Usage example:
+ *
+ * <pre>
+ * EdtMonitor.install();
+ * </pre>
+ */
+public class EdtMonitor implements EdtMonitorMBean {
+    public static final String OBJECT_NAME = "se.marell.dswing:type=EdtMonitor";
+    private static EdtMonitor instance;
+
+    private final EdtHeartbeat heartbeat;
+
+    private EdtMonitor(int heartbeatPeriodMillis) {
+        heartbeat = new EdtHeartbeat(heartbeatPeriodMillis);
+    }
+
+    /**
+     * Install the monitor with a heartbeat every 100 ms.
+     *
+     * @return The installed monitor
+     */
+    public static EdtMonitor install() {
+        return install(100);
+    }
+
+    /**
+     * Install the monitor. Does nothing if already installed.
+     *
+     * @param heartbeatPeriodMillis msec between event queue latency measurements
+     * @return The installed monitor
+     */
+    public static synchronized EdtMonitor install(int heartbeatPeriodMillis) {
+        if (instance == null) {
+            final EdtMonitor monitor = new EdtMonitor(heartbeatPeriodMillis);
+            EdtMetrics.setStatistics(new EdtStatistics());
+            InstrumentedRepaintManager.acquire();
+            monitor.heartbeat.start();
+            try {
+                ManagementFactory.getPlatformMBeanServer().registerMBean(monitor, new ObjectName(OBJECT_NAME));
+            } catch (JMException e) {
+                monitor.heartbeat.stop();
+                EdtMetrics.setStatistics(null);
+                InstrumentedRepaintManager.release();
+                throw new IllegalStateException("Failed to register " + OBJECT_NAME, e);
+            }
+            instance = monitor;
+        }
+        return instance;
+    }
+
+    /**
+     * Uninstall the monitor. Does nothing if not installed.
+     */
+    public static synchronized void uninstall() {
+        if (instance != null) {
+            instance.heartbeat.stop();
+            instance = null;
+            EdtMetrics.setStatistics(null);
+            InstrumentedRepaintManager.release();
+            try {
+                ManagementFactory.getPlatformMBeanServer().unregisterMBean(new ObjectName(OBJECT_NAME));
+            } catch (JMException ignore) {
+            }
+        }
+    }
+
+    /**
+     * @return The installed monitor or null if not installed
+     */
+    public static synchronized EdtMonitor getInstance() {
+        return instance;
+    }
+
+    /**
+     * @return The statistics currently being collected
+     */
+    public EdtStatistics getStatistics() {
+        EdtStatistics s = EdtMetrics.getStatistics();
+        return s != null ? s : new EdtStatistics();
+    }
+
+    @Override
+    public long getRepaintRequests() {
+        return getStatistics().getRepaintRequests();
+    }
+
+    @Override
+    public long getCoalescedRepaints() {
+        return getStatistics().getCoalescedRepaints();
+    }
+
+    @Override
+    public long getPaintCycles() {
+        return getStatistics().getPaintCycles().getCount();
+    }
+
+    @Override
+    public long getPaintCycleMeanMicros() {
+        return getStatistics().getPaintCycles().getMeanMicros();
+    }
+
+    @Override
+    public long getPaintCycleMaxMicros() {
+        return getStatistics().getPaintCycles().getMaxMicros();
+    }
+
+    @Override
+    public long[] getPaintCycleHistogram() {
+        return getStatistics().getPaintCycles().getBuckets();
+    }
+
+    @Override
+    public long getEdtLatencyMeanMicros() {
+        return getStatistics().getEdtLatency().getMeanMicros();
+    }
+
+    @Override
+    public long getEdtLatencyMaxMicros() {
+        return getStatistics().getEdtLatency().getMaxMicros();
+    }
+
+    @Override
+    public long[] getEdtLatencyHistogram() {
+        return getStatistics().getEdtLatency().getBuckets();
+    }
+
+    @Override
+    public long[] getHistogramBucketLimitsMicros() {
+        return DurationHistogram.getBucketLimitsMicros();
+    }
+
+    @Override
+    public String[] getComponentClasses() {
+        return getStatistics().getComponents().keySet().toArray(new String[0]);
+    }
+
+    @Override
+    public String[] getComponentStatistics() {
+        List<String> lines = new ArrayList<String>();
+        for (Map.Entry<String, EdtStatistics.ComponentStatistics> e : getStatistics().getComponents().entrySet()) {
+            lines.add(e.getKey() + " " + e.getValue());
+        }
+        return lines.toArray(new String[lines.size()]);
+    }
+
+    @Override
+    public long getRepaintRequests(String className) {
+        return componentStatistics(className).getRepaintRequests();
+    }
+
+    @Override
+    public long getCoalescedRepaints(String className) {
+        return componentStatistics(className).getCoalescedRepaints();
+    }
+
+    @Override
+    public long[] getEdtTimeHistogram(String className) {
+        return componentStatistics(className).getEdtTime().getBuckets();
+    }
+
+    private EdtStatistics.ComponentStatistics componentStatistics(String className) {
+        EdtStatistics.ComponentStatistics s = getStatistics().getComponents().get(className);
+        return s != null ? s : new EdtStatistics.ComponentStatistics();
+    }
+
+    @Override
+    public void reset() {
+        if (EdtMetrics.isEnabled()) {
+            EdtMetrics.setStatistics(new EdtStatistics());
+        }
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2026 Daniel Marell
+ * All rights reserved.
+ *
+ * Permission is hereby granted, free  of charge, to any person obtaining
+ * a  copy  of this  software  and  associated  documentation files  (the
+ * "Software"), to  deal in  the Software without  restriction, including
+ * without limitation  the rights to  use, copy, modify,  merge, publish,
+ * distribute,  sublicense, and/or sell  copies of  the Software,  and to
+ * permit persons to whom the Software  is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The  above  copyright  notice  and  this permission  notice  shall  be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE  SOFTWARE IS  PROVIDED  "AS  IS", WITHOUT  WARRANTY  OF ANY  KIND,
+ * EXPRESS OR  IMPLIED, INCLUDING  BUT NOT LIMITED  TO THE  WARRANTIES OF
+ * MERCHANTABILITY,    FITNESS    FOR    A   PARTICULAR    PURPOSE    AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE,  ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package se.marell.dswing.monitor;
+
+/**
+ * JMX interface of {@link EdtMonitor}. Durations are in microseconds, histograms are counts per bucket
+ * as given by {@link #getHistogramBucketLimitsMicros()}.
+ */
+public interface EdtMonitorMBean {
+    long getRepaintRequests();
+
+    long getCoalescedRepaints();
+
+    long getPaintCycles();
+
+    long getPaintCycleMeanMicros();
+
+    long getPaintCycleMaxMicros();
+
+    long[] getPaintCycleHistogram();
+
+    long getEdtLatencyMeanMicros();
+
+    long getEdtLatencyMaxMicros();
+
+    long[] getEdtLatencyHistogram();
+
+    long[] getHistogramBucketLimitsMicros();
+
+    /**
+     * @return Names of the component classes with statistics
+     */
+    String[] getComponentClasses();
+
+    /**
+     * @return One line of statistics per component class
+     */
+    String[] getComponentStatistics();
+
+    long getRepaintRequests(String className);
+
+    long getCoalescedRepaints(String className);
+
+    long[] getEdtTimeHistogram(String className);
+
+    /**
+     * Clear all statistics.
+     */
+    void reset();
+}
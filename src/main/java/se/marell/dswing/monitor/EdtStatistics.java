@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) 2026 Daniel Marell
+ * All rights reserved.
+ *
+ * Permission is hereby granted, free  of charge, to any person obtaining
+ * a  copy  of this  software  and  associated  documentation files  (the
+ * "Software"), to  deal in  the Software without  restriction, including
+ * without limitation  the rights to  use, copy, modify,  merge, publish,
+ * distribute,  sublicense, and/or sell  copies of  the Software,  and to
+ * permit persons to whom the Software  is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The  above  copyright  notice  and  this permission  notice  shall  be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE  SOFTWARE IS  PROVIDED  "AS  IS", WITHOUT  WARRANTY  OF ANY  KIND,
+ * EXPRESS OR  IMPLIED, INCLUDING  BUT NOT LIMITED  TO THE  WARRANTIES OF
+ * MERCHANTABILITY,    FITNESS    FOR    A   PARTICULAR    PURPOSE    AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE,  ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package se.marell.dswing.monitor;
+
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counters and histograms collected by {@link EdtMonitor}. Thread safe.
+ */
+public class EdtStatistics {
+    private final ConcurrentMap<String, ComponentStatistics> components = new ConcurrentHashMap<String, ComponentStatistics>();
+    private final DurationHistogram paintCycles = new DurationHistogram();
+    private final DurationHistogram edtLatency = new DurationHistogram();
+
+    /**
+     * Statistics for one component class.
+     */
+    public static class ComponentStatistics {
+        private final AtomicLong repaintRequests = new AtomicLong();
+        private final AtomicLong coalescedRepaints = new AtomicLong();
+        private final DurationHistogram edtTime = new DurationHistogram();
+
+        public long getRepaintRequests() {
+            return repaintRequests.get();
+        }
+
+        public long getCoalescedRepaints() {
+            return coalescedRepaints.get();
+        }
+
+        /**
+         * @return Time spent on the swing thread in painting and timer events
+         */
+        public DurationHistogram getEdtTime() {
+            return edtTime;
+        }
+
+        @Override
+        public String toString() {
+            return "repaints=" + getRepaintRequests() + " coalesced=" + getCoalescedRepaints() + " edt " + edtTime;
+        }
+    }
+
+    public ComponentStatistics getComponentStatistics(Class<?> cls) {
+        return getComponentStatistics(cls.getName());
+    }
+
+    public ComponentStatistics getComponentStatistics(String className) {
+        ComponentStatistics s = components.get(className);
+        if (s == null) {
+            ComponentStatistics previous = components.putIfAbsent(className, s = new ComponentStatistics());
+            if (previous != null) {
+                s = previous;
+            }
+        }
+        return s;
+    }
+
+    /**
+     * @return Statistics per component class name, sorted by name
+     */
+    public SortedMap<String, ComponentStatistics> getComponents() {
+        return new TreeMap<String, ComponentStatistics>(components);
+    }
+
+    public void repaintRequested(Class<?> cls, boolean coalesced) {
+        ComponentStatistics s = getComponentStatistics(cls);
+        s.repaintRequests.incrementAndGet();
+        if (coalesced) {
+            s.coalescedRepaints.incrementAndGet();
+        }
+    }
+
+    public void edtTime(Class<?> cls, long nanos) {
+        getComponentStatistics(cls).edtTime.record(nanos);
+    }
+
+    /**
+     * @return Duration of each RepaintManager paint cycle
+     */
+    public DurationHistogram getPaintCycles() {
+        return paintCycles;
+    }
+
+    /**
+     * @return Time from posting an event on the swing event queue until it executes
+     */
+    public DurationHistogram getEdtLatency() {
+        return edtLatency;
+    }
+
+    public long getRepaintRequests() {
+        long n = 0;
+        for (ComponentStatistics s : components.values()) {
+            n += s.getRepaintRequests();
+        }
+        return n;
+    }
+
+    public long getCoalescedRepaints() {
+        long n = 0;
+        for (ComponentStatistics s : components.values()) {
+            n += s.getCoalescedRepaints();
+        }
+        return n;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("paint cycles ").append(paintCycles).append('\n');
+        sb.append("edt latency ").append(edtLatency).append('\n');
+        for (Map.Entry<String, ComponentStatistics> e : getComponents().entrySet()) {
+            sb.append(e.getKey()).append(' ').append(e.getValue()).append('\n');
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,328 @@
+/*
+ * Copyright (c) 2026 Daniel Marell
+ * All rights reserved.
+ *
+ * Permission is hereby granted, free  of charge, to any person obtaining
+ * a  copy  of this  software  and  associated  documentation files  (the
+ * "Software"), to  deal in  the Software without  restriction, including
+ * without limitation  the rights to  use, copy, modify,  merge, publish,
+ * distribute,  sublicense, and/or sell  copies of  the Software,  and to
+ * permit persons to whom the Software  is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The  above  copyright  notice  and  this permission  notice  shall  be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE  SOFTWARE IS  PROVIDED  "AS  IS", WITHOUT  WARRANTY  OF ANY  KIND,
+ * EXPRESS OR  IMPLIED, INCLUDING  BUT NOT LIMITED  TO THE  WARRANTIES OF
+ * MERCHANTABILITY,    FITNESS    FOR    A   PARTICULAR    PURPOSE    AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE,  ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package se.marell.dswing.monitor;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.awt.*;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Detects stalls of the swing thread. A heartbeat event is posted on the event queue, and when it has not
+ * executed within the stall threshold, the stack of the swing thread is sampled until it does. Samples are
+ * aggregated by the first frame outside the JDK, which usually points at the application code
+ * holding up the swing thread, for example a long notifyTaskEnded() implementation.
+ *
+ * Optionally, repaints and invalidations of displayable swing components from other threads are reported
+ * as thread violations, aggregated the same way. This catches swing calls from ProgressWorker.runTask().
+ *
+ * Usage example:
+ *
+ * <pre>
+ * EdtWatchdog.install(200, true);
+ * ...
+ * System.out.println(EdtWatchdog.getInstance().getReport());
+ * </pre>
+ */
+public class EdtWatchdog {
+    private static final Logger logger = LoggerFactory.getLogger(EdtWatchdog.class);
+    private static EdtWatchdog instance;
+
+    private final int stallThresholdMillis;
+    private final int samplePeriodMillis;
+    private final boolean checkThreadViolations;
+    private final EdtHeartbeat heartbeat;
+    private final Map<String, FrameStatistics> stalls = new HashMap<String, FrameStatistics>();
+    private final Map<String, FrameStatistics> violations = new HashMap<String, FrameStatistics>();
+    private volatile boolean running;
+    private Thread thread;
+    private long currentStallStart;
+    private long stallCount;
+
+    /**
+     * Statistics for samples with the same culprit frame.
+     */
+    public static class FrameStatistics {
+        private final String frame;
+        private long count;
+        private long samples;
+        private long maxMillis;
+        private StackTraceElement[] lastStack;
+
+        FrameStatistics(String frame) {
+            this.frame = frame;
+        }
+
+        /**
+         * @return First frame outside the JDK, or the top frame if there is none
+         */
+        public String getFrame() {
+            return frame;
+        }
+
+        /**
+         * @return Number of stalls or violations
+         */
+        public synchronized long getCount() {
+            return count;
+        }
+
+        /**
+         * @return Number of stack samples, for stalls
+         */
+        public synchronized long getSamples() {
+            return samples;
+        }
+
+        /**
+         * @return Longest stall seen in msec, for stalls
+         */
+        public synchronized long getMaxMillis() {
+            return maxMillis;
+        }
+
+        /**
+         * @return The most recently sampled stack
+         */
+        public synchronized StackTraceElement[] getLastStack() {
+            return lastStack.clone();
+        }
+
+        synchronized void record(StackTraceElement[] stack, boolean newOccurrence, long millis) {
+            if (newOccurrence) {
+                ++count;
+            }
+            ++samples;
+            maxMillis = Math.max(maxMillis, millis);
+            lastStack = stack;
+        }
+
+        @Override
+        public synchronized String toString() {
+            return frame + " count=" + count + " samples=" + samples + " max=" + maxMillis + "ms";
+        }
+    }
+
+    private EdtWatchdog(int stallThresholdMillis, boolean checkThreadViolations) {
+        this.stallThresholdMillis = stallThresholdMillis;
+        this.samplePeriodMillis = Math.max(10, stallThresholdMillis / 4);
+        this.checkThreadViolations = checkThreadViolations;
+        this.heartbeat = new EdtHeartbeat(Math.max(10, Math.min(100, stallThresholdMillis / 2)));
+    }
+
+    /**
+     * Install the watchdog. Does nothing if already installed.
+     *
+     * @param stallThresholdMillis  The swing thread is considered stalled when an event has waited this long
+     * @param checkThreadViolations If true, report swing component access from other threads. Replaces the
+     *                              current repaint manager until uninstalled.
+     * @return The installed watchdog
+     */
+    public static synchronized EdtWatchdog install(int stallThresholdMillis, boolean checkThreadViolations) {
+        if (instance == null) {
+            EdtWatchdog watchdog = new EdtWatchdog(stallThresholdMillis, checkThreadViolations);
+            if (checkThreadViolations) {
+                InstrumentedRepaintManager.setViolationWatchdog(watchdog);
+                InstrumentedRepaintManager.acquire();
+            }
+            watchdog.start();
+            instance = watchdog;
+        }
+        return instance;
+    }
+
+    /**
+     * Uninstall the watchdog. Does nothing if not installed.
+     */
+    public static synchronized void uninstall() {
+        if (instance != null) {
+            instance.stop();
+            if (instance.checkThreadViolations) {
+                InstrumentedRepaintManager.setViolationWatchdog(null);
+                InstrumentedRepaintManager.release();
+            }
+            instance = null;
+        }
+    }
+
+    /**
+     * @return The installed watchdog or null if not installed
+     */
+    public static synchronized EdtWatchdog getInstance() {
+        return instance;
+    }
+
+    private void start() {
+        running = true;
+        heartbeat.start();
+        thread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                while (running) {
+                    try {
+                        Thread.sleep(samplePeriodMillis);
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                    check();
+                }
+            }
+        }, "EDT watchdog");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private void stop() {
+        running = false;
+        heartbeat.stop();
+        if (thread != null) {
+            thread.interrupt();
+            thread = null;
+        }
+    }
+
+    private void check() {
+        long pending = heartbeat.getPendingSinceNanos();
+        Thread edt = heartbeat.getEdtThread();
+        long stalledMillis = (System.nanoTime() - pending) / 1000000;
+        if (pending != 0 && edt != null && stalledMillis >= stallThresholdMillis) {
+            boolean newStall = pending != currentStallStart;
+            if (newStall) {
+                currentStallStart = pending;
+                synchronized (this) {
+                    ++stallCount;
+                }
+            }
+            StackTraceElement[] stack = edt.getStackTrace();
+            FrameStatistics s = getFrameStatistics(stalls, stack);
+            s.record(stack, newStall, stalledMillis);
+            if (newStall) {
+                logger.warn("Swing thread stalled more than " + stallThresholdMillis + " ms in " + s.getFrame());
+            }
+        } else if (currentStallStart != 0 && pending != currentStallStart) {
+            currentStallStart = 0;
+        }
+    }
+
+    void threadViolation(Component c, StackTraceElement[] stack) {
+        FrameStatistics s = getFrameStatistics(violations, stack);
+        s.record(stack, true, 0);
+        if (s.getCount() == 1) {
+            logger.warn("Swing component " + c.getClass().getName() + " accessed from thread "
+                    + Thread.currentThread().getName() + " in " + s.getFrame());
+        }
+    }
+
+    private FrameStatistics getFrameStatistics(Map<String, FrameStatistics> map, StackTraceElement[] stack) {
+        String frame = culpritFrame(stack);
+        synchronized (this) {
+            FrameStatistics s = map.get(frame);
+            if (s == null) {
+                s = new FrameStatistics(frame);
+                map.put(frame, s);
+            }
+            return s;
+        }
+    }
+
+    private static String culpritFrame(StackTraceElement[] stack) {
+        for (StackTraceElement e : stack) {
+            String cls = e.getClassName();
+            if (!cls.startsWith("java.") && !cls.startsWith("javax.") && !cls.startsWith("sun.")
+                    && !cls.startsWith("com.sun.") && !cls.startsWith("jdk.")
+                    && !cls.startsWith(EdtWatchdog.class.getPackage().getName())) {
+                return e.toString();
+            }
+        }
+        return stack.length > 0 ? stack[0].toString() : "unknown";
+    }
+
+    /**
+     * @return Number of detected stalls
+     */
+    public synchronized long getStallCount() {
+        return stallCount;
+    }
+
+    /**
+     * @return Stall statistics per culprit frame, most sampled first
+     */
+    public List<FrameStatistics> getStalls() {
+        return sorted(stalls);
+    }
+
+    /**
+     * @return Thread violation statistics per culprit frame, most frequent first
+     */
+    public List<FrameStatistics> getThreadViolations() {
+        return sorted(violations);
+    }
+
+    private synchronized List<FrameStatistics> sorted(Map<String, FrameStatistics> map) {
+        List<FrameStatistics> list = new ArrayList<FrameStatistics>(map.values());
+        Collections.sort(list, new Comparator<FrameStatistics>() {
+            @Override
+            public int compare(FrameStatistics s1, FrameStatistics s2) {
+                long n1 = s1.getSamples();
+                long n2 = s2.getSamples();
+                return n1 < n2 ? 1 : n1 > n2 ? -1 : 0;
+            }
+        });
+        return list;
+    }
+
+    /**
+     * Clear all statistics.
+     */
+    public synchronized void reset() {
+        stalls.clear();
+        violations.clear();
+        stallCount = 0;
+    }
+
+    /**
+     * @return Human readable report of stalls and thread violations
+     */
+    public String getReport() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("Swing thread stalls: ").append(getStallCount()).append('\n');
+        for (FrameStatistics s : getStalls()) {
+            sb.append("  ").append(s).append('\n');
+        }
+        List<FrameStatistics> v = getThreadViolations();
+        if (checkThreadViolations) {
+            sb.append("Thread violations:\n");
+            for (FrameStatistics s : v) {
+                sb.append("  ").append(s).append('\n');
+            }
+        }
+        return sb.toString();
+    }
+}
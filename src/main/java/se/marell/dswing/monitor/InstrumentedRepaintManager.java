@@ -0,0 +1,153 @@
+/*
+ * Copyright (c) 2026 Daniel Marell
+ * All rights reserved.
+ *
+ * Permission is hereby granted, free  of charge, to any person obtaining
+ * a  copy  of this  software  and  associated  documentation files  (the
+ * "Software"), to  deal in  the Software without  restriction, including
+ * without limitation  the rights to  use, copy, modify,  merge, publish,
+ * distribute,  sublicense, and/or sell  copies of  the Software,  and to
+ * permit persons to whom the Software  is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The  above  copyright  notice  and  this permission  notice  shall  be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE  SOFTWARE IS  PROVIDED  "AS  IS", WITHOUT  WARRANTY  OF ANY  KIND,
+ * EXPRESS OR  IMPLIED, INCLUDING  BUT NOT LIMITED  TO THE  WARRANTIES OF
+ * MERCHANTABILITY,    FITNESS    FOR    A   PARTICULAR    PURPOSE    AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE,  ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package se.marell.dswing.monitor;
+
+import javax.swing.*;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+
+/**
+ * Repaint manager shared by {@link EdtMonitor} and {@link EdtWatchdog}. It counts repaint requests per
+ * component class, where a request for a component which is already waiting to be painted is counted as
+ * coalesced, and records the duration of each paint cycle. When a watchdog checks thread violations, it
+ * reports repaints and invalidations of displayable components from other threads than the swing thread.
+ */
+class InstrumentedRepaintManager extends RepaintManager {
+    private static int users;
+    private static RepaintManager previousRepaintManager;
+    private static volatile EdtWatchdog violationWatchdog;
+
+    private final Set<JComponent> dirtyComponents = Collections.newSetFromMap(new IdentityHashMap<JComponent, Boolean>());
+
+    /**
+     * Install the repaint manager if this is the first user.
+     */
+    static synchronized void acquire() {
+        if (users++ == 0) {
+            runOnEdt(new Runnable() {
+                @Override
+                public void run() {
+                    previousRepaintManager = RepaintManager.currentManager(null);
+                    RepaintManager.setCurrentManager(new InstrumentedRepaintManager());
+                }
+            });
+        }
+    }
+
+    /**
+     * Restore the previous repaint manager if this is the last user.
+     */
+    static synchronized void release() {
+        if (users > 0 && --users == 0) {
+            runOnEdt(new Runnable() {
+                @Override
+                public void run() {
+                    if (RepaintManager.currentManager(null) instanceof InstrumentedRepaintManager) {
+                        RepaintManager.setCurrentManager(previousRepaintManager);
+                    }
+                    previousRepaintManager = null;
+                }
+            });
+        }
+    }
+
+    static void setViolationWatchdog(EdtWatchdog watchdog) {
+        violationWatchdog = watchdog;
+    }
+
+    static void runOnEdt(Runnable r) {
+        if (SwingUtilities.isEventDispatchThread()) {
+            r.run();
+        } else {
+            SwingUtilities.invokeLater(r);
+        }
+    }
+
+    @Override
+    public void addDirtyRegion(JComponent c, int x, int y, int w, int h) {
+        checkThread(c);
+        EdtStatistics statistics = EdtMetrics.getStatistics();
+        if (statistics != null && w > 0 && h > 0) {
+            boolean coalesced;
+            synchronized (dirtyComponents) {
+                coalesced = !dirtyComponents.add(c);
+            }
+            statistics.repaintRequested(c.getClass(), coalesced);
+        }
+        super.addDirtyRegion(c, x, y, w, h);
+    }
+
+    @Override
+    public void addInvalidComponent(JComponent invalidComponent) {
+        checkThread(invalidComponent);
+        super.addInvalidComponent(invalidComponent);
+    }
+
+    @Override
+    public void paintDirtyRegions() {
+        synchronized (dirtyComponents) {
+            dirtyComponents.clear();
+        }
+        long start = System.nanoTime();
+        super.paintDirtyRegions();
+        EdtStatistics statistics = EdtMetrics.getStatistics();
+        if (statistics != null) {
+            statistics.getPaintCycles().record(System.nanoTime() - start);
+        }
+    }
+
+    private void checkThread(JComponent c) {
+        EdtWatchdog watchdog = violationWatchdog;
+        if (watchdog != null && c.isDisplayable() && !SwingUtilities.isEventDispatchThread()) {
+            StackTraceElement[] stack = Thread.currentThread().getStackTrace();
+            if (!isPlainRepaint(stack)) {
+                watchdog.threadViolation(c, stack);
+            }
+        }
+    }
+
+    /**
+     * repaint() may be called from any thread. It is allowed unless called by swing itself, for example
+     * from a property setter. Only the frame calling the repaint is checked, the frames further out are
+     * allowed to be swing classes, for example SwingWorker running the task.
+     */
+    private static boolean isPlainRepaint(StackTraceElement[] stack) {
+        int i = 0;
+        while (i < stack.length && !isRepaintFrame(stack[i])) {
+            ++i;
+        }
+        if (i == stack.length) {
+            return false;
+        }
+        while (i < stack.length && isRepaintFrame(stack[i])) {
+            ++i;
+        }
+        return i == stack.length || !stack[i].getClassName().startsWith("javax.swing.");
+    }
+
+    private static boolean isRepaintFrame(StackTraceElement e) {
+        return "repaint".equals(e.getMethodName()) || "imageUpdate".equals(e.getMethodName());
+    }
+}
@@ -23,6 +23,8 @@
  */
 package se.marell.dswing.progress;
 
+import se.marell.dswing.monitor.EdtMetrics;
+
 import javax.swing.*;
 import java.awt.*;
 import java.awt.event.ActionEvent;
@@ -34,11 +36,12 @@ import java.awt.event.ActionListener;
  *
  * Consider using an animated image instead of this component.
  */
-public class ActionSpinner extends JComponent {
+public class ActionSpinner extends JComponent implements PausableAnimation {
     private int msecIdleBeforeInvisible;
     private long lastActionTimestamp;
     private int counter;
     private Timer timer;
+    private boolean paused;
 
     /**
      * Construct an ActionSpinner component.
@@ -63,13 +66,33 @@ public class ActionSpinner extends JComponent {
                 tick();
             }
         });
-        timer.start();
+        if (!paused) {
+            timer.start();
+        }
     }
 
     public void stop() {
         if (timer != null) {
             timer.stop();
+            timer = null;
+        }
+    }
+
+    @Override
+    public void pauseAnimation() {
+        paused = true;
+        if (timer != null) {
+            timer.stop();
+        }
+    }
+
+    @Override
+    public void resumeAnimation() {
+        paused = false;
+        if (timer != null) {
+            timer.start();
         }
+        repaint();
     }
 
     /**
@@ -77,19 +100,35 @@ public class ActionSpinner extends JComponent {
      */
     public void tick() {
         ++counter;
-        lastActionTimestamp = System.currentTimeMillis();
-        repaint();
+        lastActionTimestamp = currentTimeMillis();
+        if (!paused) {
+            repaint();
+        }
+    }
+
+    /**
+     * The clock deciding when the spinner hides. Sub classes can override to animate in simulated time.
+     *
+     * @return Current time in msec
+     */
+    protected long currentTimeMillis() {
+        return System.currentTimeMillis();
     }
 
     @Override
     public void paint(final Graphics g) {
-        if (System.currentTimeMillis() - lastActionTimestamp < msecIdleBeforeInvisible || msecIdleBeforeInvisible == 0) {
-            Graphics2D g2d = (Graphics2D) g;
-            g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-            g.setColor(Color.GRAY);
-            g.fillOval(0, 0, 30, 30);
-            g.setColor(Color.BLACK);
-            g.fillArc(0, 0, 30, 30, (counter % 20) * -18, -16);
+        long t = EdtMetrics.begin();
+        try {
+            if (currentTimeMillis() - lastActionTimestamp < msecIdleBeforeInvisible || msecIdleBeforeInvisible == 0) {
+                Graphics2D g2d = (Graphics2D) g;
+                g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+                g.setColor(Color.GRAY);
+                g.fillOval(0, 0, 30, 30);
+                g.setColor(Color.BLACK);
+                g.fillArc(0, 0, 30, 30, (counter % 20) * -18, -16);
+            }
+        } finally {
+            EdtMetrics.end(getClass(), t);
         }
     }
 }
@@ -0,0 +1,431 @@
+/*
+ * Copyright (c) 2026 Daniel Marell
+ * All rights reserved.
+ *
+ * Permission is hereby granted, free  of charge, to any person obtaining
+ * a  copy  of this  software  and  associated  documentation files  (the
+ * "Software"), to  deal in  the Software without  restriction, including
+ * without limitation  the rights to  use, copy, modify,  merge, publish,
+ * distribute,  sublicense, and/or sell  copies of  the Software,  and to
+ * permit persons to whom the Software  is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The  above  copyright  notice  and  this permission  notice  shall  be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE  SOFTWARE IS  PROVIDED  "AS  IS", WITHOUT  WARRANTY  OF ANY  KIND,
+ * EXPRESS OR  IMPLIED, INCLUDING  BUT NOT LIMITED  TO THE  WARRANTIES OF
+ * MERCHANTABILITY,    FITNESS    FOR    A   PARTICULAR    PURPOSE    AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE,  ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package se.marell.dswing.progress;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import se.marell.dswing.monitor.DurationHistogram;
+import se.marell.dswing.monitor.EdtMetrics;
+import se.marell.dswing.monitor.EdtStatistics;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.lang.management.OperatingSystemMXBean;
+import java.lang.reflect.Method;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+
+/**
+ * Limits the number of background tasks running at once, adapting the limit to the load of the JVM.
+ * A sampling thread checks heap usage after garbage collection, process CPU load and, when
+ * {@link se.marell.dswing.monitor.EdtMonitor} is installed, the latency of the swing thread. Under pressure
+ * the limit is halved and new tasks wait before starting, unless fewer than the minimum are running. Without
+ * pressure the limit grows by one per sample up to the maximum.<p>
+ *
+ * Share one controller between workers by calling {@code setConcurrencyController} before starting them.
+ * The workers wait for a slot with {@link #acquireLater(Runnable)}, so waiting tasks do not hold a thread.
+ * A long running task can call {@link #yieldIfThrottled()} regularly, also from library code only having a
+ * ProgressTracker, to give up its slot while the running tasks exceed the limit.<p>
+ *
+ * Usage example:
+ *
+ * <pre><code>
+ * AdaptiveConcurrencyController controller = new AdaptiveConcurrencyController(1, 8);
+ * controller.start();
+ * worker.setConcurrencyController(controller);
+ * worker.start();
+ * </code></pre>
+ */
+public class AdaptiveConcurrencyController {
+    private static final ThreadLocal<AdaptiveConcurrencyController> currentController =
+            new ThreadLocal<AdaptiveConcurrencyController>();
+    private final Logger logger = LoggerFactory.getLogger(AdaptiveConcurrencyController.class);
+    private final int minConcurrency;
+    private final int maxConcurrency;
+    private final List<MemoryPoolMXBean> heapPools = new ArrayList<MemoryPoolMXBean>();
+    private final OperatingSystemMXBean os = ManagementFactory.getOperatingSystemMXBean();
+    private final Method processCpuLoad = findProcessCpuLoad(os.getClass());
+    private final Queue<Runnable> waiting = new ArrayDeque<Runnable>();
+    private float heapThreshold = 0.85f;
+    private float cpuThreshold = 0.9f;
+    private int edtLatencyThresholdMillis = 100;
+    private int samplePeriodMillis = 500;
+    private int limit;
+    private int running;
+    private boolean paused;
+    private volatile float heapUsage;
+    private volatile float cpuLoad;
+    private volatile long edtLatencyMicros;
+    private long lastEdtLatencyCount;
+    private long lastEdtLatencyTotalNanos;
+    private volatile boolean sampling;
+    private Thread samplingThread;
+
+    /**
+     * @param minConcurrency Number of tasks always allowed to run, at least 1
+     * @param maxConcurrency Number of tasks allowed to run without pressure
+     */
+    public AdaptiveConcurrencyController(int minConcurrency, int maxConcurrency) {
+        if (minConcurrency < 1 || maxConcurrency < minConcurrency) {
+            throw new IllegalArgumentException("Invalid concurrency range " + minConcurrency + "-" + maxConcurrency);
+        }
+        this.minConcurrency = minConcurrency;
+        this.maxConcurrency = maxConcurrency;
+        limit = maxConcurrency;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP && pool.isCollectionUsageThresholdSupported()) {
+                heapPools.add(pool);
+            }
+        }
+    }
+
+    /**
+     * Set the fraction of a heap pool in use after garbage collection regarded as pressure. Default 0.85.
+     * Sets the collection usage threshold of the heap memory pools when the controller starts.
+     *
+     * @param heapThreshold Fraction between 0 and 1
+     */
+    public void setHeapThreshold(float heapThreshold) {
+        this.heapThreshold = heapThreshold;
+    }
+
+    /**
+     * Set the process CPU load regarded as pressure. Default 0.9.
+     *
+     * @param cpuThreshold Load between 0 and 1, where 1 means all cores busy
+     */
+    public void setCpuThreshold(float cpuThreshold) {
+        this.cpuThreshold = cpuThreshold;
+    }
+
+    /**
+     * Set the mean swing thread latency regarded as pressure. Default 100 msec.
+     *
+     * @param edtLatencyThresholdMillis Latency in msec
+     */
+    public void setEdtLatencyThresholdMillis(int edtLatencyThresholdMillis) {
+        this.edtLatencyThresholdMillis = edtLatencyThresholdMillis;
+    }
+
+    /**
+     * @param samplePeriodMillis msec between samples, default 500
+     */
+    public void setSamplePeriodMillis(int samplePeriodMillis) {
+        this.samplePeriodMillis = samplePeriodMillis;
+    }
+
+    /**
+     * Start sampling the load. Without sampling the limit stays at the maximum concurrency.
+     */
+    public synchronized void start() {
+        if (samplingThread != null) {
+            return;
+        }
+        for (MemoryPoolMXBean pool : heapPools) {
+            long max = pool.getUsage().getMax();
+            if (max > 0) {
+                pool.setCollectionUsageThreshold((long) (max * heapThreshold));
+            }
+        }
+        sampling = true;
+        samplingThread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                while (sampling) {
+                    try {
+                        Thread.sleep(samplePeriodMillis);
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                    sample();
+                }
+            }
+        }, "AdaptiveConcurrency");
+        samplingThread.setDaemon(true);
+        samplingThread.start();
+    }
+
+    /**
+     * Stop sampling and let waiting tasks start up to the maximum concurrency.
+     */
+    public synchronized void stop() {
+        sampling = false;
+        if (samplingThread != null) {
+            samplingThread.interrupt();
+            samplingThread = null;
+        }
+        limit = maxConcurrency;
+        paused = false;
+        notifyAll();
+        startWaiting();
+    }
+
+    void sample() {
+        boolean heapPressure = sampleHeap();
+        boolean cpuPressure = sampleCpu();
+        boolean edtPressure = sampleEdtLatency();
+        boolean pressure = heapPressure || cpuPressure || edtPressure;
+        synchronized (this) {
+            int oldLimit = limit;
+            if (pressure) {
+                limit = Math.max(minConcurrency, limit / 2);
+            } else if (limit < maxConcurrency) {
+                ++limit;
+            }
+            paused = pressure;
+            if (limit != oldLimit) {
+                logger.debug("Concurrency limit {} -> {}, heap {} cpu {} edt latency {}us", new Object[]{
+                        oldLimit, limit, heapUsage, cpuLoad, edtLatencyMicros});
+            }
+            notifyAll();
+        }
+        startWaiting();
+    }
+
+    private boolean sampleHeap() {
+        boolean exceeded = false;
+        float usage = 0;
+        for (MemoryPoolMXBean pool : heapPools) {
+            MemoryUsage u = pool.getCollectionUsage();
+            if (u != null && u.getMax() > 0) {
+                usage = Math.max(usage, (float) u.getUsed() / u.getMax());
+            }
+            if (pool.getCollectionUsageThreshold() > 0 && pool.isCollectionUsageThresholdExceeded()) {
+                exceeded = true;
+            }
+        }
+        heapUsage = usage;
+        return exceeded;
+    }
+
+    private boolean sampleCpu() {
+        double load = -1;
+        if (processCpuLoad != null) {
+            try {
+                load = (Double) processCpuLoad.invoke(os);
+            } catch (Exception e) {
+                logger.debug("Failed to get process CPU load: ", e);
+            }
+        }
+        if (load < 0) {
+            load = os.getSystemLoadAverage() / os.getAvailableProcessors();
+        }
+        cpuLoad = load < 0 ? 0 : (float) load;
+        return cpuLoad > cpuThreshold;
+    }
+
+    /**
+     * Find getProcessCpuLoad of com.sun.management.OperatingSystemMXBean through the interfaces of the platform
+     * bean. The class is not loaded by name, since it is missing on some JVMs and is not visible to an OSGi
+     * bundle not importing it.
+     *
+     * @return The method, or null if not implemented by the platform bean
+     */
+    private static Method findProcessCpuLoad(Class<?> c) {
+        for (; c != null; c = c.getSuperclass()) {
+            for (Class<?> i : c.getInterfaces()) {
+                Method m = findProcessCpuLoadInInterface(i);
+                if (m != null) {
+                    return m;
+                }
+            }
+        }
+        return null;
+    }
+
+    private static Method findProcessCpuLoadInInterface(Class<?> i) {
+        if (i.getName().equals("com.sun.management.OperatingSystemMXBean")) {
+            try {
+                return i.getMethod("getProcessCpuLoad");
+            } catch (NoSuchMethodException e) {
+                return null;
+            }
+        }
+        for (Class<?> superInterface : i.getInterfaces()) {
+            Method m = findProcessCpuLoadInInterface(superInterface);
+            if (m != null) {
+                return m;
+            }
+        }
+        return null;
+    }
+
+    private boolean sampleEdtLatency() {
+        EdtStatistics statistics = EdtMetrics.getStatistics();
+        if (statistics == null) {
+            edtLatencyMicros = 0;
+            return false;
+        }
+        DurationHistogram latency = statistics.getEdtLatency();
+        long count = latency.getCount();
+        long totalNanos = latency.getTotalNanos();
+        long n = count - lastEdtLatencyCount;
+        edtLatencyMicros = n > 0 ? (totalNanos - lastEdtLatencyTotalNanos) / n / 1000 : 0;
+        lastEdtLatencyCount = count;
+        lastEdtLatencyTotalNanos = totalNanos;
+        return edtLatencyMicros > edtLatencyThresholdMillis * 1000L;
+    }
+
+    /**
+     * Wait until a task may start and take a slot, blocking the calling thread.
+     *
+     * @throws InterruptedException If interrupted while waiting
+     */
+    public void acquire() throws InterruptedException {
+        synchronized (this) {
+            while (!mayStart()) {
+                wait();
+            }
+            ++running;
+        }
+        currentController.set(this);
+    }
+
+    /**
+     * Take a slot for a task without blocking, and run an action handing the task over to its thread once the
+     * slot is taken. The action runs at once on the calling thread if the task may start, otherwise later on the
+     * thread giving back a slot or sampling the load, so it must not block. The task thread calls
+     * {@link #attach()} when the task starts and {@link #release()} when it ends.
+     *
+     * @param onAcquired Action starting the task
+     */
+    public void acquireLater(Runnable onAcquired) {
+        synchronized (this) {
+            waiting.add(onAcquired);
+        }
+        startWaiting();
+    }
+
+    private void startWaiting() {
+        List<Runnable> started = new ArrayList<Runnable>();
+        synchronized (this) {
+            while (!waiting.isEmpty() && mayStart()) {
+                ++running;
+                started.add(waiting.remove());
+            }
+        }
+        for (Runnable r : started) {
+            r.run();
+        }
+    }
+
+    /**
+     * Let {@link #yieldIfThrottled()} on the calling thread give up the slot taken by {@link #acquireLater(Runnable)}.
+     */
+    public void attach() {
+        currentController.set(this);
+    }
+
+    private boolean mayStart() {
+        // Keep the minimum running also when paused, so that the tasks causing the pressure can finish
+        return running < limit && (!paused || running < minConcurrency);
+    }
+
+    /**
+     * Give back the slot taken by {@link #acquire()} or {@link #acquireLater(Runnable)}. Called from the task thread.
+     */
+    public void release() {
+        currentController.remove();
+        synchronized (this) {
+            --running;
+            notifyAll();
+        }
+        startWaiting();
+    }
+
+    /**
+     * Give up the slot of the calling task while more tasks run than the limit allows, and wait for a new slot.
+     * Does nothing if the calling thread does not run a task of a controller. Restores the interrupt status and
+     * returns if interrupted.
+     *
+     * @return true if the task waited
+     */
+    public static boolean yieldIfThrottled() {
+        AdaptiveConcurrencyController controller = currentController.get();
+        return controller != null && controller.yieldSlot();
+    }
+
+    private synchronized boolean yieldSlot() {
+        if (running <= limit) {
+            return false;
+        }
+        --running;
+        notifyAll();
+        try {
+            while (!mayStart()) {
+                wait();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        ++running;
+        return true;
+    }
+
+    public synchronized int getLimit() {
+        return limit;
+    }
+
+    public synchronized int getRunning() {
+        return running;
+    }
+
+    /**
+     * @return true if new tasks are not started because of pressure
+     */
+    public synchronized boolean isPaused() {
+        return paused;
+    }
+
+    /**
+     * @return Highest fraction of a heap pool in use after the last garbage collection
+     */
+    public float getHeapUsage() {
+        return heapUsage;
+    }
+
+    /**
+     * @return Last sampled process CPU load between 0 and 1
+     */
+    public float getCpuLoad() {
+        return cpuLoad;
+    }
+
+    /**
+     * @return Mean swing thread latency in usec since the previous sample, 0 if not monitored
+     */
+    public long getEdtLatencyMicros() {
+        return edtLatencyMicros;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "running=" + running + " limit=" + limit + " paused=" + paused + " heap=" + heapUsage +
+                " cpu=" + cpuLoad + " edtLatency=" + edtLatencyMicros + "us";
+    }
+}
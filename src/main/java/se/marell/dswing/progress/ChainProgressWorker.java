@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2026 Daniel Marell
+ * All rights reserved.
+ *
+ * Permission is hereby granted, free  of charge, to any person obtaining
+ * a  copy  of this  software  and  associated  documentation files  (the
+ * "Software"), to  deal in  the Software without  restriction, including
+ * without limitation  the rights to  use, copy, modify,  merge, publish,
+ * distribute,  sublicense, and/or sell  copies of  the Software,  and to
+ * permit persons to whom the Software  is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The  above  copyright  notice  and  this permission  notice  shall  be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE  SOFTWARE IS  PROVIDED  "AS  IS", WITHOUT  WARRANTY  OF ANY  KIND,
+ * EXPRESS OR  IMPLIED, INCLUDING  BUT NOT LIMITED  TO THE  WARRANTIES OF
+ * MERCHANTABILITY,    FITNESS    FOR    A   PARTICULAR    PURPOSE    AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE,  ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package se.marell.dswing.progress;
+
+/**
+ * A {@link ProgressWorker} running a {@link TaskChain}. All steps run in one background task with one continuous
+ * progress, and the result is available through {@link #getFuture()}. Only call {@link #start()} once, a chain
+ * worker cannot recur since its future completes only once.<p>
+ *
+ * Usage example:
+ *
+ * <pre><code>
+ * ChainProgressWorker&lt;Model&gt; t = new ChainProgressWorker&lt;Model&gt;() {
+ *   {@literal @}Override
+ *   protected TaskChain&lt;Model&gt; createTaskChain() {
+ *     return TaskChain.first("Downloading", 3, downloadStep).then("Parsing", 1, parseStep);
+ *   }
+ *
+ *   {@literal @}Override
+ *   protected void notifyTaskEnded(boolean cancelled) {
+ *     // getFuture().get() does not block here
+ *   }
+ *   ...
+ * };
+ *
+ * t.start();
+ * </code></pre>
+ *
+ * @param <T> Result type of the chain
+ */
+public abstract class ChainProgressWorker<T> extends ProgressWorker {
+    private final ProgressFuture<T> future = new ProgressFuture<T>(new Runnable() {
+        @Override
+        public void run() {
+            cancelTask();
+        }
+    });
+
+    /**
+     * Create a worker notified on the swing thread.
+     */
+    protected ChainProgressWorker() {
+    }
+
+    /**
+     * @param dispatcher Dispatcher running the task and the notifications
+     */
+    protected ChainProgressWorker(ProgressDispatcher dispatcher) {
+        super(dispatcher);
+    }
+
+    /**
+     * Create the chain to run. Called from the task thread.
+     *
+     * @return Chain
+     */
+    protected abstract TaskChain<T> createTaskChain();
+
+    @Override
+    protected final void runTask() {
+        future.run(createTaskChain(), createProgressTracker());
+    }
+
+    /**
+     * Not supported, the future of a chain worker completes only once. Create a new worker for each run.
+     *
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public final void startRecurring(int periodMillis, Recurrence recurrence, OverlapPolicy overlapPolicy) {
+        throw new UnsupportedOperationException("A chain worker runs its chain once");
+    }
+
+    /**
+     * @return Result of the chain, completed before {@link #notifyTaskEnded} is called
+     */
+    public final ProgressFuture<T> getFuture() {
+        return future;
+    }
+}
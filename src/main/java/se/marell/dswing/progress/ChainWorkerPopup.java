@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2026 Daniel Marell
+ * All rights reserved.
+ *
+ * Permission is hereby granted, free  of charge, to any person obtaining
+ * a  copy  of this  software  and  associated  documentation files  (the
+ * "Software"), to  deal in  the Software without  restriction, including
+ * without limitation  the rights to  use, copy, modify,  merge, publish,
+ * distribute,  sublicense, and/or sell  copies of  the Software,  and to
+ * permit persons to whom the Software  is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The  above  copyright  notice  and  this permission  notice  shall  be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE  SOFTWARE IS  PROVIDED  "AS  IS", WITHOUT  WARRANTY  OF ANY  KIND,
+ * EXPRESS OR  IMPLIED, INCLUDING  BUT NOT LIMITED  TO THE  WARRANTIES OF
+ * MERCHANTABILITY,    FITNESS    FOR    A   PARTICULAR    PURPOSE    AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE,  ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package se.marell.dswing.progress;
+
+import java.awt.*;
+
+/**
+ * A {@link ProgressWorkerPopup} running a {@link TaskChain}. All steps run in one background task under one
+ * progress dialog, and the result is available through {@link #getFuture()}.<p>
+ *
+ * Usage example:
+ *
+ * <pre><code>
+ * ChainWorkerPopup&lt;Model&gt; t = new ChainWorkerPopup&lt;Model&gt;(frame, "Loading...", 200, true, 500, true, true) {
+ *   {@literal @}Override
+ *   protected TaskChain&lt;Model&gt; createTaskChain() {
+ *     return TaskChain.first("Downloading", 3, downloadStep).then("Parsing", 1, parseStep);
+ *   }
+ *
+ *   {@literal @}Override
+ *   protected void notifyTaskEnded(boolean cancelled) {
+ *     // getFuture().get() does not block here
+ *   }
+ * };
+ *
+ * t.start();
+ * </code></pre>
+ *
+ * @param <T> Result type of the chain
+ */
+public abstract class ChainWorkerPopup<T> extends ProgressWorkerPopup {
+    private final ProgressFuture<T> future = new ProgressFuture<T>(new Runnable() {
+        @Override
+        public void run() {
+            interruptTask();
+        }
+    });
+
+    /**
+     * @param owner                Owning window
+     * @param title                Title of progress bar window
+     * @param progressUpdatePeriod msec between updates
+     * @param disableOwner         If true, disables owning window while executing
+     * @param dialogDelay          Delay in msec before the progress dialog pops up
+     * @param useCancelButton      If true, the progress dialog is equipped with a cancel button
+     * @param useProgressDialog    If true, a progress dialog will be used
+     */
+    protected ChainWorkerPopup(Window owner, String title,
+                               int progressUpdatePeriod, boolean disableOwner,
+                               int dialogDelay, boolean useCancelButton, boolean useProgressDialog) {
+        super(owner, title, progressUpdatePeriod, disableOwner, dialogDelay, useCancelButton, useProgressDialog);
+    }
+
+    /**
+     * Create the chain to run. Called from the task thread.
+     *
+     * @return Chain
+     */
+    protected abstract TaskChain<T> createTaskChain();
+
+    @Override
+    protected final void runTask() {
+        future.run(createTaskChain(), createProgressTracker());
+    }
+
+    /**
+     * @return Result of the chain, completed before {@link #notifyTaskEnded} is called
+     */
+    public final ProgressFuture<T> getFuture() {
+        return future;
+    }
+}
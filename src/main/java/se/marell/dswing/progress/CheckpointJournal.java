@@ -0,0 +1,342 @@
+/*
+ * Copyright (c) 2026 Daniel Marell
+ * All rights reserved.
+ *
+ * Permission is hereby granted, free  of charge, to any person obtaining
+ * a  copy  of this  software  and  associated  documentation files  (the
+ * "Software"), to  deal in  the Software without  restriction, including
+ * without limitation  the rights to  use, copy, modify,  merge, publish,
+ * distribute,  sublicense, and/or sell  copies of  the Software,  and to
+ * permit persons to whom the Software  is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The  above  copyright  notice  and  this permission  notice  shall  be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE  SOFTWARE IS  PROVIDED  "AS  IS", WITHOUT  WARRANTY  OF ANY  KIND,
+ * EXPRESS OR  IMPLIED, INCLUDING  BUT NOT LIMITED  TO THE  WARRANTIES OF
+ * MERCHANTABILITY,    FITNESS    FOR    A   PARTICULAR    PURPOSE    AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE,  ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package se.marell.dswing.progress;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only local journal of task checkpoints, used to resume a long task after a crash or a cancel.
+ * Each checkpoint is a record with the progress value and a state blob defined by the task, protected by a CRC.
+ * A torn record at the end of the file, from a crash while writing, is detected and discarded when the journal
+ * is opened.<p>
+ *
+ * Records are written without waiting for the disk. The file is forced to disk every syncRecords records or
+ * when syncMillis has passed since the last force, whichever comes first, so a crash loses at most the
+ * checkpoints since the last force. When the file grows beyond compactBytes it is rewritten with only the last
+ * checkpoint.<p>
+ *
+ * The statistics tell the cost of a checkpoint, to tune how often a task makes them.
+ * All methods are thread safe.
+ */
+public class CheckpointJournal {
+    private static final int MAGIC = 0x44534a31;
+    private static final int HEADER_SIZE = 4 + 4 + 8 + 8 + 4;
+    private static final int CRC_SIZE = 4;
+
+    /**
+     * A checkpoint read from or written to the journal.
+     */
+    public static final class Checkpoint {
+        private final long sequence;
+        private final long timestampMillis;
+        private final float progressValue;
+        private final byte[] state;
+
+        Checkpoint(long sequence, long timestampMillis, float progressValue, byte[] state) {
+            this.sequence = sequence;
+            this.timestampMillis = timestampMillis;
+            this.progressValue = progressValue;
+            this.state = state;
+        }
+
+        public long getSequence() {
+            return sequence;
+        }
+
+        public long getTimestampMillis() {
+            return timestampMillis;
+        }
+
+        public float getProgressValue() {
+            return progressValue;
+        }
+
+        public byte[] getState() {
+            return state.clone();
+        }
+    }
+
+    private final Path path;
+    private final int syncRecords;
+    private final long syncMillis;
+    private final long compactBytes;
+    private final CRC32 crc = new CRC32();
+    private FileChannel channel;
+    private ByteBuffer buffer = ByteBuffer.allocate(256);
+    private Checkpoint last;
+    private int unsyncedRecords;
+    private long lastSyncMillis;
+
+    private long appendCount;
+    private long appendNanos;
+    private long maxAppendNanos;
+    private long syncCount;
+    private long syncNanos;
+    private long maxSyncNanos;
+    private long bytesWritten;
+    private long compactCount;
+
+    /**
+     * Open a journal forcing to disk every 16 records or every second, compacting at 1 MB.
+     *
+     * @param file Journal file, created if it does not exist
+     * @throws IOException if the file could not be opened or read
+     */
+    public CheckpointJournal(File file) throws IOException {
+        this(file, 16, 1000, 1024 * 1024);
+    }
+
+    /**
+     * @param file         Journal file, created if it does not exist
+     * @param syncRecords  Force to disk after this number of records, 1 to force every record
+     * @param syncMillis   Force to disk when this time in msec has passed since the last force
+     * @param compactBytes Rewrite the file with the last checkpoint only when it grows beyond this size
+     * @throws IOException if the file could not be opened or read
+     */
+    public CheckpointJournal(File file, int syncRecords, long syncMillis, long compactBytes) throws IOException {
+        this.path = file.toPath();
+        this.syncRecords = syncRecords;
+        this.syncMillis = syncMillis;
+        this.compactBytes = compactBytes;
+        channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        recover();
+        lastSyncMillis = System.currentTimeMillis();
+    }
+
+    /**
+     * @return The last checkpoint in the journal, or null if it is empty
+     */
+    public synchronized Checkpoint getLastCheckpoint() {
+        return last;
+    }
+
+    /**
+     * Append a checkpoint.
+     *
+     * @param progressValue Progress value between 0.0 and 1.0
+     * @param state         State needed by the task to continue from this point
+     * @throws IOException if the record could not be written
+     */
+    public synchronized void append(float progressValue, byte[] state) throws IOException {
+        long t = System.nanoTime();
+        Checkpoint c = new Checkpoint(last == null ? 1 : last.getSequence() + 1, System.currentTimeMillis(),
+                progressValue, state.clone());
+        write(channel, c);
+        last = c;
+        ++unsyncedRecords;
+        if (unsyncedRecords >= syncRecords || System.currentTimeMillis() - lastSyncMillis >= syncMillis) {
+            sync();
+        }
+        if (channel.size() > compactBytes) {
+            compact();
+        }
+        long elapsed = System.nanoTime() - t;
+        ++appendCount;
+        appendNanos += elapsed;
+        maxAppendNanos = Math.max(maxAppendNanos, elapsed);
+    }
+
+    /**
+     * Force written records to disk.
+     *
+     * @throws IOException if the file could not be forced
+     */
+    public synchronized void sync() throws IOException {
+        long t = System.nanoTime();
+        channel.force(false);
+        long elapsed = System.nanoTime() - t;
+        ++syncCount;
+        syncNanos += elapsed;
+        maxSyncNanos = Math.max(maxSyncNanos, elapsed);
+        unsyncedRecords = 0;
+        lastSyncMillis = System.currentTimeMillis();
+    }
+
+    /**
+     * Rewrite the file with the last checkpoint only. The new file replaces the old one atomically.
+     *
+     * @throws IOException if the file could not be rewritten
+     */
+    public synchronized void compact() throws IOException {
+        Path tmp = path.resolveSibling(path.getFileName() + ".tmp");
+        FileChannel c = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        try {
+            if (last != null) {
+                write(c, last);
+            }
+            c.force(false);
+        } finally {
+            c.close();
+        }
+        // Some platforms cannot replace an open file. Reopen in any case, the old file if the move failed.
+        channel.close();
+        try {
+            Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            channel.position(channel.size());
+        }
+        ++compactCount;
+        unsyncedRecords = 0;
+    }
+
+    /**
+     * Remove all checkpoints, when the task has completed.
+     *
+     * @throws IOException if the file could not be truncated
+     */
+    public synchronized void clear() throws IOException {
+        channel.truncate(0);
+        channel.force(false);
+        last = null;
+        unsyncedRecords = 0;
+    }
+
+    /**
+     * Force written records to disk and close the file.
+     *
+     * @throws IOException if the file could not be forced or closed
+     */
+    public synchronized void close() throws IOException {
+        if (unsyncedRecords > 0) {
+            sync();
+        }
+        channel.close();
+    }
+
+    public synchronized long getAppendCount() {
+        return appendCount;
+    }
+
+    /**
+     * @return Mean time of {@link #append(float, byte[])} in microseconds, including forces and compactions
+     */
+    public synchronized double getMeanAppendMicros() {
+        return appendCount == 0 ? 0 : appendNanos / 1000.0 / appendCount;
+    }
+
+    public synchronized double getMaxAppendMicros() {
+        return maxAppendNanos / 1000.0;
+    }
+
+    public synchronized long getSyncCount() {
+        return syncCount;
+    }
+
+    /**
+     * @return Mean time to force the file to disk in microseconds
+     */
+    public synchronized double getMeanSyncMicros() {
+        return syncCount == 0 ? 0 : syncNanos / 1000.0 / syncCount;
+    }
+
+    public synchronized double getMaxSyncMicros() {
+        return maxSyncNanos / 1000.0;
+    }
+
+    public synchronized long getBytesWritten() {
+        return bytesWritten;
+    }
+
+    public synchronized long getCompactCount() {
+        return compactCount;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.format("%d checkpoints, mean %.1f us, max %.1f us; %d syncs, mean %.1f us, max %.1f us; " +
+                        "%d bytes, %d compactions", appendCount, getMeanAppendMicros(), getMaxAppendMicros(),
+                syncCount, getMeanSyncMicros(), getMaxSyncMicros(), bytesWritten, compactCount);
+    }
+
+    private void write(FileChannel c, Checkpoint checkpoint) throws IOException {
+        int size = HEADER_SIZE + checkpoint.state.length + CRC_SIZE;
+        if (buffer.capacity() < size) {
+            buffer = ByteBuffer.allocate(Math.max(size, buffer.capacity() * 2));
+        }
+        buffer.clear();
+        buffer.putInt(MAGIC);
+        buffer.putInt(checkpoint.state.length);
+        buffer.putLong(checkpoint.sequence);
+        buffer.putLong(checkpoint.timestampMillis);
+        buffer.putFloat(checkpoint.progressValue);
+        buffer.put(checkpoint.state);
+        crc.reset();
+        crc.update(buffer.array(), 0, buffer.position());
+        buffer.putInt((int) crc.getValue());
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            c.write(buffer);
+        }
+        bytesWritten += size;
+    }
+
+    /**
+     * Read all records, keeping the last valid one, and cut the file after it.
+     */
+    private void recover() throws IOException {
+        long size = channel.size();
+        ByteBuffer b = ByteBuffer.allocate((int) Math.min(size, Integer.MAX_VALUE));
+        channel.position(0);
+        while (b.hasRemaining() && channel.read(b) >= 0) {
+        }
+        b.flip();
+        int validEnd = 0;
+        while (b.remaining() >= HEADER_SIZE + CRC_SIZE) {
+            int start = b.position();
+            if (b.getInt() != MAGIC) {
+                break;
+            }
+            int length = b.getInt();
+            if (length < 0 || length > b.remaining() - (HEADER_SIZE - 8) - CRC_SIZE) {
+                break;
+            }
+            long sequence = b.getLong();
+            long timestamp = b.getLong();
+            float progress = b.getFloat();
+            byte[] state = new byte[length];
+            b.get(state);
+            crc.reset();
+            crc.update(b.array(), start, b.position() - start);
+            if (b.getInt() != (int) crc.getValue()) {
+                break;
+            }
+            last = new Checkpoint(sequence, timestamp, progress, state);
+            validEnd = b.position();
+        }
+        if (validEnd < size) {
+            channel.truncate(validEnd);
+        }
+        channel.position(validEnd);
+    }
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright (c) 2026 Daniel Marell
+ * All rights reserved.
+ *
+ * Permission is hereby granted, free  of charge, to any person obtaining
+ * a  copy  of this  software  and  associated  documentation files  (the
+ * "Software"), to  deal in  the Software without  restriction, including
+ * without limitation  the rights to  use, copy, modify,  merge, publish,
+ * distribute,  sublicense, and/or sell  copies of  the Software,  and to
+ * permit persons to whom the Software  is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The  above  copyright  notice  and  this permission  notice  shall  be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE  SOFTWARE IS  PROVIDED  "AS  IS", WITHOUT  WARRANTY  OF ANY  KIND,
+ * EXPRESS OR  IMPLIED, INCLUDING  BUT NOT LIMITED  TO THE  WARRANTIES OF
+ * MERCHANTABILITY,    FITNESS    FOR    A   PARTICULAR    PURPOSE    AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE,  ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package se.marell.dswing.progress;
+
+import java.io.PrintStream;
+
+/**
+ * Dispatcher for batch runs printing progress changes to a stream, like
+ * {@link se.marell.dcommons.progress.PrintlnProgressTracker}. Runs tasks and notifications as
+ * {@link SilentProgressDispatcher} does. No swing or AWT classes are loaded and no AWT threads are started.
+ */
+public class ConsoleProgressDispatcher extends SilentProgressDispatcher {
+    private final PrintStream out;
+
+    /**
+     * Create a dispatcher printing to System.out.
+     */
+    public ConsoleProgressDispatcher() {
+        this(System.out);
+    }
+
+    /**
+     * @param out Stream progress changes are printed to
+     */
+    public ConsoleProgressDispatcher(PrintStream out) {
+        this.out = out;
+    }
+
+    @Override
+    public void progressChanged(float value, String text) {
+        int percent = Math.round(value * 100);
+        out.println(text == null ? percent + "%" : text + " " + percent + "%");
+    }
+}
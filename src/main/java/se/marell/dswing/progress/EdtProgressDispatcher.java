@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2026 Daniel Marell
+ * All rights reserved.
+ *
+ * Permission is hereby granted, free  of charge, to any person obtaining
+ * a  copy  of this  software  and  associated  documentation files  (the
+ * "Software"), to  deal in  the Software without  restriction, including
+ * without limitation  the rights to  use, copy, modify,  merge, publish,
+ * distribute,  sublicense, and/or sell  copies of  the Software,  and to
+ * permit persons to whom the Software  is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The  above  copyright  notice  and  this permission  notice  shall  be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE  SOFTWARE IS  PROVIDED  "AS  IS", WITHOUT  WARRANTY  OF ANY  KIND,
+ * EXPRESS OR  IMPLIED, INCLUDING  BUT NOT LIMITED  TO THE  WARRANTIES OF
+ * MERCHANTABILITY,    FITNESS    FOR    A   PARTICULAR    PURPOSE    AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE,  ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package se.marell.dswing.progress;
+
+import javax.swing.*;
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+
+/**
+ * Dispatcher running tasks with a {@link SwingWorker} and sampling progress with a swing {@link Timer},
+ * so all worker notifications are made from the swing thread. This is the default dispatcher.
+ */
+public class EdtProgressDispatcher implements ProgressDispatcher {
+    @Override
+    public void execute(final Runnable task, final Runnable completion) {
+        new SwingWorker<Void, Void>() {
+            @Override
+            protected Void doInBackground() throws Exception {
+                task.run();
+                return null;
+            }
+
+            @Override
+            protected void done() {
+                completion.run();
+            }
+        }.execute();
+    }
+
+    @Override
+    public Ticker schedule(final Runnable action, int periodMillis) {
+        final Timer timer = new Timer(periodMillis, new ActionListener() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                action.run();
+            }
+        });
+        timer.start();
+        return new Ticker() {
+            @Override
+            public void stop() {
+                timer.stop();
+            }
+
+            @Override
+            public void restart() {
+                timer.restart();
+            }
+        };
+    }
+
+    @Override
+    public void progressChanged(float value, String text) {
+    }
+}
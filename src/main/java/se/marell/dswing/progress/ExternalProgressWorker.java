@@ -0,0 +1,180 @@
+/*
+ * Copyright (c) 2026 Daniel Marell
+ * All rights reserved.
+ *
+ * Permission is hereby granted, free  of charge, to any person obtaining
+ * a  copy  of this  software  and  associated  documentation files  (the
+ * "Software"), to  deal in  the Software without  restriction, including
+ * without limitation  the rights to  use, copy, modify,  merge, publish,
+ * distribute,  sublicense, and/or sell  copies of  the Software,  and to
+ * permit persons to whom the Software  is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The  above  copyright  notice  and  this permission  notice  shall  be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE  SOFTWARE IS  PROVIDED  "AS  IS", WITHOUT  WARRANTY  OF ANY  KIND,
+ * EXPRESS OR  IMPLIED, INCLUDING  BUT NOT LIMITED  TO THE  WARRANTIES OF
+ * MERCHANTABILITY,    FITNESS    FOR    A   PARTICULAR    PURPOSE    AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE,  ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package se.marell.dswing.progress;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * A {@link ProgressWorker} mirroring the progress of a task running in another process, for example a child
+ * JVM or a native tool, through a {@link SharedProgressFile}. Cancelling the worker sets the cancel flag in the
+ * file, which the task sees through its {@link SharedProgressWriter}.<p>
+ *
+ * The worker ends when the task marks the record completed or failed, or when the heartbeat has not been
+ * updated for the heartbeat timeout, which is taken as the task having died. The timeout is counted from when
+ * the file was opened if the task has not written a later heartbeat. Check {@link #getOutcome()} in
+ * notifyTaskEnded.<p>
+ *
+ * Usage example:
+ *
+ * <pre>
+ * final File file = File.createTempFile("progress", ".bin");
+ * new ProcessBuilder("java", "-cp", cp, "ImportMain", file.getPath()).start();
+ * ExternalProgressWorker w = new ExternalProgressWorker(file, 10000) {
+ *   // notifyProgressValueChanged, notifyProgressTextChanged, notifyTaskEnded as for ProgressWorker
+ * };
+ * w.start();
+ * </pre>
+ */
+public abstract class ExternalProgressWorker extends ProgressWorker {
+    private static final int POLL_PERIOD = 50;
+
+    /**
+     * How the external task ended.
+     */
+    public enum Outcome {
+        /**
+         * The task is still running
+         */
+        RUNNING,
+        /**
+         * The task marked the record completed
+         */
+        COMPLETED,
+        /**
+         * The task marked the record failed, or ended after a cancel request
+         */
+        FAILED,
+        /**
+         * The heartbeat timed out, or the file was never created
+         */
+        LOST
+    }
+
+    private final File file;
+    private final long heartbeatTimeoutMillis;
+    private volatile Outcome outcome = Outcome.RUNNING;
+    private volatile long activityCount;
+
+    /**
+     * @param file                   Shared progress file written by the task
+     * @param heartbeatTimeoutMillis Time in msec without heartbeat after which the task is considered lost
+     */
+    protected ExternalProgressWorker(File file, long heartbeatTimeoutMillis) {
+        this.file = file;
+        this.heartbeatTimeoutMillis = heartbeatTimeoutMillis;
+    }
+
+    /**
+     * @param file                   Shared progress file written by the task
+     * @param heartbeatTimeoutMillis Time in msec without heartbeat after which the task is considered lost
+     * @param dispatcher             Dispatcher running the notifications
+     */
+    protected ExternalProgressWorker(File file, long heartbeatTimeoutMillis, ProgressDispatcher dispatcher) {
+        super(dispatcher);
+        this.file = file;
+        this.heartbeatTimeoutMillis = heartbeatTimeoutMillis;
+    }
+
+    @Override
+    protected final void runTask() {
+        SharedProgressReader reader = open();
+        if (reader == null) {
+            outcome = Outcome.LOST;
+            return;
+        }
+        long openedMillis = System.currentTimeMillis();
+        boolean cancelRequested = false;
+        while (true) {
+            if (isCancelled() && !cancelRequested) {
+                reader.requestCancel();
+                cancelRequested = true;
+            }
+            if (reader.read()) {
+                setProgress(reader.getProgressValue(), reader.getText());
+                activityCount = reader.getActivityCount();
+                if (reader.getState() == SharedProgressFile.STATE_COMPLETED) {
+                    outcome = Outcome.COMPLETED;
+                    return;
+                }
+                if (reader.getState() == SharedProgressFile.STATE_FAILED) {
+                    outcome = Outcome.FAILED;
+                    return;
+                }
+            }
+            long aliveMillis = Math.max(openedMillis, reader.getHeartbeatMillis());
+            if (System.currentTimeMillis() - aliveMillis > heartbeatTimeoutMillis) {
+                outcome = Outcome.LOST;
+                return;
+            }
+            if (!sleep()) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * @return How the external task ended
+     */
+    public final Outcome getOutcome() {
+        return outcome;
+    }
+
+    /**
+     * @return Activity counter of the external task
+     */
+    public final long getActivityCount() {
+        return activityCount;
+    }
+
+    /**
+     * Wait for the task to create the file, at most the heartbeat timeout.
+     */
+    private SharedProgressReader open() {
+        long deadline = System.currentTimeMillis() + heartbeatTimeoutMillis;
+        while (!isCancelled()) {
+            if (file.length() >= SharedProgressFile.SIZE) {
+                try {
+                    return new SharedProgressReader(file);
+                } catch (IOException e) {
+                    // Not initialized yet
+                }
+            }
+            if (System.currentTimeMillis() > deadline || !sleep()) {
+                break;
+            }
+        }
+        return null;
+    }
+
+    private static boolean sleep() {
+        try {
+            Thread.sleep(POLL_PERIOD);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
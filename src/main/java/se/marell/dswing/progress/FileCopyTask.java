@@ -0,0 +1,344 @@
+/*
+ * Copyright (c) 2026 Daniel Marell
+ * All rights reserved.
+ *
+ * Permission is hereby granted, free  of charge, to any person obtaining
+ * a  copy  of this  software  and  associated  documentation files  (the
+ * "Software"), to  deal in  the Software without  restriction, including
+ * without limitation  the rights to  use, copy, modify,  merge, publish,
+ * distribute,  sublicense, and/or sell  copies of  the Software,  and to
+ * permit persons to whom the Software  is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The  above  copyright  notice  and  this permission  notice  shall  be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE  SOFTWARE IS  PROVIDED  "AS  IS", WITHOUT  WARRANTY  OF ANY  KIND,
+ * EXPRESS OR  IMPLIED, INCLUDING  BUT NOT LIMITED  TO THE  WARRANTIES OF
+ * MERCHANTABILITY,    FITNESS    FOR    A   PARTICULAR    PURPOSE    AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE,  ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package se.marell.dswing.progress;
+
+import se.marell.dcommons.progress.ProgressTracker;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.zip.CRC32;
+
+/**
+ * Copies a file or a directory tree with progress, for use in the task of a {@link ProgressWorker} or
+ * {@link ProgressWorkerPopup}. Files are copied in chunks with FileChannel.transferTo, letting the operating
+ * system move the data without copying it through the heap. Progress and the transfer rate are reported after
+ * each chunk, and cancellation is checked between chunks. A cancelled copy removes the partially written file.<p>
+ *
+ * With verification, a CRC32 of each file is computed while copying and compared with the CRC32 of the
+ * written file read back.<p>
+ *
+ * Usage example:
+ *
+ * <pre><code>
+ * {@literal @}Override
+ * protected void runTask() {
+ *   try {
+ *     new FileCopyTask(source, target).run(createProgressTracker());
+ *   } catch (IOException e) {
+ *     ...
+ *   }
+ * }
+ * </code></pre>
+ */
+public class FileCopyTask {
+    public static final int DEFAULT_CHUNK_SIZE = 4 * 1024 * 1024;
+    private static final int VERIFY_BUFFER_SIZE = 256 * 1024;
+    private final Path source;
+    private final Path target;
+    private int chunkSize = DEFAULT_CHUNK_SIZE;
+    private boolean verify;
+    private ByteBuffer buffer;
+    private long totalBytes;
+    private long bytesDone;
+    private int fileCount;
+    private long startNanos;
+    private long endNanos;
+
+    private static class Entry {
+        private final Path source;
+        private final Path target;
+        private final long size;
+
+        Entry(Path source, Path target, long size) {
+            this.source = source;
+            this.target = target;
+            this.size = size;
+        }
+    }
+
+    /**
+     * @param source File or directory to copy
+     * @param target File or directory to create or overwrite. A directory is copied into target, not below it.
+     */
+    public FileCopyTask(File source, File target) {
+        this.source = source.toPath();
+        this.target = target.toPath();
+    }
+
+    /**
+     * @param chunkSize Bytes copied between progress updates and cancellation checks
+     */
+    public void setChunkSize(int chunkSize) {
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * @param verify If true, verify each copied file with a CRC32 checksum
+     */
+    public void setVerify(boolean verify) {
+        this.verify = verify;
+    }
+
+    /**
+     * Copy on the calling thread. The task can be run again, for example after a cancel, and then copies
+     * everything again with counters starting from zero.
+     *
+     * @param tracker Progress tracker, the label shows the current file and the transfer rate
+     * @return false if cancelled
+     * @throws IOException If reading, writing or verification fails, or if a source file shrinks while copied
+     */
+    public boolean run(ProgressTracker tracker) throws IOException {
+        totalBytes = 0;
+        bytesDone = 0;
+        fileCount = 0;
+        endNanos = 0;
+        startNanos = System.nanoTime();
+        try {
+            List<Entry> entries = listEntries();
+            for (Entry e : entries) {
+                totalBytes += verify ? 2 * e.size : e.size;
+            }
+            for (Entry e : entries) {
+                if (tracker.isCancelled() || !copyFile(e, tracker)) {
+                    return false;
+                }
+                ++fileCount;
+            }
+            tracker.setTotalProgress(1);
+            return true;
+        } finally {
+            endNanos = System.nanoTime();
+        }
+    }
+
+    private List<Entry> listEntries() throws IOException {
+        final List<Entry> entries = new ArrayList<Entry>();
+        if (!Files.isDirectory(source)) {
+            entries.add(new Entry(source, target, Files.size(source)));
+            return entries;
+        }
+        Files.walkFileTree(source, new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+                Files.createDirectories(target.resolve(source.relativize(dir)));
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                entries.add(new Entry(file, target.resolve(source.relativize(file)), attrs.size()));
+                return FileVisitResult.CONTINUE;
+            }
+        });
+        return entries;
+    }
+
+    private boolean copyFile(Entry e, ProgressTracker tracker) throws IOException {
+        long crc;
+        FileChannel in = FileChannel.open(e.source, StandardOpenOption.READ);
+        try {
+            FileChannel out = FileChannel.open(e.target, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING);
+            try {
+                crc = verify ? copyChecked(e, in, out, tracker) : transfer(e, in, out, tracker);
+            } catch (IOException ex) {
+                out.close();
+                Files.deleteIfExists(e.target);
+                throw ex;
+            }
+            out.close();
+        } finally {
+            in.close();
+        }
+        boolean completed = false;
+        try {
+            completed = crc >= 0 && (!verify || verifyFile(e, crc, tracker));
+        } finally {
+            if (!completed) {
+                // Cancelled or not verified, do not leave a partial file
+                Files.deleteIfExists(e.target);
+            }
+        }
+        if (completed) {
+            Files.setLastModifiedTime(e.target, Files.getLastModifiedTime(e.source));
+        }
+        return completed;
+    }
+
+    /**
+     * @return 0, or -1 if cancelled
+     */
+    private long transfer(Entry e, FileChannel in, FileChannel out, ProgressTracker tracker) throws IOException {
+        long pos = 0;
+        while (pos < e.size) {
+            long n = in.transferTo(pos, Math.min(chunkSize, e.size - pos), out);
+            if (n <= 0) {
+                // Channel pair not supported or the source shrank, continue through a direct buffer
+                n = copyChunk(in, out, pos);
+                if (n <= 0) {
+                    throw shrunk(e, pos);
+                }
+            }
+            pos += n;
+            if (!chunkDone(e, n, tracker)) {
+                return -1;
+            }
+        }
+        return 0;
+    }
+
+    private long copyChunk(FileChannel in, FileChannel out, long pos) throws IOException {
+        if (buffer == null) {
+            buffer = ByteBuffer.allocateDirect(Math.min(chunkSize, 1024 * 1024));
+        }
+        buffer.clear();
+        int n = in.read(buffer, pos);
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            out.write(buffer);
+        }
+        return n;
+    }
+
+    /**
+     * Copy through a heap buffer computing the CRC32 of the source on the way. CRC32 only reads byte arrays
+     * in Java 7.
+     *
+     * @return CRC32 of the source, or -1 if cancelled
+     */
+    private long copyChecked(Entry e, FileChannel in, FileChannel out, ProgressTracker tracker) throws IOException {
+        CRC32 crc = new CRC32();
+        ByteBuffer b = ByteBuffer.allocate(VERIFY_BUFFER_SIZE);
+        long pos = 0;
+        long chunk = 0;
+        int n;
+        while ((n = in.read(b)) > 0) {
+            pos += n;
+            crc.update(b.array(), 0, n);
+            b.flip();
+            while (b.hasRemaining()) {
+                out.write(b);
+            }
+            b.clear();
+            chunk += n;
+            if (chunk >= chunkSize) {
+                if (!chunkDone(e, chunk, tracker)) {
+                    return -1;
+                }
+                chunk = 0;
+            }
+        }
+        if (pos < e.size) {
+            throw shrunk(e, pos);
+        }
+        return chunkDone(e, chunk, tracker) ? crc.getValue() : -1;
+    }
+
+    private static IOException shrunk(Entry e, long pos) {
+        return new IOException("Source shrank to " + pos + " of " + e.size + " bytes while copying " + e.source);
+    }
+
+    private boolean verifyFile(Entry e, long expectedCrc, ProgressTracker tracker) throws IOException {
+        CRC32 crc = new CRC32();
+        byte[] b = new byte[VERIFY_BUFFER_SIZE];
+        long chunk = 0;
+        FileChannel in = FileChannel.open(e.target, StandardOpenOption.READ);
+        try {
+            ByteBuffer bb = ByteBuffer.wrap(b);
+            int n;
+            while ((n = in.read(bb)) > 0) {
+                crc.update(b, 0, n);
+                bb.clear();
+                chunk += n;
+                if (chunk >= chunkSize) {
+                    if (!chunkDone(e, chunk, tracker)) {
+                        return false;
+                    }
+                    chunk = 0;
+                }
+            }
+        } finally {
+            in.close();
+        }
+        if (crc.getValue() != expectedCrc) {
+            throw new IOException("Checksum mismatch after copying " + e.source + " to " + e.target);
+        }
+        return chunkDone(e, chunk, tracker);
+    }
+
+    private boolean chunkDone(Entry e, long bytes, ProgressTracker tracker) {
+        bytesDone += bytes;
+        tracker.activityReport((int) Math.min(Integer.MAX_VALUE, bytes));
+        tracker.setTotalProgress(totalBytes > 0 ? (float) bytesDone / totalBytes : 1);
+        tracker.setProgressLabel(e.source.getFileName() + " " +
+                String.format(Locale.US, "%.1f MB/s", getMegabytesPerSecond()));
+        return !tracker.isCancelled();
+    }
+
+    /**
+     * @return Bytes to copy, and to read back when verifying
+     */
+    public long getTotalBytes() {
+        return totalBytes;
+    }
+
+    /**
+     * @return Bytes copied, and read back when verifying
+     */
+    public long getBytesDone() {
+        return bytesDone;
+    }
+
+    /**
+     * @return Number of files completely copied
+     */
+    public int getFileCount() {
+        return fileCount;
+    }
+
+    /**
+     * @return Transfer rate since the start, counting bytes read back when verifying
+     */
+    public double getMegabytesPerSecond() {
+        long nanos = (endNanos != 0 ? endNanos : System.nanoTime()) - startNanos;
+        return nanos > 0 ? bytesDone * 1e3 / nanos : 0;
+    }
+
+    @Override
+    public String toString() {
+        return source + " -> " + target + " files=" + fileCount + " bytes=" + bytesDone + "/" + totalBytes +
+                String.format(Locale.US, " %.1f MB/s", getMegabytesPerSecond());
+    }
+}
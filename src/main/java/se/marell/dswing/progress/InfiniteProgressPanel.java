@@ -23,15 +23,26 @@
  */
 package se.marell.dswing.progress;
 
+import se.marell.dswing.monitor.EdtMetrics;
+
 import javax.swing.*;
 import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
+import java.awt.event.FocusAdapter;
+import java.awt.event.FocusEvent;
+import java.awt.event.KeyEvent;
+import java.awt.event.KeyListener;
 import java.awt.event.MouseEvent;
 import java.awt.event.MouseListener;
+import java.awt.event.MouseMotionListener;
+import java.awt.event.MouseWheelEvent;
+import java.awt.event.MouseWheelListener;
 import java.awt.font.FontRenderContext;
 import java.awt.font.TextLayout;
 import java.awt.geom.*;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * An infinite progress panel displays a rotating figure and
@@ -44,9 +55,12 @@ import java.awt.geom.*;
  * 
  * On the contrary to regular glass panes, you don't need to
  * set it visible or not by yourself. Once you've started the
- * animation all the mouse events are intercepted by this
+ * animation all the mouse and key events are intercepted by this
  * panel, preventing them from being forwarded to the
- * underlying components.
+ * underlying components. The panel holds the keyboard focus while
+ * active and gives it back to the previous focus owner afterwards.
+ * Underlying components implementing {@link PausableAnimation}
+ * are paused while the panel is active.
  * 
  * The panel can be controlled by the <code>start()</code>,
  * <code>stop()</code> and <code>interrupt()</code> methods.
@@ -65,7 +79,8 @@ import java.awt.geom.*;
  * This class is heavily inspired by the InfiniteProgressPanel by Romain Guy 2005.
  * However it's usefulness is limited as an animated image is a good alternative.
  */
-public class InfiniteProgressPanel extends JComponent implements MouseListener, ActionListener {
+public class InfiniteProgressPanel extends JComponent
+        implements MouseListener, MouseMotionListener, MouseWheelListener, KeyListener, ActionListener {
     /**
      * Contains the bars composing the circular shape.
      */
@@ -106,6 +121,20 @@ public class InfiniteProgressPanel extends JComponent implements MouseListener,
      * Rendering hints to set anti-aliasing.
      */
     protected RenderingHints hints;
+    private boolean blockingInput;
+    private Component previousFocusOwner;
+    private final List<PausableAnimation> pausedAnimations = new ArrayList<PausableAnimation>();
+    private final FocusAdapter focusKeeper = new FocusAdapter() {
+        @Override
+        public void focusLost(FocusEvent e) {
+            // Take the focus back from components in the same window, but not from other windows
+            Component opposite = e.getOppositeComponent();
+            Window window = SwingUtilities.getWindowAncestor(InfiniteProgressPanel.this);
+            if (blockingInput && opposite != null && SwingUtilities.getWindowAncestor(opposite) == window) {
+                requestFocusInWindow();
+            }
+        }
+    };
 
     /**
      * Creates a new progress panel with default values:
@@ -233,8 +262,10 @@ public class InfiniteProgressPanel extends JComponent implements MouseListener,
      * of the glass pane.
      */
     public void start() {
-        addMouseListener(this);
+        blockInput();
         setVisible(true);
+        requestFocusInWindow();
+        pauseAnimations();
         ticker = buildTicker();
         if (animationTimer != null) {
             animationTimer.stop();
@@ -268,41 +299,112 @@ public class InfiniteProgressPanel extends JComponent implements MouseListener,
         if (animationTimer != null) {
             animationTimer.stop();
             animationTimer = null;
-            removeMouseListener(this);
             setVisible(false);
+            unblockInput();
+            resumeAnimations();
+        }
+    }
+
+    private void blockInput() {
+        if (blockingInput) {
+            return;
+        }
+        blockingInput = true;
+        previousFocusOwner = KeyboardFocusManager.getCurrentKeyboardFocusManager().getFocusOwner();
+        addMouseListener(this);
+        addMouseMotionListener(this);
+        addMouseWheelListener(this);
+        addKeyListener(this);
+        addFocusListener(focusKeeper);
+        setFocusable(true);
+        setFocusTraversalKeysEnabled(false);
+    }
+
+    private void unblockInput() {
+        if (!blockingInput) {
+            return;
+        }
+        blockingInput = false;
+        removeMouseListener(this);
+        removeMouseMotionListener(this);
+        removeMouseWheelListener(this);
+        removeKeyListener(this);
+        removeFocusListener(focusKeeper);
+        setFocusable(false);
+        if (previousFocusOwner != null && previousFocusOwner.isShowing()) {
+            previousFocusOwner.requestFocusInWindow();
+        }
+        previousFocusOwner = null;
+    }
+
+    private void pauseAnimations() {
+        resumeAnimations();
+        Container root = getParent();
+        if (root != null) {
+            for (Component c : root.getComponents()) {
+                if (c != this) {
+                    collectAnimations(c);
+                }
+            }
+        }
+        for (PausableAnimation animation : pausedAnimations) {
+            animation.pauseAnimation();
+        }
+    }
+
+    private void collectAnimations(Component c) {
+        if (c instanceof PausableAnimation) {
+            pausedAnimations.add((PausableAnimation) c);
+        }
+        if (c instanceof Container) {
+            for (Component child : ((Container) c).getComponents()) {
+                collectAnimations(child);
+            }
+        }
+    }
+
+    private void resumeAnimations() {
+        for (PausableAnimation animation : pausedAnimations) {
+            animation.resumeAnimation();
         }
+        pausedAnimations.clear();
     }
 
     public void paintComponent(Graphics g) {
-        if (started) {
-            int width = getWidth();
+        long t = EdtMetrics.begin();
+        try {
+            if (started) {
+                int width = getWidth();
 
-            double maxY = 0.0;
+                double maxY = 0.0;
 
-            Graphics2D g2 = (Graphics2D) g;
-            g2.setRenderingHints(hints);
+                Graphics2D g2 = (Graphics2D) g;
+                g2.setRenderingHints(hints);
 
-            g2.setColor(new Color(255, 255, 255, (int) (alphaLevel * shield)));
-            g2.fillRect(0, 0, getWidth(), getHeight());
+                g2.setColor(new Color(255, 255, 255, (int) (alphaLevel * shield)));
+                g2.fillRect(0, 0, getWidth(), getHeight());
 
-            for (int i = 0; i < ticker.length; i++) {
-                int channel = 224 - 128 / (i + 1);
-                g2.setColor(new Color(channel, channel, channel, alphaLevel));
-                g2.fill(ticker[i]);
+                for (int i = 0; i < ticker.length; i++) {
+                    int channel = 224 - 128 / (i + 1);
+                    g2.setColor(new Color(channel, channel, channel, alphaLevel));
+                    g2.fill(ticker[i]);
 
-                Rectangle2D bounds = ticker[i].getBounds2D();
-                if (bounds.getMaxY() > maxY)
-                    maxY = bounds.getMaxY();
-            }
+                    Rectangle2D bounds = ticker[i].getBounds2D();
+                    if (bounds.getMaxY() > maxY)
+                        maxY = bounds.getMaxY();
+                }
 
-            if (text != null && text.length() > 0) {
-                FontRenderContext context = g2.getFontRenderContext();
-                TextLayout layout = new TextLayout(text, getFont(), context);
-                Rectangle2D bounds = layout.getBounds();
-                g2.setColor(getForeground());
-                layout.draw(g2, (float) (width - bounds.getWidth()) / 2,
-                        (float) (maxY + layout.getLeading() + 2 * layout.getAscent()));
+                if (text != null && text.length() > 0) {
+                    FontRenderContext context = g2.getFontRenderContext();
+                    TextLayout layout = new TextLayout(text, getFont(), context);
+                    Rectangle2D bounds = layout.getBounds();
+                    g2.setColor(getForeground());
+                    layout.draw(g2, (float) (width - bounds.getWidth()) / 2,
+                            (float) (maxY + layout.getLeading() + 2 * layout.getAscent()));
+                }
             }
+        } finally {
+            EdtMetrics.end(getClass(), t);
         }
     }
 
@@ -365,7 +467,7 @@ public class InfiniteProgressPanel extends JComponent implements MouseListener,
         double fixedIncrement = 2.0 * Math.PI / ((double) barsCount);
         toCircle = AffineTransform.getRotateInstance(fixedIncrement, center.getX(), center.getY());
 
-        start = System.currentTimeMillis();
+        start = currentTimeMillis();
         if (rampDelay == 0) {
             alphaLevel = rampUp ? 255 : 0;
         }
@@ -376,37 +478,51 @@ public class InfiniteProgressPanel extends JComponent implements MouseListener,
 
     @Override
     public void actionPerformed(ActionEvent e) {
-        if (!inRamp) {
-            for (Area a : ticker) {
-                a.transform(toCircle);
-            }
-        } else {
-            if (rampUp) {
-                if (alphaLevel < 255) {
-                    alphaLevel = (int) (255 * (System.currentTimeMillis() - start) / rampDelay);
-                }
-                if (alphaLevel >= 255) {
-                    alphaLevel = 255;
-                    inRamp = false;
+        long t = EdtMetrics.begin();
+        try {
+            if (!inRamp) {
+                for (Area a : ticker) {
+                    a.transform(toCircle);
                 }
             } else {
-                if (alphaLevel >= 0) {
-                    alphaLevel = (int) (255 - (255 * (System.currentTimeMillis() - start) / rampDelay));
-                }
-                if (alphaLevel <= 0) {
-                    alphaLevel = 0;
-                    interrupt();
-                    return;
+                if (rampUp) {
+                    if (alphaLevel < 255) {
+                        alphaLevel = (int) (255 * (currentTimeMillis() - start) / rampDelay);
+                    }
+                    if (alphaLevel >= 255) {
+                        alphaLevel = 255;
+                        inRamp = false;
+                    }
+                } else {
+                    if (alphaLevel >= 0) {
+                        alphaLevel = (int) (255 - (255 * (currentTimeMillis() - start) / rampDelay));
+                    }
+                    if (alphaLevel <= 0) {
+                        alphaLevel = 0;
+                        interrupt();
+                        return;
+                    }
                 }
             }
+
+            SwingUtilities.invokeLater(new Runnable() {
+                @Override
+                public void run() {
+                    repaint();
+                }
+            });
+        } finally {
+            EdtMetrics.end(getClass(), t);
         }
+    }
 
-        SwingUtilities.invokeLater(new Runnable() {
-            @Override
-            public void run() {
-                repaint();
-            }
-        });
+    /**
+     * The clock driving the fade in/out. Sub classes can override to animate in simulated time.
+     *
+     * @return Current time in msec
+     */
+    protected long currentTimeMillis() {
+        return System.currentTimeMillis();
     }
 
     public void mouseClicked(MouseEvent e) {
@@ -423,4 +539,26 @@ public class InfiniteProgressPanel extends JComponent implements MouseListener,
 
     public void mouseExited(MouseEvent e) {
     }
+
+    public void mouseDragged(MouseEvent e) {
+    }
+
+    public void mouseMoved(MouseEvent e) {
+    }
+
+    public void mouseWheelMoved(MouseWheelEvent e) {
+        e.consume();
+    }
+
+    public void keyTyped(KeyEvent e) {
+        e.consume();
+    }
+
+    public void keyPressed(KeyEvent e) {
+        e.consume();
+    }
+
+    public void keyReleased(KeyEvent e) {
+        e.consume();
+    }
 }
\ No newline at end of file
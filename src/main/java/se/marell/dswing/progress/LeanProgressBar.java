@@ -0,0 +1,194 @@
+/*
+ * Copyright (c) 2026 Daniel Marell
+ * All rights reserved.
+ *
+ * Permission is hereby granted, free  of charge, to any person obtaining
+ * a  copy  of this  software  and  associated  documentation files  (the
+ * "Software"), to  deal in  the Software without  restriction, including
+ * without limitation  the rights to  use, copy, modify,  merge, publish,
+ * distribute,  sublicense, and/or sell  copies of  the Software,  and to
+ * permit persons to whom the Software  is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The  above  copyright  notice  and  this permission  notice  shall  be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE  SOFTWARE IS  PROVIDED  "AS  IS", WITHOUT  WARRANTY  OF ANY  KIND,
+ * EXPRESS OR  IMPLIED, INCLUDING  BUT NOT LIMITED  TO THE  WARRANTIES OF
+ * MERCHANTABILITY,    FITNESS    FOR    A   PARTICULAR    PURPOSE    AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE,  ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package se.marell.dswing.progress;
+
+import se.marell.dswing.monitor.EdtMetrics;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+
+/**
+ * A progress bar for frequent updates. Unlike JProgressBar it fires no change events, has the full float
+ * resolution of the progress value and does not ask the look and feel to repaint the whole bar: setting a
+ * value only repaints the strip between the old and the new end of the fill, and nothing at all if the end
+ * did not move a pixel. The track background is painted once into a cached image.<p>
+ *
+ * Use it in a {@link ProgressWorkerPopup} by overriding createProgressBar:
+ *
+ * <pre>
+ * {@literal @}Override
+ * protected void createProgressBar() {
+ *   setLeanProgressBar(new LeanProgressBar());
+ * }
+ * </pre>
+ */
+public class LeanProgressBar extends JComponent {
+    private static final int TEXT_MARGIN = 4;
+
+    private float value;
+    private String string;
+    private boolean stringPainted = true;
+    private String paintedText = "";
+    private BufferedImage track;
+    private Color trackColor;
+
+    public LeanProgressBar() {
+        setOpaque(true);
+        setPreferredSize(new Dimension(146, 16));
+        Color fill = UIManager.getColor("ProgressBar.foreground");
+        setForeground(fill != null ? fill : new Color(0x5a, 0x8b, 0xc8));
+        setBackground(Color.WHITE);
+    }
+
+    /**
+     * Set the progress. Only the changed part of the bar is repainted.
+     *
+     * @param value Progress value between 0.0 and 1.0
+     */
+    public void setValue(float value) {
+        value = Math.max(0, Math.min(1, value));
+        if (value == this.value) {
+            return;
+        }
+        int oldEnd = getFillEnd(this.value);
+        int newEnd = getFillEnd(value);
+        this.value = value;
+        if (oldEnd != newEnd) {
+            repaint(Math.min(oldEnd, newEnd), 0, Math.abs(newEnd - oldEnd), getHeight());
+        }
+        if (stringPainted && string == null) {
+            repaintText(getPercentText());
+        }
+    }
+
+    public float getValue() {
+        return value;
+    }
+
+    /**
+     * Set the text painted on the bar, replacing the default percentage.
+     *
+     * @param string Text, or null to paint the percentage
+     */
+    public void setString(String string) {
+        if (string == null ? this.string != null : !string.equals(this.string)) {
+            this.string = string;
+            if (stringPainted) {
+                repaintText(string == null ? getPercentText() : string);
+            }
+        }
+    }
+
+    public String getString() {
+        return string;
+    }
+
+    public void setStringPainted(boolean stringPainted) {
+        if (stringPainted != this.stringPainted) {
+            this.stringPainted = stringPainted;
+            repaint();
+        }
+    }
+
+    public boolean isStringPainted() {
+        return stringPainted;
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        long t = EdtMetrics.begin();
+        try {
+            Insets insets = getInsets();
+            int x = insets.left;
+            int y = insets.top;
+            int w = getWidth() - insets.left - insets.right;
+            int h = getHeight() - insets.top - insets.bottom;
+            if (w > 0 && h > 0) {
+                g.drawImage(getTrack(w, h), x, y, null);
+                int end = getFillEnd(value);
+                if (end > x + 1) {
+                    g.setColor(getForeground());
+                    g.fillRect(x + 1, y + 1, end - x - 1, h - 2);
+                }
+                if (stringPainted) {
+                    paintedText = string != null ? string : getPercentText();
+                    FontMetrics fm = g.getFontMetrics(getFont());
+                    g.setFont(getFont());
+                    g.setColor(Color.BLACK);
+                    g.drawString(paintedText, x + (w - fm.stringWidth(paintedText)) / 2,
+                            y + (h - fm.getHeight()) / 2 + fm.getAscent());
+                }
+            }
+        } finally {
+            EdtMetrics.end(getClass(), t);
+        }
+    }
+
+    private int getFillEnd(float value) {
+        Insets insets = getInsets();
+        int w = getWidth() - insets.left - insets.right;
+        return insets.left + Math.round(value * w);
+    }
+
+    private String getPercentText() {
+        return Math.round(value * 100) + "%";
+    }
+
+    /**
+     * Repaint the area covered by the previously painted text and the new text.
+     */
+    private void repaintText(String text) {
+        if (text.equals(paintedText)) {
+            return;
+        }
+        Font font = getFont();
+        if (font == null) {
+            repaint();
+            return;
+        }
+        FontMetrics fm = getFontMetrics(font);
+        int textWidth = Math.max(fm.stringWidth(text), fm.stringWidth(paintedText)) + 2 * TEXT_MARGIN;
+        repaint((getWidth() - textWidth) / 2, 0, textWidth, getHeight());
+    }
+
+    private BufferedImage getTrack(int w, int h) {
+        Color background = getBackground();
+        if (track == null || track.getWidth() != w || track.getHeight() != h || !background.equals(trackColor)) {
+            GraphicsConfiguration gc = getGraphicsConfiguration();
+            track = gc != null ? gc.createCompatibleImage(w, h) : new BufferedImage(w, h, BufferedImage.TYPE_INT_RGB);
+            trackColor = background;
+            Graphics2D g = track.createGraphics();
+            try {
+                g.setColor(background);
+                g.fillRect(0, 0, w, h);
+                g.setColor(background.darker());
+                g.drawRect(0, 0, w - 1, h - 1);
+            } finally {
+                g.dispose();
+            }
+        }
+        return track;
+    }
+}
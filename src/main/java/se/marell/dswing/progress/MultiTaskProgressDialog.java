@@ -0,0 +1,360 @@
+/*
+ * Copyright (c) 2026 Daniel Marell
+ * All rights reserved.
+ *
+ * Permission is hereby granted, free  of charge, to any person obtaining
+ * a  copy  of this  software  and  associated  documentation files  (the
+ * "Software"), to  deal in  the Software without  restriction, including
+ * without limitation  the rights to  use, copy, modify,  merge, publish,
+ * distribute,  sublicense, and/or sell  copies of  the Software,  and to
+ * permit persons to whom the Software  is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The  above  copyright  notice  and  this permission  notice  shall  be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE  SOFTWARE IS  PROVIDED  "AS  IS", WITHOUT  WARRANTY  OF ANY  KIND,
+ * EXPRESS OR  IMPLIED, INCLUDING  BUT NOT LIMITED  TO THE  WARRANTIES OF
+ * MERCHANTABILITY,    FITNESS    FOR    A   PARTICULAR    PURPOSE    AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE,  ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package se.marell.dswing.progress;
+
+import javax.swing.*;
+import javax.swing.border.EmptyBorder;
+import java.awt.*;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One progress window shared by many tasks, instead of one dialog per {@link ProgressWorkerPopup}.
+ * Each task is a row with title, progress bar, progress text and an optional cancel control. The rows are
+ * painted by a single renderer component, so only visible rows are painted and a row costs no component
+ * or native peer. Above the rows a summary bar shows the overall progress.<p>
+ *
+ * Usage: create one instance per owner window and pass it to
+ * {@link ProgressWorkerPopup#setSharedProgressDialog(MultiTaskProgressDialog)} before starting each worker.
+ * The window shows when the first task is added and hides when the last task has ended.<p>
+ *
+ * All methods must be called from the swing thread.
+ */
+public class MultiTaskProgressDialog {
+    private static final int PROGRESS_STEPS = 1000;
+    private static final int MAX_POOLED_TASKS = 32;
+    private static final int VISIBLE_ROWS = 6;
+
+    /**
+     * A row in the dialog. Task objects are recycled when the task has ended,
+     * so don't keep references after calling {@link #removeTask(Task)}.
+     */
+    public static final class Task {
+        private String title;
+        private float progressValue;
+        private String text;
+        private Runnable cancelAction;
+        private boolean cancelRequested;
+
+        public String getTitle() {
+            return title;
+        }
+
+        public float getProgressValue() {
+            return progressValue;
+        }
+
+        public String getText() {
+            return text;
+        }
+
+        public boolean isCancellable() {
+            return cancelAction != null;
+        }
+
+        public boolean isCancelRequested() {
+            return cancelRequested;
+        }
+
+        private void reset(String title, Runnable cancelAction) {
+            this.title = title;
+            this.cancelAction = cancelAction;
+            progressValue = 0;
+            text = null;
+            cancelRequested = false;
+        }
+    }
+
+    private final Window owner;
+    private final String title;
+    private final List<Task> tasks = new ArrayList<Task>();
+    private final ArrayDeque<Task> taskPool = new ArrayDeque<Task>();
+    private final TaskListModel model = new TaskListModel();
+    private int finishedCount;
+    private JDialog dialog;
+    private JList<Task> list;
+    private TaskRenderer renderer;
+    private JProgressBar summaryBar;
+
+    /**
+     * @param owner Owning window
+     * @param title Title of the window
+     */
+    public MultiTaskProgressDialog(Window owner, String title) {
+        this.owner = owner;
+        this.title = title;
+    }
+
+    /**
+     * Add a row for a task, showing the window if it is not visible.
+     *
+     * @param title        Title of the task
+     * @param cancelAction Called when the cancel control of the row is clicked, null for no cancel control
+     * @return The row, to be updated with {@link #updateTask(Task, float, String)}
+     */
+    public Task addTask(String title, Runnable cancelAction) {
+        Task task = taskPool.poll();
+        if (task == null) {
+            task = new Task();
+        }
+        task.reset(title, cancelAction);
+        tasks.add(task);
+        model.fireAdded(tasks.size() - 1);
+        updateSummary();
+        if (dialog == null) {
+            createDialog();
+        }
+        if (!dialog.isVisible()) {
+            dialog.setVisible(true);
+        }
+        return task;
+    }
+
+    /**
+     * Update the progress of a row. Only the row is repainted, and only if value or text changed.
+     *
+     * @param task          Row
+     * @param progressValue Progress value between 0.0 and 1.0
+     * @param text          Progress text, may be null
+     */
+    public void updateTask(Task task, float progressValue, String text) {
+        int steps = (int) (progressValue * PROGRESS_STEPS);
+        boolean textChanged = text == null ? task.text != null : !text.equals(task.text);
+        if (steps == (int) (task.progressValue * PROGRESS_STEPS) && !textChanged) {
+            return;
+        }
+        task.progressValue = progressValue;
+        task.text = text;
+        repaintRow(tasks.indexOf(task));
+        updateSummary();
+    }
+
+    /**
+     * Remove the row of an ended task and recycle it. Hides the window when no task remains.
+     *
+     * @param task Row
+     */
+    public void removeTask(Task task) {
+        int index = tasks.indexOf(task);
+        if (index < 0) {
+            return;
+        }
+        tasks.remove(index);
+        model.fireRemoved(index);
+        task.reset(null, null);
+        if (taskPool.size() < MAX_POOLED_TASKS) {
+            taskPool.push(task);
+        }
+        ++finishedCount;
+        if (tasks.isEmpty()) {
+            finishedCount = 0;
+            if (dialog != null) {
+                dialog.setVisible(false);
+            }
+        }
+        updateSummary();
+    }
+
+    /**
+     * @return Number of rows
+     */
+    public int getTaskCount() {
+        return tasks.size();
+    }
+
+    /**
+     * Overall progress of the tasks added since the window was last shown, counting ended tasks as complete.
+     *
+     * @return Progress value between 0.0 and 1.0
+     */
+    public float getOverallProgress() {
+        int count = finishedCount + tasks.size();
+        if (count == 0) {
+            return 0;
+        }
+        float sum = finishedCount;
+        for (Task t : tasks) {
+            sum += t.progressValue;
+        }
+        return sum / count;
+    }
+
+    /**
+     * Release the window and its native resources. The dialog is created again when a task is added.
+     */
+    public void dispose() {
+        if (dialog != null) {
+            dialog.dispose();
+            dialog = null;
+        }
+    }
+
+    private void createDialog() {
+        dialog = new JDialog(owner, title);
+        renderer = new TaskRenderer();
+        list = new JList<Task>(model);
+        list.setCellRenderer(renderer);
+        list.setFixedCellHeight(renderer.getPreferredSize().height);
+        list.setFixedCellWidth(renderer.getPreferredSize().width);
+        list.setVisibleRowCount(VISIBLE_ROWS);
+        list.setFocusable(false);
+        list.addMouseListener(new MouseAdapter() {
+            @Override
+            public void mouseClicked(MouseEvent e) {
+                cancelClicked(e.getPoint());
+            }
+        });
+
+        summaryBar = new JProgressBar(0, PROGRESS_STEPS);
+        summaryBar.setStringPainted(true);
+        updateSummary();
+
+        JPanel p = new JPanel(new BorderLayout(0, 5));
+        p.setBorder(new EmptyBorder(5, 5, 5, 5));
+        p.add(summaryBar, BorderLayout.NORTH);
+        p.add(new JScrollPane(list), BorderLayout.CENTER);
+        dialog.getContentPane().add(p);
+        dialog.pack();
+        if (owner != null) {
+            dialog.setLocationRelativeTo(owner);
+        }
+    }
+
+    private void cancelClicked(Point p) {
+        int index = list.locationToIndex(p);
+        if (index < 0) {
+            return;
+        }
+        Rectangle cell = list.getCellBounds(index, index);
+        if (cell == null || !cell.contains(p)) {
+            return;
+        }
+        Task task = tasks.get(index);
+        if (!task.isCancellable() || task.cancelRequested) {
+            return;
+        }
+        renderer.getListCellRendererComponent(list, task, index, false, false);
+        renderer.layoutRow(cell.width, cell.height);
+        if (renderer.getCancelBounds().contains(p.x - cell.x, p.y - cell.y)) {
+            task.cancelRequested = true;
+            task.cancelAction.run();
+            repaintRow(index);
+        }
+    }
+
+    private void repaintRow(int index) {
+        if (list != null && index >= 0) {
+            Rectangle r = list.getCellBounds(index, index);
+            if (r != null) {
+                list.repaint(r);
+            }
+        }
+    }
+
+    private void updateSummary() {
+        if (summaryBar != null) {
+            float progress = getOverallProgress();
+            summaryBar.setValue((int) (progress * PROGRESS_STEPS));
+            summaryBar.setString(finishedCount + " of " + (finishedCount + tasks.size()) + " tasks done - " +
+                    Math.round(progress * 100) + "%");
+        }
+    }
+
+    private class TaskListModel extends AbstractListModel<Task> {
+        @Override
+        public int getSize() {
+            return tasks.size();
+        }
+
+        @Override
+        public Task getElementAt(int index) {
+            return tasks.get(index);
+        }
+
+        void fireAdded(int index) {
+            fireIntervalAdded(this, index, index);
+        }
+
+        void fireRemoved(int index) {
+            fireIntervalRemoved(this, index, index);
+        }
+    }
+
+    /**
+     * Flyweight component painting every row.
+     */
+    private static class TaskRenderer extends JPanel implements ListCellRenderer<Task> {
+        private final JLabel titleLabel = new JLabel(" ");
+        private final JLabel textLabel = new JLabel(" ");
+        private final JProgressBar progressBar = new JProgressBar(0, PROGRESS_STEPS);
+        private final JButton cancelButton = new JButton("Cancel");
+        private final JPanel center;
+        private final JPanel east;
+
+        TaskRenderer() {
+            super(new BorderLayout(5, 0));
+            setBorder(new EmptyBorder(4, 4, 4, 4));
+            center = new JPanel(new BorderLayout(0, 2));
+            center.setOpaque(false);
+            center.add(titleLabel, BorderLayout.NORTH);
+            center.add(progressBar, BorderLayout.CENTER);
+            center.add(textLabel, BorderLayout.SOUTH);
+            progressBar.setPreferredSize(new Dimension(260, progressBar.getPreferredSize().height));
+            east = new JPanel(new GridBagLayout());
+            east.setOpaque(false);
+            east.add(cancelButton);
+            add(center, BorderLayout.CENTER);
+            add(east, BorderLayout.EAST);
+        }
+
+        @Override
+        public Component getListCellRendererComponent(JList<? extends Task> list, Task task, int index,
+                                                      boolean isSelected, boolean cellHasFocus) {
+            titleLabel.setText(task.getTitle());
+            textLabel.setText(task.getText() == null ? " " : task.getText());
+            progressBar.setValue((int) (task.getProgressValue() * PROGRESS_STEPS));
+            cancelButton.setVisible(task.isCancellable());
+            cancelButton.setEnabled(!task.isCancelRequested());
+            setBackground(list.getBackground());
+            return this;
+        }
+
+        /**
+         * Lay out the renderer as it is when painting a cell, the renderer is not in a displayed hierarchy.
+         */
+        void layoutRow(int width, int height) {
+            setBounds(0, 0, width, height);
+            doLayout();
+            center.doLayout();
+            east.doLayout();
+        }
+
+        Rectangle getCancelBounds() {
+            return SwingUtilities.convertRectangle(cancelButton.getParent(), cancelButton.getBounds(), this);
+        }
+    }
+}
@@ -0,0 +1,251 @@
+/*
+ * Copyright (c) 2026 Daniel Marell
+ * All rights reserved.
+ *
+ * Permission is hereby granted, free  of charge, to any person obtaining
+ * a  copy  of this  software  and  associated  documentation files  (the
+ * "Software"), to  deal in  the Software without  restriction, including
+ * without limitation  the rights to  use, copy, modify,  merge, publish,
+ * distribute,  sublicense, and/or sell  copies of  the Software,  and to
+ * permit persons to whom the Software  is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The  above  copyright  notice  and  this permission  notice  shall  be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE  SOFTWARE IS  PROVIDED  "AS  IS", WITHOUT  WARRANTY  OF ANY  KIND,
+ * EXPRESS OR  IMPLIED, INCLUDING  BUT NOT LIMITED  TO THE  WARRANTIES OF
+ * MERCHANTABILITY,    FITNESS    FOR    A   PARTICULAR    PURPOSE    AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE,  ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package se.marell.dswing.progress;
+
+import se.marell.dcommons.progress.ProgressTracker;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * A task split into stages running concurrently, for example read, parse, transform and write, so that I/O
+ * and computation overlap. Each stage runs in its own thread and the stages are connected by bounded queues,
+ * so a fast stage waits for a slow one instead of buffering without limit.<p>
+ *
+ * Usage example, from the runTask method of a progress worker:
+ *
+ * <pre>
+ * Pipeline p = new Pipeline(100)
+ *     .add(new PipelineStage&lt;Void, String&gt;("read", 1) {...})
+ *     .add(new PipelineStage&lt;String, Record&gt;("parse", 3) {...})
+ *     .add(new PipelineStage&lt;Record, Void&gt;("write", 1) {...});
+ * p.run(createProgressTracker());
+ * </pre>
+ *
+ * The combined progress is the weighted average of the stage progress values. {@link #getBottleneck()} tells
+ * which stage limits the throughput. A pipeline can only be run once.
+ */
+public class Pipeline {
+    private static final Object END = new Object();
+    private static final int POLL_PERIOD = 100;
+
+    private final int queueCapacity;
+    private final List<PipelineStage<?, ?>> stages = new ArrayList<PipelineStage<?, ?>>();
+    private final List<Thread> threads = new ArrayList<Thread>();
+    private boolean started;
+    private volatile boolean cancelled;
+    private volatile Throwable failure;
+
+    /**
+     * @param queueCapacity Number of items in each queue between two stages
+     */
+    public Pipeline(int queueCapacity) {
+        this.queueCapacity = queueCapacity;
+    }
+
+    /**
+     * Append a stage. The input type of the stage must be the output type of the previous stage.
+     *
+     * @param stage Stage
+     * @return this pipeline
+     */
+    public Pipeline add(PipelineStage<?, ?> stage) {
+        stages.add(stage);
+        return this;
+    }
+
+    public List<PipelineStage<?, ?>> getStages() {
+        return Collections.unmodifiableList(stages);
+    }
+
+    /**
+     * Run all stages and wait for them to end. The progress is reported to the tracker every 100 ms
+     * and the pipeline is cancelled when the tracker is cancelled.
+     *
+     * @param tracker Progress tracker
+     * @throws IllegalStateException if the pipeline has no stages or has already been run, or if a stage failed,
+     *                               with the exception of the stage as cause
+     */
+    public void run(ProgressTracker tracker) {
+        if (stages.isEmpty()) {
+            throw new IllegalStateException("Pipeline has no stages");
+        }
+        if (started) {
+            throw new IllegalStateException("Pipeline can only be run once");
+        }
+        started = true;
+        BlockingQueue<Object> input = null;
+        PipelineStage<?, ?> upstream = null;
+        for (int i = 0; i < stages.size(); ++i) {
+            PipelineStage<?, ?> stage = stages.get(i);
+            BlockingQueue<Object> output = i < stages.size() - 1 ? new ArrayBlockingQueue<Object>(queueCapacity) : null;
+            stage.prepare(upstream, input, queueCapacity);
+            threads.add(new Thread(new StageRunner(stage, input, output), "Pipeline-" + stage.getName()));
+            upstream = stage;
+            input = output;
+        }
+        for (Thread t : threads) {
+            t.start();
+        }
+
+        try {
+            for (Thread t : threads) {
+                while (t.isAlive()) {
+                    t.join(POLL_PERIOD);
+                    if (tracker.isCancelled()) {
+                        cancel();
+                    }
+                    tracker.setTotalProgress(getProgress());
+                }
+            }
+        } catch (InterruptedException e) {
+            cancel();
+            Thread.currentThread().interrupt();
+        }
+        tracker.setTotalProgress(getProgress());
+        if (failure != null) {
+            throw new IllegalStateException("Pipeline stage failed", failure);
+        }
+    }
+
+    /**
+     * Stop all stages. Stages waiting for a queue are interrupted.
+     */
+    public void cancel() {
+        if (!cancelled) {
+            cancelled = true;
+            for (Thread t : threads) {
+                t.interrupt();
+            }
+        }
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * @return Weighted progress of all stages between 0.0 and 1.0
+     */
+    public float getProgress() {
+        float total = 0;
+        float weights = 0;
+        for (PipelineStage<?, ?> stage : stages) {
+            total += stage.getWeight() * stage.getProgress();
+            weights += stage.getWeight();
+        }
+        return weights == 0 ? 0 : total / weights;
+    }
+
+    /**
+     * @return The running stage with the highest busy ratio, or null if no stage is running
+     */
+    public PipelineStage<?, ?> getBottleneck() {
+        PipelineStage<?, ?> bottleneck = null;
+        float max = 0;
+        for (PipelineStage<?, ?> stage : stages) {
+            float busy = stage.getBusyRatio();
+            if (!stage.isDone() && busy > max) {
+                bottleneck = stage;
+                max = busy;
+            }
+        }
+        return bottleneck;
+    }
+
+    private class StageRunner implements Runnable, PipelineStage.Output<Object> {
+        private final PipelineStage<?, ?> stage;
+        private final BlockingQueue<Object> input;
+        private final BlockingQueue<Object> output;
+
+        StageRunner(PipelineStage<?, ?> stage, BlockingQueue<Object> input, BlockingQueue<Object> output) {
+            this.stage = stage;
+            this.input = input;
+            this.output = output;
+        }
+
+        @Override
+        public void run() {
+            boolean completed = false;
+            stage.started();
+            try {
+                if (input == null) {
+                    stage.invoke(null, this);
+                } else {
+                    while (true) {
+                        stage.beginWait();
+                        Object item = input.take();
+                        stage.endWait();
+                        if (item == END) {
+                            break;
+                        }
+                        stage.invoke(item, this);
+                        stage.itemProcessed();
+                    }
+                }
+                if (output != null) {
+                    put(END);
+                }
+                completed = !cancelled;
+            } catch (InterruptedException e) {
+                // Cancelled
+            } catch (Throwable t) {
+                if (!cancelled) {
+                    failure = t;
+                    cancel();
+                }
+            } finally {
+                stage.ended(completed);
+            }
+        }
+
+        @Override
+        public void emit(Object item) throws InterruptedException {
+            if (cancelled) {
+                throw new InterruptedException("Pipeline cancelled");
+            }
+            stage.itemEmitted();
+            if (output != null) {
+                put(item);
+            }
+        }
+
+        @Override
+        public void setProgress(float value) {
+            stage.setSourceProgress(value);
+        }
+
+        private void put(Object item) throws InterruptedException {
+            stage.beginWait();
+            try {
+                output.put(item);
+            } finally {
+                stage.endWait();
+            }
+        }
+    }
+}
@@ -0,0 +1,235 @@
+/*
+ * Copyright (c) 2026 Daniel Marell
+ * All rights reserved.
+ *
+ * Permission is hereby granted, free  of charge, to any person obtaining
+ * a  copy  of this  software  and  associated  documentation files  (the
+ * "Software"), to  deal in  the Software without  restriction, including
+ * without limitation  the rights to  use, copy, modify,  merge, publish,
+ * distribute,  sublicense, and/or sell  copies of  the Software,  and to
+ * permit persons to whom the Software  is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The  above  copyright  notice  and  this permission  notice  shall  be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE  SOFTWARE IS  PROVIDED  "AS  IS", WITHOUT  WARRANTY  OF ANY  KIND,
+ * EXPRESS OR  IMPLIED, INCLUDING  BUT NOT LIMITED  TO THE  WARRANTIES OF
+ * MERCHANTABILITY,    FITNESS    FOR    A   PARTICULAR    PURPOSE    AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE,  ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package se.marell.dswing.progress;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * One stage of a {@link Pipeline}. A stage runs in its own thread, takes items from the queue of the previous
+ * stage and emits zero or more items per input to the next stage. The first stage has no input; its
+ * {@link #process(Object, Output)} is called once with null and produces all items.<p>
+ *
+ * The statistics are updated by the stage thread and can be read from any thread while the pipeline runs.
+ *
+ * @param <I> Input item type
+ * @param <O> Output item type
+ */
+public abstract class PipelineStage<I, O> {
+    /**
+     * Receives the items of a stage.
+     *
+     * @param <O> Output item type
+     */
+    public interface Output<O> {
+        /**
+         * Pass an item to the next stage, waiting while its queue is full. Items emitted by the last stage are
+         * discarded.
+         *
+         * @param item Item
+         * @throws InterruptedException if the pipeline was cancelled
+         */
+        void emit(O item) throws InterruptedException;
+
+        /**
+         * Report the progress of the first stage, which determines the progress of all stages.
+         * Ignored for the other stages.
+         *
+         * @param value Progress value between 0.0 and 1.0
+         */
+        void setProgress(float value);
+    }
+
+    private final String name;
+    private final float weight;
+    private final AtomicLong processedCount = new AtomicLong();
+    private final AtomicLong emittedCount = new AtomicLong();
+    private volatile long startNanos;
+    private volatile long endNanos;
+    private volatile long waitNanos;
+    private volatile long waitStartNanos;
+    private volatile float sourceProgress;
+    private volatile boolean done;
+    private PipelineStage<?, ?> upstream;
+    private BlockingQueue<Object> input;
+    private int inputCapacity;
+
+    /**
+     * @param name   Name shown when the stage is the bottleneck
+     * @param weight Share of the total work done by this stage, relative to the other stages
+     */
+    protected PipelineStage(String name, float weight) {
+        this.name = name;
+        this.weight = weight;
+    }
+
+    /**
+     * Process one item. Executes in the thread of the stage - don't call any swing components from it.
+     *
+     * @param item Input item, null for the first stage
+     * @param out  Receives the output items
+     * @throws Exception Any exception cancels the pipeline
+     */
+    protected abstract void process(I item, Output<O> out) throws Exception;
+
+    public String getName() {
+        return name;
+    }
+
+    public float getWeight() {
+        return weight;
+    }
+
+    /**
+     * @return Number of input items processed, 0 for the first stage
+     */
+    public long getProcessedCount() {
+        return processedCount.get();
+    }
+
+    /**
+     * @return Number of items emitted
+     */
+    public long getEmittedCount() {
+        return emittedCount.get();
+    }
+
+    /**
+     * @return Items processed per second, or emitted per second for the first stage
+     */
+    public double getThroughput() {
+        long elapsed = getElapsedNanos();
+        long count = upstream == null ? getEmittedCount() : getProcessedCount();
+        return elapsed == 0 ? 0 : count * 1e9 / elapsed;
+    }
+
+    /**
+     * @return Fill ratio of the input queue between 0.0 and 1.0, 0 for the first stage
+     */
+    public float getQueueOccupancy() {
+        BlockingQueue<Object> q = input;
+        return q == null ? 0 : (float) q.size() / inputCapacity;
+    }
+
+    /**
+     * The share of time the stage spent processing, as opposed to waiting for input or for room in the queue
+     * of the next stage. The stage with the highest ratio is the bottleneck.
+     *
+     * @return Busy ratio between 0.0 and 1.0
+     */
+    public float getBusyRatio() {
+        long elapsed = getElapsedNanos();
+        if (elapsed == 0) {
+            return 0;
+        }
+        long wait = waitNanos;
+        long waitStart = waitStartNanos;
+        if (waitStart != 0 && endNanos == 0) {
+            wait += System.nanoTime() - waitStart;
+        }
+        return Math.max(0, Math.min(1, (float) (elapsed - wait) / elapsed));
+    }
+
+    /**
+     * The progress of the first stage is reported by the stage. The progress of a later stage is estimated as the
+     * share of the items emitted by the previous stage processed so far, scaled by the progress of the previous stage.
+     *
+     * @return Progress value between 0.0 and 1.0
+     */
+    public float getProgress() {
+        if (done) {
+            return 1;
+        }
+        if (upstream == null) {
+            return sourceProgress;
+        }
+        long available = upstream.getEmittedCount();
+        if (available == 0) {
+            return 0;
+        }
+        return upstream.getProgress() * Math.min(1, (float) getProcessedCount() / available);
+    }
+
+    public boolean isDone() {
+        return done;
+    }
+
+    private long getElapsedNanos() {
+        long start = startNanos;
+        if (start == 0) {
+            return 0;
+        }
+        long end = endNanos;
+        return (end == 0 ? System.nanoTime() : end) - start;
+    }
+
+    void prepare(PipelineStage<?, ?> upstream, BlockingQueue<Object> input, int inputCapacity) {
+        this.upstream = upstream;
+        this.input = input;
+        this.inputCapacity = inputCapacity;
+        processedCount.set(0);
+        emittedCount.set(0);
+        startNanos = 0;
+        endNanos = 0;
+        waitNanos = 0;
+        waitStartNanos = 0;
+        sourceProgress = 0;
+        done = false;
+    }
+
+    void started() {
+        startNanos = System.nanoTime();
+    }
+
+    void ended(boolean completed) {
+        endNanos = System.nanoTime();
+        done = completed;
+    }
+
+    void beginWait() {
+        waitStartNanos = System.nanoTime();
+    }
+
+    void endWait() {
+        waitNanos += System.nanoTime() - waitStartNanos;
+        waitStartNanos = 0;
+    }
+
+    void itemProcessed() {
+        processedCount.incrementAndGet();
+    }
+
+    void itemEmitted() {
+        emittedCount.incrementAndGet();
+    }
+
+    void setSourceProgress(float value) {
+        sourceProgress = value;
+    }
+
+    @SuppressWarnings("unchecked")
+    void invoke(Object item, Output<?> out) throws Exception {
+        process((I) item, (Output<O>) out);
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2026 Daniel Marell
+ * All rights reserved.
+ *
+ * Permission is hereby granted, free  of charge, to any person obtaining
+ * a  copy  of this  software  and  associated  documentation files  (the
+ * "Software"), to  deal in  the Software without  restriction, including
+ * without limitation  the rights to  use, copy, modify,  merge, publish,
+ * distribute,  sublicense, and/or sell  copies of  the Software,  and to
+ * permit persons to whom the Software  is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The  above  copyright  notice  and  this permission  notice  shall  be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE  SOFTWARE IS  PROVIDED  "AS  IS", WITHOUT  WARRANTY  OF ANY  KIND,
+ * EXPRESS OR  IMPLIED, INCLUDING  BUT NOT LIMITED  TO THE  WARRANTIES OF
+ * MERCHANTABILITY,    FITNESS    FOR    A   PARTICULAR    PURPOSE    AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE,  ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package se.marell.dswing.progress;
+
+import java.awt.*;
+
+/**
+ * A {@link ProgressWorkerPopup} running a {@link Pipeline}. The progress bar shows the weighted progress of all
+ * stages and the name of the stage currently limiting the throughput.<p>
+ *
+ * Usage example:
+ *
+ * <pre>
+ * PipelineWorkerPopup t = new PipelineWorkerPopup(frame, "Importing...", 200, true, 500, true, true) {
+ *   {@literal @}Override
+ *   protected Pipeline createPipeline() {
+ *     return new Pipeline(100).add(readStage).add(parseStage).add(writeStage);
+ *   }
+ *
+ *   {@literal @}Override
+ *   protected void notifyTaskEnded(boolean cancelled) { ... }
+ * };
+ *
+ * t.start();
+ * </pre>
+ */
+public abstract class PipelineWorkerPopup extends ProgressWorkerPopup {
+    private volatile Pipeline pipeline;
+
+    /**
+     * @param owner                Owning window
+     * @param title                Title of progress bar window
+     * @param progressUpdatePeriod msec between updates
+     * @param disableOwner         If true, disables owning window while executing
+     * @param dialogDelay          Delay in msec before the progress dialog pops up
+     * @param useCancelButton      If true, the progress dialog is equipped with a cancel button
+     * @param useProgressDialog    If true, a progress dialog will be used
+     */
+    protected PipelineWorkerPopup(Window owner, String title,
+                                  int progressUpdatePeriod, boolean disableOwner,
+                                  int dialogDelay, boolean useCancelButton, boolean useProgressDialog) {
+        super(owner, title, progressUpdatePeriod, disableOwner, dialogDelay, useCancelButton, useProgressDialog);
+    }
+
+    /**
+     * Create the pipeline to run. Called from the task thread.
+     *
+     * @return Pipeline
+     */
+    protected abstract Pipeline createPipeline();
+
+    @Override
+    protected final void runTask() {
+        pipeline = createPipeline();
+        pipeline.run(createProgressTracker());
+    }
+
+    /**
+     * @return The running pipeline, or null if it has not been created yet
+     */
+    protected final Pipeline getPipeline() {
+        return pipeline;
+    }
+
+    @Override
+    protected void updateProgressDialog() {
+        super.updateProgressDialog();
+        Pipeline p = pipeline;
+        if ((getProgressBar() != null || getLeanProgressBar() != null) && p != null) {
+            int percent = Math.round(getProgressValue() * 100);
+            PipelineStage<?, ?> bottleneck = p.getBottleneck();
+            String s = bottleneck == null ? percent + "%" : percent + "% - " + bottleneck.getName();
+            if (getProgressBar() != null) {
+                getProgressBar().setString(s);
+            } else {
+                getLeanProgressBar().setString(s);
+            }
+        }
+    }
+}
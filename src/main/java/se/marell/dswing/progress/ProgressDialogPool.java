@@ -0,0 +1,292 @@
+/*
+ * Copyright (c) 2026 Daniel Marell
+ * All rights reserved.
+ *
+ * Permission is hereby granted, free  of charge, to any person obtaining
+ * a  copy  of this  software  and  associated  documentation files  (the
+ * "Software"), to  deal in  the Software without  restriction, including
+ * without limitation  the rights to  use, copy, modify,  merge, publish,
+ * distribute,  sublicense, and/or sell  copies of  the Software,  and to
+ * permit persons to whom the Software  is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The  above  copyright  notice  and  this permission  notice  shall  be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE  SOFTWARE IS  PROVIDED  "AS  IS", WITHOUT  WARRANTY  OF ANY  KIND,
+ * EXPRESS OR  IMPLIED, INCLUDING  BUT NOT LIMITED  TO THE  WARRANTIES OF
+ * MERCHANTABILITY,    FITNESS    FOR    A   PARTICULAR    PURPOSE    AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE,  ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package se.marell.dswing.progress;
+
+import javax.swing.*;
+import javax.swing.border.EmptyBorder;
+import java.awt.*;
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+
+/**
+ * A pool of pre-built progress dialogs for one owner window. Creating, packing and realizing a dialog when the
+ * dialog delay of a {@link ProgressWorkerPopup} expires is a visible hitch. A pool builds its dialogs at idle
+ * time after {@link #prewarm(int)}, and dialogs are reset and reused by later tasks, so showing the dialog only
+ * costs setting the title and making it visible.<p>
+ *
+ * The pooled dialogs have the default content of ProgressWorkerPopup: a progress bar and an optional cancel
+ * button. Popups customizing createProgressBar or createDialogPanel should not use a pool.<p>
+ *
+ * Dialogs created on demand beyond the pre-warmed count are disposed when they have been unused for the trim
+ * period. All methods must be called from the swing thread.
+ */
+public class ProgressDialogPool {
+    private static final int PROGRESS_DIALOG_STEPS = 100;
+    private static final int PREWARM_PERIOD = 50;
+
+    /**
+     * A pooled dialog, lent to one popup between acquire and release.
+     */
+    static final class PooledDialog {
+        private final JDialog dialog;
+        private final JProgressBar progressBar;
+        private final JButton cancelButton;
+        private final boolean withCancelButton;
+        private Runnable cancelAction;
+        private long releasedMillis;
+
+        PooledDialog(JDialog dialog, JProgressBar progressBar, JButton cancelButton) {
+            this.dialog = dialog;
+            this.progressBar = progressBar;
+            this.cancelButton = cancelButton;
+            this.withCancelButton = cancelButton != null;
+        }
+
+        JDialog getDialog() {
+            return dialog;
+        }
+
+        JProgressBar getProgressBar() {
+            return progressBar;
+        }
+    }
+
+    private final Window owner;
+    private final int trimMillis;
+    private final ArrayDeque<PooledDialog> withCancel = new ArrayDeque<PooledDialog>();
+    private final ArrayDeque<PooledDialog> withoutCancel = new ArrayDeque<PooledDialog>();
+    private int prewarmCount;
+    private boolean prewarmWithCancelButton;
+    private Timer prewarmTimer;
+    private Timer trimTimer;
+    private int createdCount;
+    private int reusedCount;
+
+    /**
+     * @param owner      Owning window of the dialogs
+     * @param trimMillis Time in msec after which unused dialogs beyond the pre-warmed count are disposed
+     */
+    public ProgressDialogPool(Window owner, int trimMillis) {
+        this.owner = owner;
+        this.trimMillis = trimMillis;
+    }
+
+    public Window getOwner() {
+        return owner;
+    }
+
+    /**
+     * Build dialogs at idle time until the pool holds count dialogs of the given kind. The dialogs are built one
+     * per swing timer tick, so each tick is a short job on the swing thread. Call after the owner window is shown.
+     *
+     * @param count            Number of dialogs to keep ready
+     * @param withCancelButton true to build dialogs with a cancel button
+     */
+    public void prewarm(int count, boolean withCancelButton) {
+        prewarmCount = count;
+        prewarmWithCancelButton = withCancelButton;
+        if (prewarmTimer == null) {
+            prewarmTimer = new Timer(PREWARM_PERIOD, new ActionListener() {
+                @Override
+                public void actionPerformed(ActionEvent e) {
+                    ArrayDeque<PooledDialog> free = getFree(prewarmWithCancelButton);
+                    if (free.size() < prewarmCount) {
+                        free.push(createDialog(prewarmWithCancelButton));
+                    } else {
+                        prewarmTimer.stop();
+                    }
+                }
+            });
+        }
+        prewarmTimer.start();
+    }
+
+    /**
+     * Same as {@link #prewarm(int, boolean)} with dialogs having a cancel button.
+     *
+     * @param count Number of dialogs to keep ready
+     */
+    public void prewarm(int count) {
+        prewarm(count, true);
+    }
+
+    /**
+     * Take a dialog from the pool, or build one if the pool is empty.
+     *
+     * @param title            Title of the dialog
+     * @param withCancelButton true if the dialog should have a cancel button
+     * @param cancelAction     Called when the cancel button is pressed
+     * @param minimumSize      Minimum size of the dialog
+     * @return A reset dialog, not yet visible
+     */
+    PooledDialog acquire(String title, boolean withCancelButton, Runnable cancelAction, Dimension minimumSize) {
+        PooledDialog d = getFree(withCancelButton).poll();
+        if (d == null) {
+            d = createDialog(withCancelButton);
+        } else {
+            ++reusedCount;
+        }
+        d.cancelAction = cancelAction;
+        if (d.cancelButton != null) {
+            d.cancelButton.setEnabled(true);
+        }
+        d.progressBar.setValue(0);
+        d.progressBar.setString(null);
+        d.dialog.setTitle(title);
+        d.dialog.setMinimumSize(minimumSize);
+        if (owner != null) {
+            d.dialog.setLocationRelativeTo(owner);
+        }
+        return d;
+    }
+
+    /**
+     * Hide a dialog and return it to the pool.
+     *
+     * @param d Dialog
+     */
+    void release(PooledDialog d) {
+        d.dialog.setVisible(false);
+        d.cancelAction = null;
+        d.releasedMillis = System.currentTimeMillis();
+        getFree(d.withCancelButton).push(d);
+        if (trimTimer == null) {
+            trimTimer = new Timer(trimMillis, new ActionListener() {
+                @Override
+                public void actionPerformed(ActionEvent e) {
+                    trim(trimMillis);
+                }
+            });
+            trimTimer.setRepeats(false);
+        }
+        trimTimer.restart();
+    }
+
+    /**
+     * Dispose dialogs beyond the pre-warmed count that have been unused for at least the given time.
+     *
+     * @param unusedMillis Minimum time in msec a dialog has been unused
+     */
+    public void trim(long unusedMillis) {
+        long now = System.currentTimeMillis();
+        trim(withCancel, prewarmWithCancelButton ? prewarmCount : 0, now - unusedMillis);
+        trim(withoutCancel, prewarmWithCancelButton ? 0 : prewarmCount, now - unusedMillis);
+    }
+
+    /**
+     * Dispose all pooled dialogs and stop pre-warming.
+     */
+    public void dispose() {
+        if (prewarmTimer != null) {
+            prewarmTimer.stop();
+        }
+        if (trimTimer != null) {
+            trimTimer.stop();
+        }
+        prewarmCount = 0;
+        trim(withCancel, 0, Long.MAX_VALUE);
+        trim(withoutCancel, 0, Long.MAX_VALUE);
+    }
+
+    /**
+     * @return Number of dialogs ready to be used
+     */
+    public int getAvailableCount() {
+        return withCancel.size() + withoutCancel.size();
+    }
+
+    /**
+     * @return Number of dialogs built by the pool
+     */
+    public int getCreatedCount() {
+        return createdCount;
+    }
+
+    /**
+     * @return Number of times a pooled dialog was reused
+     */
+    public int getReusedCount() {
+        return reusedCount;
+    }
+
+    private ArrayDeque<PooledDialog> getFree(boolean withCancelButton) {
+        return withCancelButton ? withCancel : withoutCancel;
+    }
+
+    /**
+     * Free dialogs are pushed at the head, so the least recently used dialogs are at the tail.
+     */
+    private static void trim(ArrayDeque<PooledDialog> free, int keep, long releasedBefore) {
+        Iterator<PooledDialog> it = free.descendingIterator();
+        while (free.size() > keep && it.hasNext()) {
+            PooledDialog d = it.next();
+            if (d.releasedMillis > releasedBefore) {
+                break;
+            }
+            it.remove();
+            d.dialog.dispose();
+        }
+    }
+
+    private PooledDialog createDialog(boolean withCancelButton) {
+        ++createdCount;
+        JDialog dialog = new JDialog(owner);
+        JProgressBar pbar = new JProgressBar(0, PROGRESS_DIALOG_STEPS);
+        pbar.setValue(0);
+        pbar.setStringPainted(true);
+
+        JPanel p = new JPanel(new BorderLayout());
+        p.setBorder(new EmptyBorder(5, 5, 5, 5));
+        p.add(pbar, BorderLayout.NORTH);
+
+        JButton cancelButton = null;
+        if (withCancelButton) {
+            cancelButton = new JButton("Cancel");
+            JPanel p2 = new JPanel();
+            p2.add(cancelButton);
+            p.add(p2, BorderLayout.SOUTH);
+        }
+        dialog.getContentPane().add(p);
+        // Realizes the native peer without showing the dialog
+        dialog.pack();
+
+        final PooledDialog d = new PooledDialog(dialog, pbar, cancelButton);
+        if (cancelButton != null) {
+            final JButton b = cancelButton;
+            cancelButton.addActionListener(new ActionListener() {
+                @Override
+                public void actionPerformed(ActionEvent e) {
+                    Runnable action = d.cancelAction;
+                    if (action != null) {
+                        action.run();
+                    }
+                    b.setEnabled(false);
+                }
+            });
+        }
+        return d;
+    }
+}
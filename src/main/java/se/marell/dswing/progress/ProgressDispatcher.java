@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2026 Daniel Marell
+ * All rights reserved.
+ *
+ * Permission is hereby granted, free  of charge, to any person obtaining
+ * a  copy  of this  software  and  associated  documentation files  (the
+ * "Software"), to  deal in  the Software without  restriction, including
+ * without limitation  the rights to  use, copy, modify,  merge, publish,
+ * distribute,  sublicense, and/or sell  copies of  the Software,  and to
+ * permit persons to whom the Software  is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The  above  copyright  notice  and  this permission  notice  shall  be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE  SOFTWARE IS  PROVIDED  "AS  IS", WITHOUT  WARRANTY  OF ANY  KIND,
+ * EXPRESS OR  IMPLIED, INCLUDING  BUT NOT LIMITED  TO THE  WARRANTIES OF
+ * MERCHANTABILITY,    FITNESS    FOR    A   PARTICULAR    PURPOSE    AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE,  ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package se.marell.dswing.progress;
+
+/**
+ * Runs the threads of a {@link ProgressWorker}: the background thread executing the task and the dispatch
+ * thread on which progress is sampled and the worker is notified. {@link EdtProgressDispatcher} uses the swing
+ * thread. {@link ConsoleProgressDispatcher} and {@link SilentProgressDispatcher} load no swing or AWT classes
+ * and are meant for running the same tasks in batch jobs without a display.
+ */
+public interface ProgressDispatcher {
+    /**
+     * A periodic action scheduled with {@link ProgressDispatcher#schedule(Runnable, int)}.
+     */
+    interface Ticker {
+        /**
+         * Stops calling the action. Must be called from the dispatch thread.
+         */
+        void stop();
+
+        /**
+         * Starts calling the action again, the first call one period from now. Must be called from the
+         * dispatch thread.
+         */
+        void restart();
+    }
+
+    /**
+     * Execute a task in a background thread and then the completion on the dispatch thread.
+     *
+     * @param task       The lengthy task
+     * @param completion Called on the dispatch thread when the task has returned
+     */
+    void execute(Runnable task, Runnable completion);
+
+    /**
+     * Call an action periodically on the dispatch thread.
+     *
+     * @param action       Action
+     * @param periodMillis msec between calls
+     * @return Ticker used to stop the calls
+     */
+    Ticker schedule(Runnable action, int periodMillis);
+
+    /**
+     * Called on the dispatch thread when the value or text of a worker changed, after the worker was notified.
+     *
+     * @param value Progress value between 0.0 and 1.0
+     * @param text  Progress text, may be null
+     */
+    void progressChanged(float value, String text);
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2026 Daniel Marell
+ * All rights reserved.
+ *
+ * Permission is hereby granted, free  of charge, to any person obtaining
+ * a  copy  of this  software  and  associated  documentation files  (the
+ * "Software"), to  deal in  the Software without  restriction, including
+ * without limitation  the rights to  use, copy, modify,  merge, publish,
+ * distribute,  sublicense, and/or sell  copies of  the Software,  and to
+ * permit persons to whom the Software  is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The  above  copyright  notice  and  this permission  notice  shall  be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE  SOFTWARE IS  PROVIDED  "AS  IS", WITHOUT  WARRANTY  OF ANY  KIND,
+ * EXPRESS OR  IMPLIED, INCLUDING  BUT NOT LIMITED  TO THE  WARRANTIES OF
+ * MERCHANTABILITY,    FITNESS    FOR    A   PARTICULAR    PURPOSE    AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE,  ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package se.marell.dswing.progress;
+
+/**
+ * An event in the life of a {@link ProgressWorker} or {@link ProgressWorkerPopup}, delivered to the
+ * listeners registered in {@link ProgressEvents}. Timestamps are from System.nanoTime(). The events of one
+ * run of a worker share a {@link #getRunId() run id}.
+ */
+public class ProgressEvent {
+    public enum Type {
+        /**
+         * start() was called. Emitted from the calling thread.
+         */
+        TASK_QUEUED,
+        /**
+         * runTask() is about to be called. Duration is the time since the task was queued.
+         * Emitted from the worker thread.
+         */
+        TASK_STARTED,
+        /**
+         * The task ended. Duration is the time since the task started. Emitted from the swing thread.
+         */
+        TASK_ENDED,
+        /**
+         * The progress dialog was shown. Duration is the time past the requested dialog delay.
+         * Emitted from the swing thread.
+         */
+        DIALOG_SHOWN,
+        /**
+         * Progress was sampled and dispatched. Duration is the time spent dispatching.
+         * Emitted from the swing thread.
+         */
+        PROGRESS_DISPATCHED
+    }
+
+    private final Type type;
+    private final Class<?> source;
+    private final long runId;
+    private final String name;
+    private final long timestampNanos;
+    private final long durationNanos;
+    private final float value;
+    private final boolean cancelled;
+
+    public ProgressEvent(Type type, Class<?> source, long runId, String name, long timestampNanos,
+                         long durationNanos, float value, boolean cancelled) {
+        this.type = type;
+        this.source = source;
+        this.runId = runId;
+        this.name = name;
+        this.timestampNanos = timestampNanos;
+        this.durationNanos = durationNanos;
+        this.value = value;
+        this.cancelled = cancelled;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    /**
+     * @return Class of the worker emitting the event
+     */
+    public Class<?> getSource() {
+        return source;
+    }
+
+    /**
+     * @return Id of the run emitting the event, unique within the JVM. Use it to pair the TASK_QUEUED,
+     * TASK_STARTED and TASK_ENDED events of a run.
+     */
+    public long getRunId() {
+        return runId;
+    }
+
+    /**
+     * @return Title of the task, or null if it has none
+     */
+    public String getName() {
+        return name;
+    }
+
+    public long getTimestampNanos() {
+        return timestampNanos;
+    }
+
+    public long getDurationNanos() {
+        return durationNanos;
+    }
+
+    /**
+     * @return Sampled progress value, for PROGRESS_DISPATCHED events
+     */
+    public float getValue() {
+        return value;
+    }
+
+    /**
+     * @return true if the task was cancelled, for TASK_ENDED events
+     */
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    @Override
+    public String toString() {
+        return type + " " + source.getName() + " #" + runId + (name != null ? " '" + name + "'" : "")
+                + " duration=" + durationNanos / 1000 + "us value=" + value + " cancelled=" + cancelled;
+    }
+}
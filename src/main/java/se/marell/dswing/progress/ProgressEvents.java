@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2026 Daniel Marell
+ * All rights reserved.
+ *
+ * Permission is hereby granted, free  of charge, to any person obtaining
+ * a  copy  of this  software  and  associated  documentation files  (the
+ * "Software"), to  deal in  the Software without  restriction, including
+ * without limitation  the rights to  use, copy, modify,  merge, publish,
+ * distribute,  sublicense, and/or sell  copies of  the Software,  and to
+ * permit persons to whom the Software  is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The  above  copyright  notice  and  this permission  notice  shall  be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE  SOFTWARE IS  PROVIDED  "AS  IS", WITHOUT  WARRANTY  OF ANY  KIND,
+ * EXPRESS OR  IMPLIED, INCLUDING  BUT NOT LIMITED  TO THE  WARRANTIES OF
+ * MERCHANTABILITY,    FITNESS    FOR    A   PARTICULAR    PURPOSE    AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE,  ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package se.marell.dswing.progress;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Registry of {@link ProgressEventListener}s receiving lifecycle and progress dispatch events from all
+ * progress workers. Use it to line up task timing with other recordings, for example by forwarding the
+ * events to Java Flight Recorder events in the application.
+ *
+ * When no listener is registered, workers only check a volatile flag and create no events.
+ */
+public final class ProgressEvents {
+    private static final Logger logger = LoggerFactory.getLogger(ProgressEvents.class);
+    private static final CopyOnWriteArrayList<ProgressEventListener> listeners = new CopyOnWriteArrayList<ProgressEventListener>();
+    private static final AtomicLong runIds = new AtomicLong();
+    private static volatile boolean enabled;
+
+    private ProgressEvents() {
+    }
+
+    public static synchronized void addListener(ProgressEventListener listener) {
+        listeners.add(listener);
+        enabled = true;
+    }
+
+    public static synchronized void removeListener(ProgressEventListener listener) {
+        listeners.remove(listener);
+        // Synchronized with addListener, so an add racing with this remove is not left disabled
+        enabled = !listeners.isEmpty();
+    }
+
+    /**
+     * @return true if any listener is registered
+     */
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @return A new run id, unique within the JVM
+     */
+    static long nextRunId() {
+        return runIds.incrementAndGet();
+    }
+
+    /**
+     * Deliver an event to all listeners. Callers should check {@link #isEnabled()} before creating the event.
+     * An exception thrown by a listener is logged and does not keep the event from the other listeners.
+     *
+     * @param type           Event type
+     * @param source         Class of the emitting worker
+     * @param runId          Id of the run, see {@link ProgressEvent#getRunId()}
+     * @param name           Title of the task or null
+     * @param timestampNanos System.nanoTime() of the event
+     * @param durationNanos  Duration, see {@link ProgressEvent.Type}
+     * @param value          Progress value
+     * @param cancelled      true if the task was cancelled
+     */
+    static void emit(ProgressEvent.Type type, Class<?> source, long runId, String name, long timestampNanos,
+                     long durationNanos, float value, boolean cancelled) {
+        ProgressEvent event = new ProgressEvent(type, source, runId, name, timestampNanos, durationNanos, value,
+                cancelled);
+        for (ProgressEventListener listener : listeners) {
+            try {
+                listener.progressEvent(event);
+            } catch (RuntimeException e) {
+                logger.error("Progress event listener failed on " + event + ": ", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,158 @@
+/*
+ * Copyright (c) 2026 Daniel Marell
+ * All rights reserved.
+ *
+ * Permission is hereby granted, free  of charge, to any person obtaining
+ * a  copy  of this  software  and  associated  documentation files  (the
+ * "Software"), to  deal in  the Software without  restriction, including
+ * without limitation  the rights to  use, copy, modify,  merge, publish,
+ * distribute,  sublicense, and/or sell  copies of  the Software,  and to
+ * permit persons to whom the Software  is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The  above  copyright  notice  and  this permission  notice  shall  be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE  SOFTWARE IS  PROVIDED  "AS  IS", WITHOUT  WARRANTY  OF ANY  KIND,
+ * EXPRESS OR  IMPLIED, INCLUDING  BUT NOT LIMITED  TO THE  WARRANTIES OF
+ * MERCHANTABILITY,    FITNESS    FOR    A   PARTICULAR    PURPOSE    AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE,  ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package se.marell.dswing.progress;
+
+import se.marell.dcommons.progress.ProgressTracker;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * The result of a {@link TaskChain} run by a {@link ChainProgressWorker} or {@link ChainWorkerPopup}.
+ * Completed on the background thread when the last step ends, before the worker is notified that the task ended,
+ * so {@link #get()} does not block in {@code notifyTaskEnded}. Other threads can wait for the result without
+ * involving the swing thread. Cancelling the future cancels the worker.
+ *
+ * @param <T> Result type
+ */
+public class ProgressFuture<T> implements Future<T> {
+    private final CountDownLatch doneLatch = new CountDownLatch(1);
+    private final Runnable canceller;
+    private T result;
+    private Throwable failure;
+    private boolean cancelled;
+    private boolean done;
+
+    /**
+     * @param canceller Cancels the task computing the result
+     */
+    ProgressFuture(Runnable canceller) {
+        this.canceller = canceller;
+    }
+
+    /**
+     * Run the chain and complete this future. Exceptions thrown by a step are rethrown after completing the future,
+     * checked exceptions wrapped in IllegalStateException.
+     */
+    void run(TaskChain<T> chain, ProgressTracker tracker) {
+        try {
+            T value = chain.run(tracker);
+            if (tracker.isCancelled()) {
+                complete(null, null, true);
+            } else {
+                complete(value, null, false);
+            }
+        } catch (CancellationException e) {
+            complete(null, null, true);
+        } catch (RuntimeException e) {
+            complete(null, e, false);
+            throw e;
+        } catch (Error e) {
+            complete(null, e, false);
+            throw e;
+        } catch (Exception e) {
+            complete(null, e, false);
+            throw new IllegalStateException("Task chain failed", e);
+        }
+    }
+
+    private synchronized void complete(T result, Throwable failure, boolean cancelled) {
+        if (done) {
+            return;
+        }
+        this.result = result;
+        this.failure = failure;
+        this.cancelled = cancelled;
+        done = true;
+        doneLatch.countDown();
+    }
+
+    /**
+     * Cancel the task. The task stops at its next check for cancellation.
+     *
+     * @param mayInterruptIfRunning Ignored, the task is never interrupted
+     * @return false if the result was already completed
+     */
+    @Override
+    public boolean cancel(boolean mayInterruptIfRunning) {
+        synchronized (this) {
+            if (done) {
+                return false;
+            }
+            complete(null, null, true);
+        }
+        canceller.run();
+        return true;
+    }
+
+    @Override
+    public synchronized boolean isCancelled() {
+        return cancelled;
+    }
+
+    @Override
+    public synchronized boolean isDone() {
+        return done;
+    }
+
+    /**
+     * @return true if a step threw an exception
+     */
+    public synchronized boolean isFailed() {
+        return failure != null;
+    }
+
+    @Override
+    public T get() throws InterruptedException, ExecutionException {
+        doneLatch.await();
+        return getResult();
+    }
+
+    @Override
+    public T get(long timeout, TimeUnit unit) throws InterruptedException, ExecutionException, TimeoutException {
+        if (!doneLatch.await(timeout, unit)) {
+            throw new TimeoutException();
+        }
+        return getResult();
+    }
+
+    private synchronized T getResult() throws ExecutionException {
+        if (cancelled) {
+            throw new CancellationException();
+        }
+        if (failure != null) {
+            throw new ExecutionException(failure);
+        }
+        return result;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return !done ? "running" : cancelled ? "cancelled" : failure != null ? "failed: " + failure : "done: " + result;
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2026 Daniel Marell
+ * All rights reserved.
+ *
+ * Permission is hereby granted, free  of charge, to any person obtaining
+ * a  copy  of this  software  and  associated  documentation files  (the
+ * "Software"), to  deal in  the Software without  restriction, including
+ * without limitation  the rights to  use, copy, modify,  merge, publish,
+ * distribute,  sublicense, and/or sell  copies of  the Software,  and to
+ * permit persons to whom the Software  is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The  above  copyright  notice  and  this permission  notice  shall  be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE  SOFTWARE IS  PROVIDED  "AS  IS", WITHOUT  WARRANTY  OF ANY  KIND,
+ * EXPRESS OR  IMPLIED, INCLUDING  BUT NOT LIMITED  TO THE  WARRANTIES OF
+ * MERCHANTABILITY,    FITNESS    FOR    A   PARTICULAR    PURPOSE    AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE,  ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package se.marell.dswing.progress;
+
+/**
+ * Fixed-size ring buffer of timestamped progress and activity samples, recorded by the progress update timer of
+ * a worker. Samples are stored in primitive arrays, so recording does not allocate. When the buffer is full the
+ * oldest sample is overwritten. Index 0 is the oldest sample held.<p>
+ *
+ * All methods are thread safe.
+ */
+public class ProgressHistory {
+    private final long[] timestamps;
+    private final float[] values;
+    private final long[] activities;
+    private int head;
+    private int size;
+    private long recordCount;
+
+    /**
+     * @param capacity Number of samples held
+     */
+    public ProgressHistory(int capacity) {
+        timestamps = new long[capacity];
+        values = new float[capacity];
+        activities = new long[capacity];
+    }
+
+    /**
+     * Record a sample.
+     *
+     * @param timeMillis Time of the sample
+     * @param value      Progress value between 0.0 and 1.0
+     * @param activity   Activity count reported by the task so far
+     */
+    public synchronized void record(long timeMillis, float value, long activity) {
+        timestamps[head] = timeMillis;
+        values[head] = value;
+        activities[head] = activity;
+        head = (head + 1) % timestamps.length;
+        if (size < timestamps.length) {
+            ++size;
+        }
+        ++recordCount;
+    }
+
+    public int getCapacity() {
+        return timestamps.length;
+    }
+
+    /**
+     * @return Number of samples held
+     */
+    public synchronized int getSize() {
+        return size;
+    }
+
+    /**
+     * @return Number of samples recorded since creation, including overwritten samples
+     */
+    public synchronized long getRecordCount() {
+        return recordCount;
+    }
+
+    public synchronized long getTimestamp(int index) {
+        return timestamps[toSlot(index)];
+    }
+
+    public synchronized float getValue(int index) {
+        return values[toSlot(index)];
+    }
+
+    public synchronized long getActivity(int index) {
+        return activities[toSlot(index)];
+    }
+
+    /**
+     * @param index Sample index, at least 1
+     * @return Progress per second between the sample and the previous one, 0 if the progress went backwards
+     */
+    public synchronized float getProgressRate(int index) {
+        int slot = toSlot(index);
+        int previous = toSlot(index - 1);
+        long dt = timestamps[slot] - timestamps[previous];
+        return dt <= 0 ? 0 : Math.max(0, (values[slot] - values[previous]) * 1000f / dt);
+    }
+
+    /**
+     * @param index Sample index, at least 1
+     * @return Activity count per second between the sample and the previous one
+     */
+    public synchronized float getActivityRate(int index) {
+        int slot = toSlot(index);
+        int previous = toSlot(index - 1);
+        long dt = timestamps[slot] - timestamps[previous];
+        return dt <= 0 ? 0 : Math.max(0, (activities[slot] - activities[previous]) * 1000f / dt);
+    }
+
+    public synchronized void clear() {
+        head = 0;
+        size = 0;
+    }
+
+    private int toSlot(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + ", size " + size);
+        }
+        return (head - size + index + timestamps.length) % timestamps.length;
+    }
+}
@@ -26,10 +26,9 @@ package se.marell.dswing.progress;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import se.marell.dcommons.progress.ProgressTracker;
+import se.marell.dswing.monitor.EdtMetrics;
 
-import javax.swing.*;
-import java.awt.event.ActionEvent;
-import java.awt.event.ActionListener;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * This class provides support for threading a task with a progress feedback.<p>
@@ -55,51 +54,310 @@ import java.awt.event.ActionListener;
 public abstract class ProgressWorker {
   private Logger logger = LoggerFactory.getLogger(ProgressWorker.class);
   private static final int UPDATE_PROGRESS_INTERVAL = 100;
+  private static final int HISTORY_CAPACITY = 600;
   private boolean isRunning;
   private boolean isCancelled;
   private float currentValue;
   private String currentText;
   private float lastValue;
   private String lastText;
-  private Timer updateProgressTimer;
+  private final ProgressDispatcher dispatcher;
+  private ProgressDispatcher.Ticker updateProgressTicker;
+  private final ProgressHistory progressHistory = new ProgressHistory(HISTORY_CAPACITY);
+  private final AtomicLong activityCount = new AtomicLong();
+  private long runId;
+  private long queuedNanos;
+  private long startedNanos;
+  private volatile long runNanos;
+  private volatile AdaptiveConcurrencyController concurrencyController;
+  private volatile Recurrence recurrence;
+  private volatile OverlapPolicy overlapPolicy;
+  private volatile ProgressDispatcher.Ticker recurrenceTicker;
+  private volatile boolean runPending;
+  private volatile long runCount;
+  private volatile long skippedRunCount;
+  private volatile long lastRunNanos;
+  private volatile long maxRunNanos;
+  private volatile long totalRunNanos;
 
   /**
-   * Starts the task. Only call this once for a ProgressWorker object.
+   * How the runs of a recurring worker are scheduled.
+   */
+  public enum Recurrence {
+    /**
+     * Runs are due at a fixed rate, measured from the start of the first run.
+     */
+    FIXED_RATE,
+    /**
+     * Each run is due a fixed delay after the previous run ended.
+     */
+    FIXED_DELAY
+  }
+
+  /**
+   * What to do when a fixed rate run is due while the previous run is still running.
+   */
+  public enum OverlapPolicy {
+    /**
+     * Skip the due run.
+     */
+    SKIP,
+    /**
+     * Start one run as soon as the previous run ends, skipping any further due runs.
+     */
+    COALESCE
+  }
+
+  /**
+   * Create a worker notified on the swing thread.
+   */
+  protected ProgressWorker() {
+    this(new EdtProgressDispatcher());
+  }
+
+  /**
+   * Create a worker running on the threads of a dispatcher. Use {@link ConsoleProgressDispatcher} or
+   * {@link SilentProgressDispatcher} to run the task without swing, for example in a batch job.
+   *
+   * @param dispatcher Dispatcher running the task and the notifications
+   */
+  protected ProgressWorker(ProgressDispatcher dispatcher) {
+    this.dispatcher = dispatcher;
+  }
+
+  /**
+   * Starts the task. Only call this once for a ProgressWorker object, or use {@link #startRecurring}.
    */
   public void start() {
+    runOnce();
+  }
+
+  /**
+   * Starts the task now and then again periodically until {@link #stopRecurring()} is called, for example to
+   * refresh a dashboard. The update timer and progress state are reused between runs, and
+   * {@link #notifyTaskEnded} is called after each run. Only call this once. With {@link EdtProgressDispatcher},
+   * call it from the swing thread. With other dispatchers it may be called from any thread, since the runs are
+   * scheduled on the dispatch thread of the dispatcher, which the caller cannot run on.<p>
+   *
+   * A {@link #cancelTask()} before the first run cancels that run. Each following run starts uncancelled.
+   *
+   * @param periodMillis  Period, or delay between runs for {@link Recurrence#FIXED_DELAY}
+   * @param recurrence    How runs are scheduled
+   * @param overlapPolicy What to do when a run is due while the previous run is still running. Runs never
+   *                      overlap with {@link Recurrence#FIXED_DELAY}.
+   */
+  public void startRecurring(int periodMillis, Recurrence recurrence, OverlapPolicy overlapPolicy) {
+    this.recurrence = recurrence;
+    this.overlapPolicy = overlapPolicy;
+    RecurrenceAction action = new RecurrenceAction();
+    action.ticker = dispatcher.schedule(action, periodMillis);
+    recurrenceTicker = action.ticker;
+    runOnce();
+  }
+
+  /**
+   * Stops starting new runs. A run in progress completes normally, use {@link #cancelTask()} to interrupt it.
+   * The ticker is stopped on the dispatch thread at its next tick. Call it from the same kind of thread as
+   * {@link #startRecurring}.
+   */
+  public void stopRecurring() {
+    recurrenceTicker = null;
+    recurrence = null;
+    runPending = false;
+    if (!isRunning && updateProgressTicker != null) {
+      updateProgressTicker = null;
+    }
+  }
+
+  public final boolean isRecurring() {
+    return recurrence != null;
+  }
+
+  private class RecurrenceAction implements Runnable {
+    private volatile ProgressDispatcher.Ticker ticker;
+
+    @Override
+    public void run() {
+      ProgressDispatcher.Ticker ticker = this.ticker;
+      if (ticker != null) {
+        recurrenceDue(ticker);
+      }
+    }
+  }
+
+  private void recurrenceDue(ProgressDispatcher.Ticker ticker) {
+    if (ticker != recurrenceTicker) {
+      // Stopped, possibly after a completion restarted the ticker
+      ticker.stop();
+      return;
+    }
+    if (recurrence == Recurrence.FIXED_DELAY) {
+      // Restarted when the run ends
+      ticker.stop();
+      if (isRunning) {
+        return;
+      }
+    }
+    if (!isRunning) {
+      runAgain();
+    } else if (overlapPolicy == OverlapPolicy.COALESCE && !runPending) {
+      runPending = true;
+    } else {
+      ++skippedRunCount;
+    }
+  }
+
+  private void runAgain() {
+    // A cancel only applies to the run it was made in
+    isCancelled = false;
+    runOnce();
+  }
+
+  private void runOnce() {
     isRunning = true;
-    SwingWorker worker = new SwingWorker() {
+    runId = ProgressEvents.nextRunId();
+    queuedNanos = System.nanoTime();
+    if (ProgressEvents.isEnabled()) {
+      emitEvent(ProgressEvent.Type.TASK_QUEUED, queuedNanos, 0, 0, false);
+    }
+
+    if (updateProgressTicker != null) {
+      updateProgressTicker.restart();
+    } else {
+      updateProgressTicker = dispatcher.schedule(new Runnable() {
+        @Override
+        public void run() {
+          long t = EdtMetrics.begin();
+          try {
+            recordHistory();
+            updateProgress();
+          } finally {
+            EdtMetrics.end(ProgressWorker.this.getClass(), t);
+          }
+        }
+      }, UPDATE_PROGRESS_INTERVAL);
+    }
+
+    final AdaptiveConcurrencyController controller = concurrencyController;
+    final Runnable task = new Runnable() {
       @Override
-      protected Object doInBackground() throws Exception {
+      public void run() {
+        startedNanos = System.nanoTime();
         try {
+          if (controller != null) {
+            controller.attach();
+          }
+          if (ProgressEvents.isEnabled()) {
+            emitEvent(ProgressEvent.Type.TASK_STARTED, startedNanos, startedNanos - queuedNanos, 0, false);
+          }
           runTask();
-          return this;
         } catch (Throwable t) {
           setProgressText("Unexpected exception: " + t.getMessage());
           logger.error("Unexpected exception when executing progress task: ", t);
-          return null;
+        } finally {
+          if (controller != null) {
+            controller.release();
+          }
         }
+        runNanos = System.nanoTime() - startedNanos;
       }
-
+    };
+    final Runnable completion = new Runnable() {
       @Override
-      protected void done() {
-        updateProgressTimer.stop();
+      public void run() {
+        updateProgressTicker.stop();
+        if (recurrence == null) {
+          updateProgressTicker = null;
+        }
         isRunning = false;
+        recordRun(runNanos);
         setProgressValue(0);
         updateProgress();
-        notifyTaskEnded(isCancelled() || isCancelled);
+        if (ProgressEvents.isEnabled()) {
+          long now = System.nanoTime();
+          emitEvent(ProgressEvent.Type.TASK_ENDED, now, now - startedNanos, 0, isCancelled);
+        }
+        notifyTaskEnded(isCancelled);
+        SlicedEdtJob completionJob = createCompletionJob(isCancelled);
+        if (completionJob != null) {
+          completionJob.start();
+        }
+        ProgressDispatcher.Ticker ticker = recurrenceTicker;
+        if (ticker == null) {
+          return;
+        }
+        if (recurrence == Recurrence.FIXED_DELAY) {
+          ticker.restart();
+        } else if (runPending && recurrence != null) {
+          runPending = false;
+          runAgain();
+        }
       }
     };
+    if (controller != null) {
+      // Wait for the slot before taking a dispatcher thread
+      controller.acquireLater(new Runnable() {
+        @Override
+        public void run() {
+          dispatcher.execute(task, completion);
+        }
+      });
+    } else {
+      dispatcher.execute(task, completion);
+    }
+  }
 
-    updateProgressTimer = new Timer(UPDATE_PROGRESS_INTERVAL, new ActionListener() {
-      @Override
-      public void actionPerformed(ActionEvent evt) {
-        updateProgress();
-      }
-    });
-    updateProgressTimer.start();
+  private void recordRun(long nanos) {
+    lastRunNanos = nanos;
+    maxRunNanos = Math.max(maxRunNanos, nanos);
+    totalRunNanos += nanos;
+    ++runCount;
+  }
+
+  /**
+   * @return Number of completed runs
+   */
+  public final long getRunCount() {
+    return runCount;
+  }
+
+  /**
+   * @return Number of recurring runs not started because the previous run was still running
+   */
+  public final long getSkippedRunCount() {
+    return skippedRunCount;
+  }
+
+  /**
+   * @return Duration of the last completed run in msec
+   */
+  public final long getLastRunMillis() {
+    return lastRunNanos / 1000000;
+  }
+
+  /**
+   * @return Duration of the longest completed run in msec
+   */
+  public final long getMaxRunMillis() {
+    return maxRunNanos / 1000000;
+  }
+
+  /**
+   * @return Mean duration of the completed runs in msec
+   */
+  public final long getMeanRunMillis() {
+    long n = runCount;
+    return n == 0 ? 0 : totalRunNanos / n / 1000000;
+  }
 
-    worker.execute();
+  /**
+   * Let a controller decide when the task may start. Must be called before starting. The task can call
+   * {@link AdaptiveConcurrencyController#yieldIfThrottled()} to give up its slot under pressure.
+   *
+   * @param controller Controller shared between workers, or null to start at once
+   */
+  public final void setConcurrencyController(AdaptiveConcurrencyController controller) {
+    concurrencyController = controller;
   }
 
   public void cancelTask() {
@@ -110,21 +368,54 @@ public abstract class ProgressWorker {
     return isCancelled;
   }
 
-  private void updateProgress() {
+  void updateProgress() {
+    long dispatchStart = ProgressEvents.isEnabled() ? System.nanoTime() : 0;
     float value;
     String text;
     synchronized (this) {
       value = currentValue;
       text = currentText;
     }
+    boolean changed = false;
     if (value != lastValue) {
       notifyProgressValueChanged(value);
       lastValue = value;
+      changed = true;
     }
     if (lastText == null || !text.equals(lastText)) {
       notifyProgressTextChanged(text);
       lastText = text;
+      changed = true;
+    }
+    if (changed) {
+      dispatcher.progressChanged(value, text);
+    }
+    if (dispatchStart != 0) {
+      long now = System.nanoTime();
+      emitEvent(ProgressEvent.Type.PROGRESS_DISPATCHED, now, now - dispatchStart, value, false);
+    }
+  }
+
+  private void recordHistory() {
+    float value;
+    synchronized (this) {
+      value = currentValue;
     }
+    progressHistory.record(System.currentTimeMillis(), value, activityCount.get());
+  }
+
+  /**
+   * Get the progress samples recorded by the update timer, one per 100 ms for the last minute.
+   *
+   * @return Progress history
+   */
+  public final ProgressHistory getProgressHistory() {
+    return progressHistory;
+  }
+
+  private void emitEvent(ProgressEvent.Type type, long timestampNanos, long durationNanos, float value,
+                         boolean cancelled) {
+    ProgressEvents.emit(type, getClass(), runId, null, timestampNanos, durationNanos, value, cancelled);
   }
 
   /**
@@ -138,12 +429,25 @@ public abstract class ProgressWorker {
   protected abstract void notifyProgressTextChanged(String text);
 
   /**
-   * Called when lengthy task is finished or interrupted. This method is called from the swing thread.
+   * Called when lengthy task is finished or interrupted. This method is called from the swing thread,
+   * or the dispatch thread of the dispatcher given at construction.
    *
    * @param cancelled true if task was cancelled
    */
   protected abstract void notifyTaskEnded(boolean cancelled);
 
+  /**
+   * Create a job delivering the result of the task to the swing thread in slices, for results too large to
+   * deliver in {@link #notifyTaskEnded}. Called after notifyTaskEnded. The job always runs on the swing thread,
+   * so only override this when the worker has a user interface. The default implementation returns null.
+   *
+   * @param cancelled true if task was cancelled
+   * @return Job to start, or null
+   */
+  protected SlicedEdtJob createCompletionJob(boolean cancelled) {
+    return null;
+  }
+
   public final boolean isRunning() {
     return isRunning;
   }
@@ -186,6 +490,7 @@ public abstract class ProgressWorker {
 
       @Override
       public void activityReport(int count) {
+        activityCount.addAndGet(count);
       }
     };
   }
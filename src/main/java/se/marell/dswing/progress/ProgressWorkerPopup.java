@@ -27,12 +27,16 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import se.marell.dcommons.progress.ProgressTracker;
 import se.marell.dcommons.time.PassiveTimer;
+import se.marell.dswing.monitor.EdtMetrics;
 
 import javax.swing.*;
 import javax.swing.border.EmptyBorder;
 import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
+import java.io.IOException;
+import java.lang.ref.WeakReference;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * This class provides support for threading a task with a progress bar in a popup dialog.<p>
@@ -58,9 +62,10 @@ import java.awt.event.ActionListener;
  */
 public abstract class ProgressWorkerPopup {
     private static final int PROGRESS_DIALOG_STEPS = 100;
+    private static final int HISTORY_CAPACITY = 600;
 
     private Logger logger = LoggerFactory.getLogger(ProgressWorkerPopup.class);
-    private Window owner;
+    private final WeakReference<Window> ownerRef;
     private String title;
     private int progressUpdatePeriod;
     private boolean interrupted;
@@ -68,13 +73,28 @@ public abstract class ProgressWorkerPopup {
     private int dialogDelay;
     private boolean useCancelButton;
 
-    private float progressValue;
+    private volatile float progressValue;
     private Timer timer;
     private JDialog progressDialog;
     private JProgressBar progressBar;
+    private LeanProgressBar leanProgressBar;
+    private SparklineComponent sparkline;
+    private final ProgressHistory progressHistory = new ProgressHistory(HISTORY_CAPACITY);
+    private final AtomicLong activityCount = new AtomicLong();
     private PassiveTimer delayTimer;
     private boolean useProgressDialog;
     private boolean isRunning;
+    private volatile String progressText;
+    private MultiTaskProgressDialog sharedProgressDialog;
+    private MultiTaskProgressDialog.Task sharedTask;
+    private ProgressDialogPool dialogPool;
+    private ProgressDialogPool.PooledDialog pooledDialog;
+    private CheckpointJournal checkpointJournal;
+    private volatile CheckpointJournal.Checkpoint resumeCheckpoint;
+    private volatile AdaptiveConcurrencyController concurrencyController;
+    private long runId;
+    private long queuedNanos;
+    private long startedNanos;
 
     /**
      * @param owner                Owning window
@@ -88,7 +108,7 @@ public abstract class ProgressWorkerPopup {
     protected ProgressWorkerPopup(Window owner, String title,
                                   int progressUpdatePeriod, boolean disableOwner,
                                   int dialogDelay, boolean useCancelButton, boolean useProgressDialog) {
-        this.owner = owner;
+        this.ownerRef = new WeakReference<Window>(owner);
         this.title = title;
         this.progressUpdatePeriod = progressUpdatePeriod;
         this.disableOwner = disableOwner;
@@ -103,37 +123,83 @@ public abstract class ProgressWorkerPopup {
     public final void start() {
         isRunning = true;
         interrupted = false;
+        runId = ProgressEvents.nextRunId();
+        queuedNanos = System.nanoTime();
+        if (checkpointJournal != null) {
+            resumeCheckpoint = checkpointJournal.getLastCheckpoint();
+            if (resumeCheckpoint != null) {
+                progressValue = resumeCheckpoint.getProgressValue();
+            }
+        }
+        if (ProgressEvents.isEnabled()) {
+            emitEvent(ProgressEvent.Type.TASK_QUEUED, queuedNanos, 0, 0, false);
+        }
+        Window owner = getWindowOwner();
         if (owner != null && disableOwner) {
             owner.setEnabled(false);
         }
 
+        final AdaptiveConcurrencyController controller = concurrencyController;
         final SwingWorker worker = new SwingWorker() {
             @Override
             public Object doInBackground() {
+                startedNanos = System.nanoTime();
                 try {
+                    if (controller != null) {
+                        controller.attach();
+                    }
+                    if (ProgressEvents.isEnabled()) {
+                        emitEvent(ProgressEvent.Type.TASK_STARTED, startedNanos, startedNanos - queuedNanos, 0, false);
+                    }
                     runTask();
-                    return this;
                 } catch (Throwable t) {
                     setProgressText("Unexpected exception: " + t.getMessage());
                     logger.error("Unexpected exception when executing progress task: " + title, t);
                     return null;
+                } finally {
+                    if (controller != null) {
+                        controller.release();
+                    }
+                }
+                if (checkpointJournal != null && !interrupted) {
+                    clearCheckpoints();
                 }
+                return this;
             }
 
             @Override
             public void done() {
                 isRunning = false;
-                if (progressDialog != null) {
+                if (pooledDialog != null) {
+                    dialogPool.release(pooledDialog);
+                    pooledDialog = null;
+                    progressDialog = null;
+                    progressBar = null;
+                } else if (progressDialog != null) {
                     progressDialog.dispose();
                 }
+                if (sharedTask != null) {
+                    sharedProgressDialog.removeTask(sharedTask);
+                    sharedTask = null;
+                }
 
+                Window owner = getWindowOwner();
                 if (owner != null && disableOwner) {
                     owner.setEnabled(true);
                     owner.requestFocus();
                 }
 
                 timer.stop();
+                if (ProgressEvents.isEnabled()) {
+                    long now = System.nanoTime();
+                    emitEvent(ProgressEvent.Type.TASK_ENDED, now, now - startedNanos, 0, interrupted);
+                }
                 notifyTaskEnded(interrupted);
+                SlicedEdtJob completionJob = createCompletionJob(interrupted);
+                if (completionJob != null) {
+                    completionJob.start();
+                }
+                releaseResources();
             }
         };
 
@@ -141,41 +207,127 @@ public abstract class ProgressWorkerPopup {
         timer = new Timer(progressUpdatePeriod, new ActionListener() {
             @Override
             public void actionPerformed(ActionEvent evt) {
-                updateProgressDialog();
+                long t = EdtMetrics.begin();
+                try {
+                    long dispatchStart = ProgressEvents.isEnabled() ? System.nanoTime() : 0;
+                    progressHistory.record(System.currentTimeMillis(), getProgressValue(), activityCount.get());
+                    updateProgressDialog();
+                    if (sparkline != null) {
+                        sparkline.update();
+                    }
+                    if (dispatchStart != 0) {
+                        long now = System.nanoTime();
+                        emitEvent(ProgressEvent.Type.PROGRESS_DISPATCHED, now, now - dispatchStart, getProgressValue(),
+                                false);
+                    }
+                } finally {
+                    EdtMetrics.end(ProgressWorkerPopup.this.getClass(), t);
+                }
             }
         });
 
         updateProgressDialog();
         timer.start();
-        worker.execute();
+        if (controller != null) {
+            // Wait for the slot before taking a thread of the shared SwingWorker pool
+            controller.acquireLater(new Runnable() {
+                @Override
+                public void run() {
+                    worker.execute();
+                }
+            });
+        } else {
+            worker.execute();
+        }
     }
 
     protected void updateProgressDialog() {
         if (useProgressDialog) {
-            if (progressDialog == null && delayTimer.hasExpired()) {
-                createProgressDialog();
+            if (progressDialog == null && sharedTask == null && delayTimer != null && delayTimer.hasExpired()) {
+                if (sharedProgressDialog != null) {
+                    addSharedTask();
+                } else {
+                    createProgressDialog();
+                }
             }
         }
 
+        if (sharedTask != null) {
+            sharedProgressDialog.updateTask(sharedTask, getProgressValue(), progressText);
+        }
         if (progressBar != null) {
             progressBar.setValue((int) (getProgressValue() * PROGRESS_DIALOG_STEPS));
         }
+        if (leanProgressBar != null) {
+            leanProgressBar.setValue(getProgressValue());
+        }
     }
 
     private void createProgressDialog() {
-        progressDialog = new JDialog(owner, title);
+        Window owner = getWindowOwner();
+        if (dialogPool != null && dialogPool.getOwner() == owner) {
+            pooledDialog = dialogPool.acquire(title, useCancelButton, new Runnable() {
+                @Override
+                public void run() {
+                    interruptTask();
+                }
+            }, getProgressDialogMinimumSize());
+            progressDialog = pooledDialog.getDialog();
+            setProgressBar(pooledDialog.getProgressBar());
+        } else {
+            progressDialog = new JDialog(owner, title);
 
-        createProgressBar();
+            createProgressBar();
 
-        progressDialog.getContentPane().add(createDialogPanel());
-        progressDialog.setMinimumSize(getProgressDialogMinimumSize());
-        progressDialog.pack();
+            progressDialog.getContentPane().add(createDialogPanel());
+            progressDialog.setMinimumSize(getProgressDialogMinimumSize());
+            progressDialog.pack();
 
-        if (owner != null) {
-            progressDialog.setLocationRelativeTo(owner);
+            if (owner != null) {
+                progressDialog.setLocationRelativeTo(owner);
+            }
         }
 
         progressDialog.setVisible(true);
+        if (ProgressEvents.isEnabled()) {
+            long now = System.nanoTime();
+            emitEvent(ProgressEvent.Type.DIALOG_SHOWN, now, now - queuedNanos - dialogDelay * 1000000L, 0, false);
+        }
+    }
+
+    /**
+     * Drop the references to the dialog, its components and the timers when the task has ended, so a finished
+     * popup still referenced from somewhere, for example a lingering listener, does not keep them alive.
+     */
+    private void releaseResources() {
+        progressDialog = null;
+        progressBar = null;
+        leanProgressBar = null;
+        sparkline = null;
+        timer = null;
+        delayTimer = null;
+    }
+
+    private void addSharedTask() {
+        Runnable cancelAction = null;
+        if (useCancelButton) {
+            cancelAction = new Runnable() {
+                @Override
+                public void run() {
+                    interruptTask();
+                }
+            };
+        }
+        sharedTask = sharedProgressDialog.addTask(title, cancelAction);
+        if (ProgressEvents.isEnabled()) {
+            long now = System.nanoTime();
+            emitEvent(ProgressEvent.Type.DIALOG_SHOWN, now, now - queuedNanos - dialogDelay * 1000000L, 0, false);
+        }
+    }
+
+    private void emitEvent(ProgressEvent.Type type, long timestampNanos, long durationNanos, float value,
+                           boolean cancelled) {
+        ProgressEvents.emit(type, getClass(), runId, title, timestampNanos, durationNanos, value, cancelled);
     }
 
     protected Dimension getProgressDialogMinimumSize() {
@@ -184,7 +336,8 @@ public abstract class ProgressWorkerPopup {
 
     /**
      * Create the progress bar object. Sub classes can override to return a customized version.
-     * Call @see #setProgressBar(JProgressBar) before returning if a progress bar should be used.
+     * Call @see #setProgressBar(JProgressBar) before returning if a progress bar should be used,
+     * or @see #setLeanProgressBar(LeanProgressBar) for a bar with cheaper updates.
      */
     protected void createProgressBar() {
         JProgressBar pbar = new JProgressBar(0, PROGRESS_DIALOG_STEPS);
@@ -195,14 +348,18 @@ public abstract class ProgressWorkerPopup {
 
     /**
      * Sub classes override this to provide their own progress dialog content.
-     * Default it contains the progress bar and a cancel button (if parameter useCancelButton is true).
+     * Default it contains the progress bar, a sparkline of the throughput and a cancel button (if parameter
+     * useCancelButton is true).
      *
      * @return Panel
      */
     protected JPanel createDialogPanel() {
         JPanel p = new JPanel(new BorderLayout());
         p.setBorder(new EmptyBorder(5, 5, 5, 5));
-        p.add(getProgressBar(), BorderLayout.NORTH);
+        p.add(getProgressBar() != null ? getProgressBar() : getLeanProgressBar(), BorderLayout.NORTH);
+        sparkline = new SparklineComponent(progressHistory);
+        sparkline.setBorder(new EmptyBorder(5, 0, 0, 0));
+        p.add(sparkline, BorderLayout.CENTER);
 
         if (useCancelButton) {
             final JButton cancelButton = new JButton("Cancel");
@@ -233,6 +390,18 @@ public abstract class ProgressWorkerPopup {
      */
     protected abstract void notifyTaskEnded(boolean cancelled);
 
+    /**
+     * Create a job delivering the result of the task to the user interface in slices, for results too large
+     * to deliver in {@link #notifyTaskEnded}. Called from the swing thread after notifyTaskEnded, when the
+     * progress dialog is closed. The default implementation returns null.
+     *
+     * @param cancelled True is task was cancelled
+     * @return Job to start, or null
+     */
+    protected SlicedEdtJob createCompletionJob(boolean cancelled) {
+        return null;
+    }
+
     /**
      * Return the current progress value - a value counting from 0 to 1.
      * Override this in sub classes if you don't want to use the @see #setProgressValue(float) method
@@ -255,11 +424,35 @@ public abstract class ProgressWorkerPopup {
     }
 
     /**
-     * Set progress text.
+     * Set progress text. The text is shown in the row of a shared progress dialog, the default progress dialog
+     * does not show it.
      *
      * @param text A text describing the current step in the running task
      */
     protected void setProgressText(String text) {
+        progressText = text;
+    }
+
+    /**
+     * Show the progress as a row in a shared progress window instead of in a dialog of its own.
+     * Must be called before {@link #start()}. The dialog delay still applies, and the row has a cancel control
+     * if parameter useCancelButton is true.
+     *
+     * @param dialog Shared progress window
+     */
+    public final void setSharedProgressDialog(MultiTaskProgressDialog dialog) {
+        sharedProgressDialog = dialog;
+    }
+
+    /**
+     * Let a controller decide when the task may start. Must be called before {@link #start()}. The progress
+     * dialog shows while the task waits. The task can call {@link AdaptiveConcurrencyController#yieldIfThrottled()}
+     * to give up its slot under pressure.
+     *
+     * @param controller Controller shared between workers, or null to start at once
+     */
+    public final void setConcurrencyController(AdaptiveConcurrencyController controller) {
+        concurrencyController = controller;
     }
 
     /**
@@ -271,6 +464,25 @@ public abstract class ProgressWorkerPopup {
         progressBar = p;
     }
 
+    /**
+     * Set a lean progress bar to use instead of a JProgressBar. It shows the progress value at full
+     * resolution and only repaints the changed part.
+     *
+     * @param p Progress bar
+     */
+    protected final void setLeanProgressBar(LeanProgressBar p) {
+        leanProgressBar = p;
+    }
+
+    /**
+     * Get the lean progress bar, for use by subclasses when composing their own progress dialogs
+     *
+     * @return Progress bar object, or null if a JProgressBar is used
+     */
+    protected final LeanProgressBar getLeanProgressBar() {
+        return leanProgressBar;
+    }
+
     /**
      * Get the progress bar, for use by subclasses when composing their own progress dialogs
      *
@@ -280,6 +492,15 @@ public abstract class ProgressWorkerPopup {
         return progressBar;
     }
 
+    /**
+     * Get the progress samples recorded by the update timer, one per update period. Holds 600 samples.
+     *
+     * @return Progress history
+     */
+    public final ProgressHistory getProgressHistory() {
+        return progressHistory;
+    }
+
     /**
      * Check if lengthy task were interrupted. This method should be checked by the lengthy task implementation
      *
@@ -297,8 +518,75 @@ public abstract class ProgressWorkerPopup {
         interrupted = true;
     }
 
+    /**
+     * Take the progress dialog from a pool of pre-built dialogs instead of building it when the dialog delay
+     * expires. The pool is only used if it belongs to the owner window of this popup, and the pooled dialog has
+     * the default content, so createProgressBar and createDialogPanel are not called. Must be called before
+     * {@link #start()}.
+     *
+     * @param pool Dialog pool
+     */
+    public final void setProgressDialogPool(ProgressDialogPool pool) {
+        dialogPool = pool;
+    }
+
+    /**
+     * Make the task resumable. When started, the last checkpoint in the journal is made available through
+     * {@link #getResumeState()} and the progress value is restored from it. The task calls
+     * {@link #checkpoint(byte[])} to save its state. The journal is cleared when the task completes without
+     * being cancelled; after a cancel or a failure the next start resumes. Must be called before {@link #start()}.
+     *
+     * @param journal Checkpoint journal, owned and closed by the caller
+     */
+    public final void setCheckpointJournal(CheckpointJournal journal) {
+        checkpointJournal = journal;
+    }
+
+    /**
+     * Get the state of the last checkpoint, for the task to continue from it.
+     *
+     * @return State saved by {@link #checkpoint(byte[])}, or null if the task starts from the beginning
+     */
+    protected final byte[] getResumeState() {
+        CheckpointJournal.Checkpoint c = resumeCheckpoint;
+        return c == null ? null : c.getState();
+    }
+
+    /**
+     * Save the state of the task together with the progress value set with {@link #setProgressValue(float)}.
+     * Called from the task. A failure to write the checkpoint is logged, the task continues.
+     *
+     * @param state State needed to continue the task from this point
+     * @return true if the checkpoint was written
+     */
+    protected final boolean checkpoint(byte[] state) {
+        if (checkpointJournal == null) {
+            return false;
+        }
+        try {
+            checkpointJournal.append(progressValue, state);
+            return true;
+        } catch (IOException e) {
+            logger.warn("Failed to write checkpoint of progress task: " + title, e);
+            return false;
+        }
+    }
+
+    /**
+     * Remove the checkpoints of a completed task. The task has completed even if this fails, so a failure is only
+     * logged; the next start then resumes from the last checkpoint.
+     */
+    private void clearCheckpoints() {
+        try {
+            checkpointJournal.clear();
+        } catch (IOException e) {
+            logger.warn("Failed to clear checkpoints of completed progress task: " + title, e);
+        }
+    }
+
     /**
      * Enables sub classes to set the visibility of the progress dialog there is one.
+     * Has no effect when a shared progress dialog is used.
      *
      * @param visible true if dialog should be visible
      */
@@ -308,8 +596,13 @@ public abstract class ProgressWorkerPopup {
         }
     }
 
+    /**
+     * The owner is only weakly referenced, so a popup does not keep a closed window alive.
+     *
+     * @return Owning window, or null if there is none or it has been garbage collected
+     */
     protected Window getWindowOwner() {
-        return owner;
+        return ownerRef.get();
     }
 
     /**
@@ -340,6 +633,7 @@ public abstract class ProgressWorkerPopup {
 
             @Override
             public void activityReport(int count) {
+                activityCount.addAndGet(count);
             }
         };
     }
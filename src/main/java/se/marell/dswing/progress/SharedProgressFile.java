@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2026 Daniel Marell
+ * All rights reserved.
+ *
+ * Permission is hereby granted, free  of charge, to any person obtaining
+ * a  copy  of this  software  and  associated  documentation files  (the
+ * "Software"), to  deal in  the Software without  restriction, including
+ * without limitation  the rights to  use, copy, modify,  merge, publish,
+ * distribute,  sublicense, and/or sell  copies of  the Software,  and to
+ * permit persons to whom the Software  is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The  above  copyright  notice  and  this permission  notice  shall  be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE  SOFTWARE IS  PROVIDED  "AS  IS", WITHOUT  WARRANTY  OF ANY  KIND,
+ * EXPRESS OR  IMPLIED, INCLUDING  BUT NOT LIMITED  TO THE  WARRANTIES OF
+ * MERCHANTABILITY,    FITNESS    FOR    A   PARTICULAR    PURPOSE    AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE,  ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package se.marell.dswing.progress;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * Layout of a progress record in a memory-mapped file, shared between a task running in another process and the
+ * application showing its progress. The task writes with {@link SharedProgressWriter}, or any program following
+ * this layout, and the application reads with {@link SharedProgressReader}.<p>
+ *
+ * The record is {@link #SIZE} bytes, big endian:
+ * <pre>
+ * offset  size  field
+ *  0       4    magic 0x44535046
+ *  4       4    version, 1
+ *  8       8    sequence, odd while the writer updates the record
+ * 16       4    progress value, float between 0.0 and 1.0
+ * 20       4    state, see STATE_*
+ * 24       8    activity counter
+ * 32       8    heartbeat, msec since epoch of the last write
+ * 40       4    cancel flag, set to 1 by the reader to request the task to stop
+ * 44       4    text version, incremented when the text changes
+ * 48       4    text length in bytes
+ * 52     256    text, UTF-8
+ * </pre>
+ *
+ * A writer increments the sequence before and after each update. A reader retries while the sequence is odd or
+ * changed during its read. The cancel flag is only written by the reader and is outside the sequence.<p>
+ *
+ * The sequence only works if the accesses to the record stay in program order. Java 7 has no fences for mapped
+ * memory, so the reader and writer separate the sequence accesses from the record accesses with {@link #fence()},
+ * a volatile write followed by a volatile read, which HotSpot compiles to a full fence. The writer also fences
+ * before publishing the magic, and the reader after checking it, so a reader never sees a half initialized file.
+ * The Java memory model does not cover memory shared with other processes, so this relies on the JVM and the CPU.
+ * A writer in another language must use full fences at the same points, for example
+ * {@code atomic_thread_fence(memory_order_seq_cst)} in C.
+ */
+public final class SharedProgressFile {
+    public static final int MAGIC = 0x44535046;
+    public static final int VERSION = 1;
+
+    public static final int OFFSET_MAGIC = 0;
+    public static final int OFFSET_VERSION = 4;
+    public static final int OFFSET_SEQUENCE = 8;
+    public static final int OFFSET_VALUE = 16;
+    public static final int OFFSET_STATE = 20;
+    public static final int OFFSET_ACTIVITY = 24;
+    public static final int OFFSET_HEARTBEAT = 32;
+    public static final int OFFSET_CANCEL = 40;
+    public static final int OFFSET_TEXT_VERSION = 44;
+    public static final int OFFSET_TEXT_LENGTH = 48;
+    public static final int OFFSET_TEXT = 52;
+    public static final int TEXT_CAPACITY = 256;
+    public static final int SIZE = OFFSET_TEXT + TEXT_CAPACITY;
+
+    public static final int STATE_RUNNING = 0;
+    public static final int STATE_COMPLETED = 1;
+    public static final int STATE_FAILED = 2;
+
+    private static volatile int barrier;
+
+    private SharedProgressFile() {
+    }
+
+    /**
+     * Keep the record accesses before the call before the record accesses after it. A volatile write orders the
+     * accesses before it, and a following volatile read orders the accesses after it.
+     *
+     * @return Always 0, returned so the read is kept
+     */
+    static int fence() {
+        barrier = 0;
+        return barrier;
+    }
+
+    static MappedByteBuffer map(File file, boolean create) throws IOException {
+        RandomAccessFile raf = new RandomAccessFile(file, "rw");
+        try {
+            if (create) {
+                raf.setLength(SIZE);
+            } else if (raf.length() < SIZE) {
+                throw new IOException("Not a shared progress file: " + file);
+            }
+            MappedByteBuffer buffer = raf.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, SIZE);
+            buffer.order(ByteOrder.BIG_ENDIAN);
+            return buffer;
+        } finally {
+            // The mapping stays valid after the file is closed
+            raf.close();
+        }
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) 2026 Daniel Marell
+ * All rights reserved.
+ *
+ * Permission is hereby granted, free  of charge, to any person obtaining
+ * a  copy  of this  software  and  associated  documentation files  (the
+ * "Software"), to  deal in  the Software without  restriction, including
+ * without limitation  the rights to  use, copy, modify,  merge, publish,
+ * distribute,  sublicense, and/or sell  copies of  the Software,  and to
+ * permit persons to whom the Software  is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The  above  copyright  notice  and  this permission  notice  shall  be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE  SOFTWARE IS  PROVIDED  "AS  IS", WITHOUT  WARRANTY  OF ANY  KIND,
+ * EXPRESS OR  IMPLIED, INCLUDING  BUT NOT LIMITED  TO THE  WARRANTIES OF
+ * MERCHANTABILITY,    FITNESS    FOR    A   PARTICULAR    PURPOSE    AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE,  ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package se.marell.dswing.progress;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.charset.Charset;
+
+/**
+ * Reads a {@link SharedProgressFile} written by a task in another process. {@link #read()} reads the record
+ * directly from the mapped memory into this object; the text is only decoded when its version changed.
+ * Not thread safe, use from one thread.
+ */
+public class SharedProgressReader {
+    private static final Charset UTF8 = Charset.forName("UTF-8");
+    private static final int MAX_RETRIES = 100;
+
+    private final MappedByteBuffer buffer;
+    private final byte[] textBytes = new byte[SharedProgressFile.TEXT_CAPACITY];
+    private float progressValue;
+    private int state;
+    private long activityCount;
+    private long heartbeatMillis;
+    private int textVersion;
+    private String text;
+
+    /**
+     * @param file Shared progress file created by the writer
+     * @throws IOException if the file could not be mapped or is not a shared progress file
+     */
+    public SharedProgressReader(File file) throws IOException {
+        buffer = SharedProgressFile.map(file, false);
+        if (buffer.getInt(SharedProgressFile.OFFSET_MAGIC) != SharedProgressFile.MAGIC) {
+            throw new IOException("Not a shared progress file: " + file);
+        }
+        SharedProgressFile.fence();
+        if (buffer.getInt(SharedProgressFile.OFFSET_VERSION) != SharedProgressFile.VERSION) {
+            throw new IOException("Unsupported shared progress file version: " + file);
+        }
+    }
+
+    /**
+     * Read a consistent snapshot of the record.
+     *
+     * @return false if the writer kept updating the record and no consistent snapshot was read
+     */
+    public boolean read() {
+        for (int i = 0; i < MAX_RETRIES; ++i) {
+            long sequence = buffer.getLong(SharedProgressFile.OFFSET_SEQUENCE);
+            if ((sequence & 1) != 0) {
+                Thread.yield();
+                continue;
+            }
+            SharedProgressFile.fence();
+            float value = buffer.getFloat(SharedProgressFile.OFFSET_VALUE);
+            int st = buffer.getInt(SharedProgressFile.OFFSET_STATE);
+            long activity = buffer.getLong(SharedProgressFile.OFFSET_ACTIVITY);
+            long heartbeat = buffer.getLong(SharedProgressFile.OFFSET_HEARTBEAT);
+            int version = buffer.getInt(SharedProgressFile.OFFSET_TEXT_VERSION);
+            int length = 0;
+            if (version != textVersion) {
+                length = Math.max(0, Math.min(SharedProgressFile.TEXT_CAPACITY,
+                        buffer.getInt(SharedProgressFile.OFFSET_TEXT_LENGTH)));
+                for (int j = 0; j < length; ++j) {
+                    textBytes[j] = buffer.get(SharedProgressFile.OFFSET_TEXT + j);
+                }
+            }
+            SharedProgressFile.fence();
+            if (buffer.getLong(SharedProgressFile.OFFSET_SEQUENCE) != sequence) {
+                continue;
+            }
+            progressValue = value;
+            state = st;
+            activityCount = activity;
+            heartbeatMillis = heartbeat;
+            if (version != textVersion) {
+                textVersion = version;
+                text = new String(textBytes, 0, length, UTF8);
+            }
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Ask the task to stop. The task sees the request through its writer.
+     */
+    public void requestCancel() {
+        buffer.putInt(SharedProgressFile.OFFSET_CANCEL, 1);
+    }
+
+    public float getProgressValue() {
+        return progressValue;
+    }
+
+    /**
+     * @return One of the SharedProgressFile.STATE_* values
+     */
+    public int getState() {
+        return state;
+    }
+
+    public long getActivityCount() {
+        return activityCount;
+    }
+
+    public long getHeartbeatMillis() {
+        return heartbeatMillis;
+    }
+
+    /**
+     * @return Progress text, or null if the task has not set any
+     */
+    public String getText() {
+        return text;
+    }
+}
@@ -0,0 +1,154 @@
+/*
+ * Copyright (c) 2026 Daniel Marell
+ * All rights reserved.
+ *
+ * Permission is hereby granted, free  of charge, to any person obtaining
+ * a  copy  of this  software  and  associated  documentation files  (the
+ * "Software"), to  deal in  the Software without  restriction, including
+ * without limitation  the rights to  use, copy, modify,  merge, publish,
+ * distribute,  sublicense, and/or sell  copies of  the Software,  and to
+ * permit persons to whom the Software  is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The  above  copyright  notice  and  this permission  notice  shall  be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE  SOFTWARE IS  PROVIDED  "AS  IS", WITHOUT  WARRANTY  OF ANY  KIND,
+ * EXPRESS OR  IMPLIED, INCLUDING  BUT NOT LIMITED  TO THE  WARRANTIES OF
+ * MERCHANTABILITY,    FITNESS    FOR    A   PARTICULAR    PURPOSE    AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE,  ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package se.marell.dswing.progress;
+
+import se.marell.dcommons.progress.ProgressTracker;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.charset.Charset;
+
+/**
+ * Writes the progress of a task running in a child process to a {@link SharedProgressFile}. Pass it to the task
+ * as its ProgressTracker. The parent application mirrors the file with an {@link ExternalProgressWorker} and
+ * requests cancellation through it, which the task sees in {@link #isCancelled()}.<p>
+ *
+ * Every update also writes the heartbeat. A task with long silent phases should call {@link #heartbeat()} so
+ * the parent does not consider it lost. Call {@link #complete(boolean)} when the task has ended.
+ */
+public class SharedProgressWriter implements ProgressTracker {
+    private static final Charset UTF8 = Charset.forName("UTF-8");
+
+    private final MappedByteBuffer buffer;
+    private long sequence;
+    private long activity;
+    private int textVersion;
+    private String text;
+
+    /**
+     * Create or overwrite the shared progress file.
+     *
+     * @param file File, typically given to the child process on its command line
+     * @throws IOException if the file could not be created or mapped
+     */
+    public SharedProgressWriter(File file) throws IOException {
+        buffer = SharedProgressFile.map(file, true);
+        for (int i = 0; i < SharedProgressFile.SIZE; ++i) {
+            buffer.put(i, (byte) 0);
+        }
+        buffer.putInt(SharedProgressFile.OFFSET_VERSION, SharedProgressFile.VERSION);
+        buffer.putLong(SharedProgressFile.OFFSET_HEARTBEAT, System.currentTimeMillis());
+        // A reader seeing the magic must see the cleared record
+        SharedProgressFile.fence();
+        buffer.putInt(SharedProgressFile.OFFSET_MAGIC, SharedProgressFile.MAGIC);
+    }
+
+    @Override
+    public boolean isCancelled() {
+        return buffer.getInt(SharedProgressFile.OFFSET_CANCEL) != 0;
+    }
+
+    @Override
+    public synchronized void setTotalProgress(float value) {
+        begin();
+        buffer.putFloat(SharedProgressFile.OFFSET_VALUE, value);
+        end();
+    }
+
+    @Override
+    public synchronized void setProgressLabel(String text) {
+        if (text == null ? this.text == null : text.equals(this.text)) {
+            return;
+        }
+        this.text = text;
+        byte[] bytes = encode(text);
+        begin();
+        for (int i = 0; i < bytes.length; ++i) {
+            buffer.put(SharedProgressFile.OFFSET_TEXT + i, bytes[i]);
+        }
+        buffer.putInt(SharedProgressFile.OFFSET_TEXT_LENGTH, bytes.length);
+        buffer.putInt(SharedProgressFile.OFFSET_TEXT_VERSION, ++textVersion);
+        end();
+    }
+
+    @Override
+    public synchronized void activityReport(int count) {
+        activity += count;
+        begin();
+        buffer.putLong(SharedProgressFile.OFFSET_ACTIVITY, activity);
+        end();
+    }
+
+    /**
+     * Tell the reader the task is alive without changing the progress.
+     */
+    public synchronized void heartbeat() {
+        begin();
+        end();
+    }
+
+    /**
+     * Mark the task as ended and force the record to disk.
+     *
+     * @param success true if the task completed, false if it failed or was cancelled
+     */
+    public synchronized void complete(boolean success) {
+        begin();
+        buffer.putInt(SharedProgressFile.OFFSET_STATE,
+                success ? SharedProgressFile.STATE_COMPLETED : SharedProgressFile.STATE_FAILED);
+        end();
+        buffer.force();
+    }
+
+    private void begin() {
+        buffer.putLong(SharedProgressFile.OFFSET_SEQUENCE, ++sequence);
+        SharedProgressFile.fence();
+    }
+
+    private void end() {
+        buffer.putLong(SharedProgressFile.OFFSET_HEARTBEAT, System.currentTimeMillis());
+        SharedProgressFile.fence();
+        buffer.putLong(SharedProgressFile.OFFSET_SEQUENCE, ++sequence);
+    }
+
+    /**
+     * Encode a text, cutting it at a character boundary to fit the text slot.
+     */
+    private static byte[] encode(String text) {
+        if (text == null) {
+            return new byte[0];
+        }
+        byte[] bytes = text.getBytes(UTF8);
+        int end = text.length();
+        while (bytes.length > SharedProgressFile.TEXT_CAPACITY) {
+            end = Math.min(end - 1, end * SharedProgressFile.TEXT_CAPACITY / bytes.length);
+            if (end > 0 && Character.isHighSurrogate(text.charAt(end - 1))) {
+                --end;
+            }
+            bytes = text.substring(0, end).getBytes(UTF8);
+        }
+        return bytes;
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2026 Daniel Marell
+ * All rights reserved.
+ *
+ * Permission is hereby granted, free  of charge, to any person obtaining
+ * a  copy  of this  software  and  associated  documentation files  (the
+ * "Software"), to  deal in  the Software without  restriction, including
+ * without limitation  the rights to  use, copy, modify,  merge, publish,
+ * distribute,  sublicense, and/or sell  copies of  the Software,  and to
+ * permit persons to whom the Software  is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The  above  copyright  notice  and  this permission  notice  shall  be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE  SOFTWARE IS  PROVIDED  "AS  IS", WITHOUT  WARRANTY  OF ANY  KIND,
+ * EXPRESS OR  IMPLIED, INCLUDING  BUT NOT LIMITED  TO THE  WARRANTIES OF
+ * MERCHANTABILITY,    FITNESS    FOR    A   PARTICULAR    PURPOSE    AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE,  ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package se.marell.dswing.progress;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Dispatcher for batch runs without any progress feedback. Each task runs in a new thread. Progress sampling
+ * and completions run on one daemon dispatch thread per dispatcher, so a dispatcher can be shared by all tasks
+ * of a batch job. The worker is notified of progress, but the dispatcher shows nothing. No swing or AWT classes
+ * are loaded and no AWT threads are started.<p>
+ *
+ * The task thread waits for the completion to finish, so a batch job exits only after all workers have been
+ * notified that their tasks ended.
+ */
+public class SilentProgressDispatcher implements ProgressDispatcher {
+    private final ScheduledThreadPoolExecutor dispatchThread;
+
+    public SilentProgressDispatcher() {
+        dispatchThread = new ScheduledThreadPoolExecutor(1, new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable r) {
+                Thread t = new Thread(r, "ProgressDispatcher");
+                t.setDaemon(true);
+                return t;
+            }
+        });
+        // Stopped tickers must not keep their workers reachable until their next due time
+        dispatchThread.setRemoveOnCancelPolicy(true);
+    }
+
+    @Override
+    public void execute(final Runnable task, final Runnable completion) {
+        Thread t = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    task.run();
+                } finally {
+                    try {
+                        dispatchThread.submit(completion).get();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    } catch (ExecutionException e) {
+                        throw new IllegalStateException("Progress task completion failed", e.getCause());
+                    }
+                }
+            }
+        }, "ProgressWorker");
+        t.start();
+    }
+
+    @Override
+    public Ticker schedule(final Runnable action, final int periodMillis) {
+        return new Ticker() {
+            private ScheduledFuture<?> future = start();
+
+            private ScheduledFuture<?> start() {
+                return dispatchThread.scheduleAtFixedRate(action, periodMillis, periodMillis, TimeUnit.MILLISECONDS);
+            }
+
+            @Override
+            public void stop() {
+                if (future != null) {
+                    future.cancel(false);
+                    future = null;
+                }
+            }
+
+            @Override
+            public void restart() {
+                stop();
+                future = start();
+            }
+        };
+    }
+
+    @Override
+    public void progressChanged(float value, String text) {
+    }
+}
@@ -0,0 +1,259 @@
+/*
+ * Copyright (c) 2026 Daniel Marell
+ * All rights reserved.
+ *
+ * Permission is hereby granted, free  of charge, to any person obtaining
+ * a  copy  of this  software  and  associated  documentation files  (the
+ * "Software"), to  deal in  the Software without  restriction, including
+ * without limitation  the rights to  use, copy, modify,  merge, publish,
+ * distribute,  sublicense, and/or sell  copies of  the Software,  and to
+ * permit persons to whom the Software  is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The  above  copyright  notice  and  this permission  notice  shall  be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE  SOFTWARE IS  PROVIDED  "AS  IS", WITHOUT  WARRANTY  OF ANY  KIND,
+ * EXPRESS OR  IMPLIED, INCLUDING  BUT NOT LIMITED  TO THE  WARRANTIES OF
+ * MERCHANTABILITY,    FITNESS    FOR    A   PARTICULAR    PURPOSE    AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE,  ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package se.marell.dswing.progress;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import se.marell.dswing.monitor.EdtMetrics;
+
+import java.awt.*;
+import java.awt.event.KeyEvent;
+import java.awt.event.MouseEvent;
+import java.util.Iterator;
+
+/**
+ * Runs a large job on the swing thread in slices, so that the user interface stays responsive. Each slice runs
+ * chunks until its time budget is used or input events are waiting, and then posts the next slice at the end of
+ * the event queue. Use it for filling models with many rows or building big component trees after a background
+ * task, see {@code createCompletionJob} in {@link ProgressWorker} and {@link ProgressWorkerPopup}.<p>
+ *
+ * Usage example:
+ *
+ * <pre><code>
+ * new SlicedEdtJob() {
+ *   int row;
+ *
+ *   {@literal @}Override
+ *   protected boolean runChunk() {
+ *     model.addRow(rows.get(row++));
+ *     return row == rows.size();
+ *   }
+ * }.start();
+ * </code></pre>
+ */
+public abstract class SlicedEdtJob implements Runnable {
+    /**
+     * Default time budget of a slice, half a frame at 60 Hz.
+     */
+    public static final int DEFAULT_BUDGET_MILLIS = 8;
+
+    /**
+     * Minimum time between checks for pending input, each check locks the event queue several times.
+     */
+    private static final long INPUT_CHECK_INTERVAL_NANOS = 1000000;
+
+    private final Logger logger = LoggerFactory.getLogger(SlicedEdtJob.class);
+    private final long budgetNanos;
+    private boolean started;
+    private boolean done;
+    private boolean cancelled;
+    private long startNanos;
+    private long endNanos;
+    private long workNanos;
+    private long longestSliceNanos;
+    private long sliceCount;
+    private long chunkCount;
+
+    /**
+     * Handles one item of a {@link #forEach} job.
+     *
+     * @param <T> Item type
+     */
+    public interface ItemHandler<T> {
+        void handle(T item);
+    }
+
+    protected SlicedEdtJob() {
+        this(DEFAULT_BUDGET_MILLIS);
+    }
+
+    /**
+     * @param budgetMillis Time budget of a slice in msec
+     */
+    protected SlicedEdtJob(int budgetMillis) {
+        budgetNanos = budgetMillis * 1000000L;
+    }
+
+    /**
+     * Create a job handling one item per chunk.
+     *
+     * @param items   Items to handle
+     * @param handler Handler called on the swing thread for each item
+     * @param <T>     Item type
+     * @return Job, not started
+     */
+    public static <T> SlicedEdtJob forEach(Iterable<T> items, final ItemHandler<T> handler) {
+        final Iterator<T> it = items.iterator();
+        return new SlicedEdtJob() {
+            @Override
+            protected boolean runChunk() {
+                if (it.hasNext()) {
+                    handler.handle(it.next());
+                }
+                return !it.hasNext();
+            }
+        };
+    }
+
+    /**
+     * Run one chunk of the job on the swing thread. Keep chunks well below the budget.
+     *
+     * @return true when the job is finished
+     */
+    protected abstract boolean runChunk();
+
+    /**
+     * Called on the swing thread after the last chunk, or after the job was cancelled.
+     *
+     * @param cancelled true if the job was cancelled
+     */
+    protected void jobEnded(boolean cancelled) {
+    }
+
+    /**
+     * Post the first slice on the swing thread. May be called from any thread, only once.
+     */
+    public final void start() {
+        EventQueue.invokeLater(this);
+    }
+
+    /**
+     * Stop before the next chunk. Must be called from the swing thread.
+     */
+    public final void cancel() {
+        if (started && !done) {
+            cancelled = true;
+        }
+    }
+
+    /**
+     * Run one slice. Called from the event queue.
+     */
+    @Override
+    public final void run() {
+        if (done) {
+            return;
+        }
+        long sliceStart = EdtMetrics.begin();
+        boolean finished = cancelled;
+        try {
+            long t0 = System.nanoTime();
+            if (!started) {
+                started = true;
+                startNanos = t0;
+            }
+            EventQueue queue = Toolkit.getDefaultToolkit().getSystemEventQueue();
+            long elapsed = 0;
+            long nextInputCheck = 0;
+            while (!finished) {
+                finished = runChunk() || cancelled;
+                ++chunkCount;
+                elapsed = System.nanoTime() - t0;
+                if (elapsed >= budgetNanos) {
+                    break;
+                }
+                if (elapsed >= nextInputCheck) {
+                    if (isInputPending(queue)) {
+                        break;
+                    }
+                    nextInputCheck = elapsed + INPUT_CHECK_INTERVAL_NANOS;
+                }
+            }
+            ++sliceCount;
+            workNanos += elapsed;
+            longestSliceNanos = Math.max(longestSliceNanos, elapsed);
+        } finally {
+            EdtMetrics.end(getClass(), sliceStart);
+        }
+        if (finished) {
+            done = true;
+            endNanos = System.nanoTime();
+            logger.debug("{}", this);
+            jobEnded(cancelled);
+        } else {
+            EventQueue.invokeLater(this);
+        }
+    }
+
+    /**
+     * Only input ends a slice early. Other events, like the repaints caused by the chunks, wait for the next slice.
+     * Peeking only at the head of the queue would miss input queued behind those repaints.
+     */
+    private static boolean isInputPending(EventQueue queue) {
+        for (int id = MouseEvent.MOUSE_FIRST; id <= MouseEvent.MOUSE_LAST; ++id) {
+            if (queue.peekEvent(id) != null) {
+                return true;
+            }
+        }
+        for (int id = KeyEvent.KEY_FIRST; id <= KeyEvent.KEY_LAST; ++id) {
+            if (queue.peekEvent(id) != null) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public final boolean isDone() {
+        return done;
+    }
+
+    public final boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * @return msec from the start of the first slice to the end of the last, including the time between slices
+     */
+    public final long getTotalMillis() {
+        return ((done ? endNanos : System.nanoTime()) - startNanos) / 1000000;
+    }
+
+    /**
+     * @return msec spent in slices
+     */
+    public final long getWorkMillis() {
+        return workNanos / 1000000;
+    }
+
+    /**
+     * @return usec of the longest slice
+     */
+    public final long getLongestSliceMicros() {
+        return longestSliceNanos / 1000;
+    }
+
+    public final long getSliceCount() {
+        return sliceCount;
+    }
+
+    public final long getChunkCount() {
+        return chunkCount;
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getName() + " chunks=" + chunkCount + " slices=" + sliceCount + " total=" +
+                getTotalMillis() + "ms work=" + getWorkMillis() + "ms longestSlice=" + getLongestSliceMicros() + "us";
+    }
+}
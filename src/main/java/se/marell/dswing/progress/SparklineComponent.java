@@ -0,0 +1,187 @@
+/*
+ * Copyright (c) 2026 Daniel Marell
+ * All rights reserved.
+ *
+ * Permission is hereby granted, free  of charge, to any person obtaining
+ * a  copy  of this  software  and  associated  documentation files  (the
+ * "Software"), to  deal in  the Software without  restriction, including
+ * without limitation  the rights to  use, copy, modify,  merge, publish,
+ * distribute,  sublicense, and/or sell  copies of  the Software,  and to
+ * permit persons to whom the Software  is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The  above  copyright  notice  and  this permission  notice  shall  be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE  SOFTWARE IS  PROVIDED  "AS  IS", WITHOUT  WARRANTY  OF ANY  KIND,
+ * EXPRESS OR  IMPLIED, INCLUDING  BUT NOT LIMITED  TO THE  WARRANTIES OF
+ * MERCHANTABILITY,    FITNESS    FOR    A   PARTICULAR    PURPOSE    AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE,  ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package se.marell.dswing.progress;
+
+import se.marell.dswing.monitor.EdtMetrics;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+
+/**
+ * A small chart of the throughput of a task over time, one pixel column per sample of a {@link ProgressHistory},
+ * newest to the right. Shows whether a task is speeding up or stalling.<p>
+ *
+ * The chart is kept in an image. {@link #update()} shifts the image left by the number of new samples and only
+ * draws the new columns. The whole image is only redrawn when the component is resized or a new sample exceeds
+ * the scale, which then doubles.
+ */
+public class SparklineComponent extends JComponent {
+    /**
+     * The rate shown.
+     */
+    public enum Mode {
+        /**
+         * Progress value per second
+         */
+        PROGRESS_RATE,
+        /**
+         * Activity count per second
+         */
+        ACTIVITY_RATE
+    }
+
+    private final ProgressHistory history;
+    private Mode mode = Mode.PROGRESS_RATE;
+    private BufferedImage image;
+    private Graphics2D imageGraphics;
+    private long drawnRecordCount;
+    private float scale;
+
+    /**
+     * @param history History to show
+     */
+    public SparklineComponent(ProgressHistory history) {
+        this.history = history;
+        setPreferredSize(new Dimension(200, 30));
+        setForeground(new Color(0x5a, 0x8b, 0xc8));
+        setBackground(Color.WHITE);
+        setOpaque(true);
+    }
+
+    public void setMode(Mode mode) {
+        this.mode = mode;
+        scale = 0;
+        drawnRecordCount = 0;
+        repaint();
+    }
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    /**
+     * Draw the samples recorded since the last update. Call from the swing thread after recording samples.
+     */
+    public void update() {
+        if (image == null || drawnRecordCount == 0) {
+            repaint();
+            return;
+        }
+        long recordCount = history.getRecordCount();
+        int n = (int) Math.min(recordCount - drawnRecordCount, image.getWidth());
+        if (n <= 0) {
+            return;
+        }
+        int size = history.getSize();
+        int w = image.getWidth();
+        int h = image.getHeight();
+        for (int i = size - n; i < size; ++i) {
+            if (i > 0 && getRate(i) > scale) {
+                drawnRecordCount = 0;
+                repaint();
+                return;
+            }
+        }
+        imageGraphics.copyArea(n, 0, w - n, h, -n, 0);
+        drawColumns(w - n, size - n, n);
+        drawnRecordCount = recordCount;
+        repaint();
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        long t = EdtMetrics.begin();
+        try {
+            Insets insets = getInsets();
+            int w = getWidth() - insets.left - insets.right;
+            int h = getHeight() - insets.top - insets.bottom;
+            if (isOpaque()) {
+                g.setColor(getBackground());
+                g.fillRect(0, 0, getWidth(), getHeight());
+            }
+            if (w > 0 && h > 0) {
+                if (image == null || image.getWidth() != w || image.getHeight() != h) {
+                    createChartImage(w, h);
+                }
+                if (drawnRecordCount == 0 || drawnRecordCount != history.getRecordCount()) {
+                    redraw();
+                }
+                g.drawImage(image, insets.left, insets.top, null);
+            }
+        } finally {
+            EdtMetrics.end(getClass(), t);
+        }
+    }
+
+    private void createChartImage(int w, int h) {
+        if (imageGraphics != null) {
+            imageGraphics.dispose();
+        }
+        GraphicsConfiguration gc = getGraphicsConfiguration();
+        image = gc != null ? gc.createCompatibleImage(w, h) : new BufferedImage(w, h, BufferedImage.TYPE_INT_RGB);
+        imageGraphics = image.createGraphics();
+        drawnRecordCount = 0;
+    }
+
+    private void redraw() {
+        int size = history.getSize();
+        int w = image.getWidth();
+        int n = Math.min(size, w);
+        float max = 0;
+        for (int i = Math.max(1, size - n); i < size; ++i) {
+            max = Math.max(max, getRate(i));
+        }
+        if (max > scale) {
+            scale = max * 2;
+        }
+        imageGraphics.setColor(getBackground());
+        imageGraphics.fillRect(0, 0, w, image.getHeight());
+        drawColumns(w - n, size - n, n);
+        drawnRecordCount = history.getRecordCount();
+    }
+
+    /**
+     * Draw n samples starting at sample index first into the columns starting at x.
+     */
+    private void drawColumns(int x, int first, int n) {
+        int h = image.getHeight();
+        imageGraphics.setColor(getBackground());
+        imageGraphics.fillRect(x, 0, n, h);
+        imageGraphics.setColor(getForeground());
+        for (int i = 0; i < n; ++i) {
+            int index = first + i;
+            if (index > 0 && scale > 0) {
+                int barHeight = Math.round(getRate(index) / scale * (h - 1));
+                if (barHeight > 0) {
+                    imageGraphics.fillRect(x + i, h - barHeight, 1, barHeight);
+                }
+            }
+        }
+    }
+
+    private float getRate(int index) {
+        return mode == Mode.PROGRESS_RATE ? history.getProgressRate(index) : history.getActivityRate(index);
+    }
+}
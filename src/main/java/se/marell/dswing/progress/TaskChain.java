@@ -0,0 +1,195 @@
+/*
+ * Copyright (c) 2026 Daniel Marell
+ * All rights reserved.
+ *
+ * Permission is hereby granted, free  of charge, to any person obtaining
+ * a  copy  of this  software  and  associated  documentation files  (the
+ * "Software"), to  deal in  the Software without  restriction, including
+ * without limitation  the rights to  use, copy, modify,  merge, publish,
+ * distribute,  sublicense, and/or sell  copies of  the Software,  and to
+ * permit persons to whom the Software  is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The  above  copyright  notice  and  this permission  notice  shall  be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE  SOFTWARE IS  PROVIDED  "AS  IS", WITHOUT  WARRANTY  OF ANY  KIND,
+ * EXPRESS OR  IMPLIED, INCLUDING  BUT NOT LIMITED  TO THE  WARRANTIES OF
+ * MERCHANTABILITY,    FITNESS    FOR    A   PARTICULAR    PURPOSE    AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE,  ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package se.marell.dswing.progress;
+
+import se.marell.dcommons.progress.ProgressTracker;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+
+/**
+ * A chain of typed steps run one after another on the same background thread, each step getting the result of
+ * the previous one. The progress of a step is mapped to its share of the whole chain by weight, so one progress
+ * indicator runs continuously from 0 to 1 over all steps, and no step hops to the swing thread. Run it with a
+ * {@link ChainProgressWorker} or {@link ChainWorkerPopup}.<p>
+ *
+ * A chain is immutable, {@link #then} returns a new chain.<p>
+ *
+ * Usage example:
+ *
+ * <pre><code>
+ * TaskChain&lt;Model&gt; chain = TaskChain.first("Downloading", 3, new TaskChain.Step&lt;Void, byte[]&gt;() {
+ *   {@literal @}Override
+ *   public byte[] run(Void input, ProgressTracker tracker) throws Exception {
+ *     return download(url, tracker);
+ *   }
+ * }).then("Parsing", 1, new TaskChain.Step&lt;byte[], Model&gt;() {
+ *   {@literal @}Override
+ *   public Model run(byte[] data, ProgressTracker tracker) throws Exception {
+ *     return parse(data, tracker);
+ *   }
+ * });
+ * </code></pre>
+ *
+ * @param <T> Result type of the last step
+ */
+public final class TaskChain<T> {
+    private final List<Link> links;
+
+    /**
+     * One step of a chain. Runs on the background thread.
+     *
+     * @param <I> Input type, the result of the previous step
+     * @param <O> Result type
+     */
+    public interface Step<I, O> {
+        /**
+         * @param input   Result of the previous step, null for the first step
+         * @param tracker Tracker for the progress of this step, from 0 to 1
+         * @return Result passed to the next step
+         * @throws Exception If the step fails, ending the chain
+         */
+        O run(I input, ProgressTracker tracker) throws Exception;
+    }
+
+    private static class Link {
+        private final String label;
+        private final float weight;
+        private final Step<Object, Object> step;
+
+        @SuppressWarnings("unchecked")
+        Link(String label, float weight, Step<?, ?> step) {
+            if (weight <= 0) {
+                throw new IllegalArgumentException("Step weight must be positive: " + label);
+            }
+            this.label = label;
+            this.weight = weight;
+            this.step = (Step<Object, Object>) step;
+        }
+    }
+
+    private TaskChain(List<Link> links) {
+        this.links = links;
+    }
+
+    /**
+     * Create a chain with one step.
+     *
+     * @param label  Progress label while the step runs
+     * @param weight Relative duration of the step
+     * @param step   Step
+     * @param <T>    Result type of the step
+     * @return Chain
+     */
+    public static <T> TaskChain<T> first(String label, float weight, Step<Void, T> step) {
+        return new TaskChain<T>(Collections.singletonList(new Link(label, weight, step)));
+    }
+
+    /**
+     * Create a chain with a step added last.
+     *
+     * @param label  Progress label while the step runs
+     * @param weight Relative duration of the step
+     * @param step   Step getting the result of this chain
+     * @param <R>    Result type of the step
+     * @return New chain
+     */
+    public <R> TaskChain<R> then(String label, float weight, Step<? super T, R> step) {
+        List<Link> l = new ArrayList<Link>(links);
+        l.add(new Link(label, weight, step));
+        return new TaskChain<R>(Collections.unmodifiableList(l));
+    }
+
+    /**
+     * Run all steps on the calling thread.
+     *
+     * @param tracker Tracker for the progress of the whole chain
+     * @return Result of the last step
+     * @throws CancellationException If the tracker was cancelled before a step started
+     * @throws Exception             Exception thrown by a step
+     */
+    @SuppressWarnings("unchecked")
+    public T run(ProgressTracker tracker) throws Exception {
+        float totalWeight = 0;
+        for (Link link : links) {
+            totalWeight += link.weight;
+        }
+        Object value = null;
+        float done = 0;
+        for (Link link : links) {
+            if (tracker.isCancelled()) {
+                throw new CancellationException("Cancelled before " + link.label);
+            }
+            tracker.setProgressLabel(link.label);
+            value = link.step.run(value, new StepTracker(tracker, done / totalWeight, link.weight / totalWeight));
+            done += link.weight;
+            tracker.setTotalProgress(done / totalWeight);
+        }
+        return (T) value;
+    }
+
+    /**
+     * @return Number of steps
+     */
+    public int size() {
+        return links.size();
+    }
+
+    /**
+     * Maps the progress of a step to its share of the chain.
+     */
+    private static class StepTracker implements ProgressTracker {
+        private final ProgressTracker tracker;
+        private final float offset;
+        private final float share;
+
+        StepTracker(ProgressTracker tracker, float offset, float share) {
+            this.tracker = tracker;
+            this.offset = offset;
+            this.share = share;
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return tracker.isCancelled();
+        }
+
+        @Override
+        public void setTotalProgress(float value) {
+            tracker.setTotalProgress(offset + Math.max(0, Math.min(1, value)) * share);
+        }
+
+        @Override
+        public void setProgressLabel(String text) {
+            tracker.setProgressLabel(text);
+        }
+
+        @Override
+        public void activityReport(int count) {
+            tracker.activityReport(count);
+        }
+    }
+}
@@ -0,0 +1,646 @@
+/*
+ * Copyright (c) 2026 Daniel Marell
+ * All rights reserved.
+ *
+ * Permission is hereby granted, free  of charge, to any person obtaining
+ * a  copy  of this  software  and  associated  documentation files  (the
+ * "Software"), to  deal in  the Software without  restriction, including
+ * without limitation  the rights to  use, copy, modify,  merge, publish,
+ * distribute,  sublicense, and/or sell  copies of  the Software,  and to
+ * permit persons to whom the Software  is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The  above  copyright  notice  and  this permission  notice  shall  be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE  SOFTWARE IS  PROVIDED  "AS  IS", WITHOUT  WARRANTY  OF ANY  KIND,
+ * EXPRESS OR  IMPLIED, INCLUDING  BUT NOT LIMITED  TO THE  WARRANTIES OF
+ * MERCHANTABILITY,    FITNESS    FOR    A   PARTICULAR    PURPOSE    AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE,  ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package se.marell.dswing.util;
+
+import java.awt.*;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A layout manager accepting the same constraints as {@link GridBagLayout}, for example created with
+ * {@link GridBagConstraintsSetter}, but caching the column and row metrics between layouts.<p>
+ *
+ * GridBagLayout recomputes all column and row sizes on every layout and size request. This layout
+ * keeps the cached metrics as long as no child changes. When the container is invalidated, the
+ * preferred and minimum size of each child is compared with the cached size, and only the columns
+ * and rows of changed children are recomputed. Resizing a large form therefore only redistributes
+ * the extra space.<p>
+ *
+ * Supported constraints: gridx/gridy, gridwidth/gridheight, weightx/weighty, anchor, fill, insets and
+ * ipadx/ipady. Differences from GridBagLayout:
+ * <ul>
+ * <li>RELATIVE gridx/gridy are resolved like GridBagLayout does, in the order the components were added, but
+ * only when a component is added, removed or gets new constraints instead of on every layout.</li>
+ * <li>RELATIVE gridwidth/gridheight span one cell, REMAINDER spans to the last column/row.</li>
+ * <li>Baseline anchors are laid out as their centered counterparts.</li>
+ * <li>Invisible components keep their cells but get zero size and weight.</li>
+ * </ul>
+ *
+ * The layout does not lock the AWT tree lock, so forms which are not displayed can be laid out in
+ * parallel from different threads.
+ */
+public class CachedGridBagLayout implements LayoutManager2 {
+    private static final int PREFERRED = 0;
+    private static final int MINIMUM = 1;
+    private static final int X = 0;
+    private static final int Y = 1;
+
+    private final Map<Component, Cell> cells = new LinkedHashMap<Component, Cell>();
+    private final Map<Component, GridBagConstraints> pendingConstraints = new HashMap<Component, GridBagConstraints>();
+    private final GridBagConstraints defaultConstraints = new GridBagConstraints();
+    private final Axis[] axes = {new Axis(), new Axis()};
+    private final Map<Integer, Integer> nextRowInColumn = new HashMap<Integer, Integer>();
+    private final Map<Integer, Integer> nextColumnInRow = new HashMap<Integer, Integer>();
+    private int currentRow = -1;
+    private int currentColumn = -1;
+
+    private boolean structureValid;
+    private boolean sizesValid;
+    private int layoutMode = -1;
+    private int layoutWidth = -1;
+    private int layoutHeight = -1;
+
+    /**
+     * Set the constraints of a component. The constraints are copied.
+     *
+     * @param comp        The component
+     * @param constraints The constraints
+     */
+    public void setConstraints(Component comp, GridBagConstraints constraints) {
+        if (cells.containsKey(comp)) {
+            cells.put(comp, new Cell(comp, constraints));
+            resolvePositions();
+        } else {
+            pendingConstraints.put(comp, (GridBagConstraints) constraints.clone());
+        }
+    }
+
+    /**
+     * Get a copy of the constraints of a component.
+     *
+     * @param comp The component
+     * @return Copy of constraints, with relative positions resolved
+     */
+    public GridBagConstraints getConstraints(Component comp) {
+        Cell cell = cells.get(comp);
+        if (cell == null) {
+            GridBagConstraints c = pendingConstraints.get(comp);
+            return (GridBagConstraints) (c != null ? c : defaultConstraints).clone();
+        }
+        return cell.toConstraints();
+    }
+
+    @Override
+    public void addLayoutComponent(Component comp, Object constraints) {
+        if (constraints != null && !(constraints instanceof GridBagConstraints)) {
+            throw new IllegalArgumentException("cannot add to layout: constraints must be a GridBagConstraint");
+        }
+        GridBagConstraints c = (GridBagConstraints) constraints;
+        if (c == null) {
+            c = pendingConstraints.remove(comp);
+        }
+        cells.put(comp, new Cell(comp, c != null ? c : defaultConstraints));
+        structureValid = false;
+    }
+
+    @Override
+    public void addLayoutComponent(String name, Component comp) {
+        addLayoutComponent(comp, null);
+    }
+
+    @Override
+    public void removeLayoutComponent(Component comp) {
+        if (cells.remove(comp) != null) {
+            resolvePositions();
+        }
+        pendingConstraints.remove(comp);
+    }
+
+    @Override
+    public void invalidateLayout(Container target) {
+        sizesValid = false;
+    }
+
+    @Override
+    public Dimension preferredLayoutSize(Container parent) {
+        return layoutSize(parent, PREFERRED);
+    }
+
+    @Override
+    public Dimension minimumLayoutSize(Container parent) {
+        return layoutSize(parent, MINIMUM);
+    }
+
+    @Override
+    public Dimension maximumLayoutSize(Container target) {
+        return new Dimension(Integer.MAX_VALUE, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public float getLayoutAlignmentX(Container target) {
+        return 0.5f;
+    }
+
+    @Override
+    public float getLayoutAlignmentY(Container target) {
+        return 0.5f;
+    }
+
+    private Dimension layoutSize(Container parent, int mode) {
+        validateMetrics();
+        Insets insets = parent.getInsets();
+        return new Dimension(axes[X].total[mode] + insets.left + insets.right,
+                axes[Y].total[mode] + insets.top + insets.bottom);
+    }
+
+    @Override
+    public void layoutContainer(Container parent) {
+        validateMetrics();
+        Insets insets = parent.getInsets();
+        int width = parent.getWidth() - insets.left - insets.right;
+        int height = parent.getHeight() - insets.top - insets.bottom;
+        int mode = width < axes[X].total[PREFERRED] || height < axes[Y].total[PREFERRED] ? MINIMUM : PREFERRED;
+        if (mode != layoutMode || width != layoutWidth || height != layoutHeight) {
+            axes[X].computePositions(mode, width, insets.left);
+            axes[Y].computePositions(mode, height, insets.top);
+            layoutMode = mode;
+            layoutWidth = width;
+            layoutHeight = height;
+        }
+
+        boolean leftToRight = parent.getComponentOrientation().isLeftToRight();
+        Rectangle r = new Rectangle();
+        for (Cell cell : cells.values()) {
+            if (!cell.visible) {
+                continue;
+            }
+            int[] xs = axes[X].positions;
+            int[] ys = axes[Y].positions;
+            int endX = cell.start[X] + cell.span[X];
+            int endY = cell.start[Y] + cell.span[Y];
+            // Mirror inside the insets, measuring from the right inset like GridBagLayout
+            int x = leftToRight ? xs[cell.start[X]] : parent.getWidth() - insets.right - (xs[endX] - insets.left);
+            r.setBounds(x, ys[cell.start[Y]], xs[endX] - xs[cell.start[X]], ys[endY] - ys[cell.start[Y]]);
+            cell.adjustForGravity(r, mode, leftToRight);
+            if (r.x < 0) {
+                r.width += r.x;
+                r.x = 0;
+            }
+            if (r.y < 0) {
+                r.height += r.y;
+                r.y = 0;
+            }
+            if (r.width <= 0 || r.height <= 0) {
+                cell.comp.setBounds(0, 0, 0, 0);
+            } else {
+                cell.comp.setBounds(r.x, r.y, r.width, r.height);
+            }
+        }
+    }
+
+    private void validateMetrics() {
+        if (!structureValid) {
+            rebuildStructure();
+            structureValid = true;
+            sizesValid = false;
+        }
+        if (!sizesValid) {
+            for (Cell cell : cells.values()) {
+                if (cell.refreshSize()) {
+                    for (int a = X; a <= Y; ++a) {
+                        if (cell.span[a] == 1) {
+                            axes[a].dirty.set(cell.start[a]);
+                        }
+                    }
+                }
+            }
+            for (Axis axis : axes) {
+                axis.recompute();
+            }
+            sizesValid = true;
+            layoutMode = -1;
+        }
+    }
+
+    private void rebuildStructure() {
+        for (int a = X; a <= Y; ++a) {
+            int count = 0;
+            for (Cell cell : cells.values()) {
+                count = Math.max(count, cell.start[a] + (cell.remainder[a] ? 1 : cell.requestedSpan[a]));
+            }
+            List<Cell> spanning = new ArrayList<Cell>();
+            List<List<Cell>> singles = new ArrayList<List<Cell>>(count);
+            for (int i = 0; i < count; ++i) {
+                singles.add(new ArrayList<Cell>());
+            }
+            for (Cell cell : cells.values()) {
+                cell.span[a] = cell.remainder[a] ? count - cell.start[a] : cell.requestedSpan[a];
+                if (cell.span[a] == 1) {
+                    singles.get(cell.start[a]).add(cell);
+                } else {
+                    spanning.add(cell);
+                }
+            }
+            final int axis = a;
+            Collections.sort(spanning, new Comparator<Cell>() {
+                @Override
+                public int compare(Cell c1, Cell c2) {
+                    return c1.span[axis] - c2.span[axis];
+                }
+            });
+            axes[a].reset(a, count, singles, spanning);
+        }
+        for (Cell cell : cells.values()) {
+            cell.refreshSize();
+        }
+    }
+
+    /**
+     * Resolve the relative positions of all components again in the order they were added, as GridBagLayout
+     * does when a component is removed or its constraints changed.
+     */
+    private void resolvePositions() {
+        nextRowInColumn.clear();
+        nextColumnInRow.clear();
+        currentRow = -1;
+        currentColumn = -1;
+        for (Map.Entry<Component, Cell> e : cells.entrySet()) {
+            e.setValue(new Cell(e.getKey(), e.getValue().constraints));
+        }
+        structureValid = false;
+    }
+
+    /**
+     * Resolve relative positions the same way as GridBagLayout, but once when the component is added.
+     */
+    private void resolvePosition(GridBagConstraints c, int[] start, int width, int height) {
+        int x = c.gridx;
+        int y = c.gridy;
+        if (x < 0 && y < 0) {
+            if (currentRow >= 0) {
+                y = currentRow;
+            } else if (currentColumn >= 0) {
+                x = currentColumn;
+            } else {
+                y = 0;
+            }
+        }
+        if (x < 0) {
+            int px = 0;
+            for (int row = y; row < y + height; ++row) {
+                px = Math.max(px, get(nextColumnInRow, row));
+            }
+            x = Math.max(0, px - c.gridx - 1);
+        } else if (y < 0) {
+            int py = 0;
+            for (int column = x; column < x + width; ++column) {
+                py = Math.max(py, get(nextRowInColumn, column));
+            }
+            y = Math.max(0, py - c.gridy - 1);
+        }
+
+        for (int column = x; column < x + width; ++column) {
+            nextRowInColumn.put(column, y + height);
+        }
+        for (int row = y; row < y + height; ++row) {
+            nextColumnInRow.put(row, x + width);
+        }
+        if (c.gridheight == 0 && c.gridwidth == 0) {
+            currentRow = currentColumn = -1;
+        }
+        if (c.gridheight == 0 && currentRow < 0) {
+            currentColumn = x + width;
+        } else if (c.gridwidth == 0 && currentColumn < 0) {
+            currentRow = y + height;
+        }
+        start[X] = x;
+        start[Y] = y;
+    }
+
+    private static int get(Map<Integer, Integer> map, int key) {
+        Integer value = map.get(key);
+        return value != null ? value : 0;
+    }
+
+    /**
+     * Column or row metrics.
+     */
+    private static class Axis {
+        private int axis;
+        private int count;
+        private List<List<Cell>> singles = new ArrayList<List<Cell>>();
+        private List<Cell> spanning = new ArrayList<Cell>();
+        private BitSet dirty = new BitSet();
+        private int[][] baseSize = new int[2][0];
+        private double[] baseWeight = new double[0];
+        private int[][] size = new int[2][0];
+        private double[] weight = new double[0];
+        private double totalWeight;
+        private int[] total = new int[2];
+        private int[] positions = new int[1];
+
+        void reset(int axis, int count, List<List<Cell>> singles, List<Cell> spanning) {
+            this.axis = axis;
+            this.count = count;
+            this.singles = singles;
+            this.spanning = spanning;
+            baseSize = new int[2][count];
+            baseWeight = new double[count];
+            size = new int[2][count];
+            weight = new double[count];
+            positions = new int[count + 1];
+            dirty.set(0, count);
+        }
+
+        void recompute() {
+            for (int i = dirty.nextSetBit(0); i >= 0; i = dirty.nextSetBit(i + 1)) {
+                int pref = 0;
+                int min = 0;
+                double w = 0;
+                for (Cell cell : singles.get(i)) {
+                    if (cell.visible) {
+                        pref = Math.max(pref, cell.size[PREFERRED][axis]);
+                        min = Math.max(min, cell.size[MINIMUM][axis]);
+                        w = Math.max(w, cell.weight[axis]);
+                    }
+                }
+                baseSize[PREFERRED][i] = pref;
+                baseSize[MINIMUM][i] = min;
+                baseWeight[i] = w;
+            }
+            dirty.clear();
+
+            System.arraycopy(baseWeight, 0, weight, 0, count);
+            for (int mode = PREFERRED; mode <= MINIMUM; ++mode) {
+                System.arraycopy(baseSize[mode], 0, size[mode], 0, count);
+            }
+            for (Cell cell : spanning) {
+                if (cell.visible) {
+                    distributeSpanning(cell);
+                }
+            }
+
+            totalWeight = 0;
+            for (double w : weight) {
+                totalWeight += w;
+            }
+            for (int mode = PREFERRED; mode <= MINIMUM; ++mode) {
+                int sum = 0;
+                for (int s : size[mode]) {
+                    sum += s;
+                }
+                total[mode] = sum;
+            }
+        }
+
+        private void distributeSpanning(Cell cell) {
+            int start = cell.start[axis];
+            int end = start + cell.span[axis];
+
+            double weightDiff = cell.weight[axis];
+            for (int k = start; k < end; ++k) {
+                weightDiff -= weight[k];
+            }
+            if (weightDiff > 0.0) {
+                double w = 0.0;
+                for (int k = start; k < end; ++k) {
+                    w += weight[k];
+                }
+                for (int k = start; w > 0.0 && k < end; ++k) {
+                    double wt = weight[k];
+                    double dx = (wt * weightDiff) / w;
+                    weight[k] += dx;
+                    weightDiff -= dx;
+                    w -= wt;
+                }
+                weight[end - 1] += weightDiff;
+            }
+
+            for (int mode = PREFERRED; mode <= MINIMUM; ++mode) {
+                int[] s = size[mode];
+                int pixelsDiff = cell.size[mode][axis];
+                for (int k = start; k < end; ++k) {
+                    pixelsDiff -= s[k];
+                }
+                if (pixelsDiff > 0) {
+                    double w = 0.0;
+                    for (int k = start; k < end; ++k) {
+                        w += weight[k];
+                    }
+                    for (int k = start; w > 0.0 && k < end; ++k) {
+                        double wt = weight[k];
+                        int dx = (int) ((wt * pixelsDiff) / w);
+                        s[k] += dx;
+                        pixelsDiff -= dx;
+                        w -= wt;
+                    }
+                    s[end - 1] += pixelsDiff;
+                }
+            }
+        }
+
+        void computePositions(int mode, int available, int offset) {
+            int diff = available - total[mode];
+            int[] s = size[mode];
+            if (diff != 0 && totalWeight > 0.0) {
+                int used = 0;
+                for (int i = 0; i < count; ++i) {
+                    int d = (int) ((diff * weight[i]) / totalWeight);
+                    int sz = Math.max(0, s[i] + d);
+                    positions[i + 1] = sz;
+                    used += sz;
+                }
+                diff = available - used;
+            } else {
+                System.arraycopy(s, 0, positions, 1, count);
+            }
+            positions[0] = offset + diff / 2;
+            for (int i = 1; i <= count; ++i) {
+                positions[i] += positions[i - 1];
+            }
+        }
+    }
+
+    /**
+     * A component with its resolved constraints and cached sizes.
+     */
+    private class Cell {
+        private final Component comp;
+        private final GridBagConstraints constraints;
+        private final int[] start = new int[2];
+        private final int[] requestedSpan = new int[2];
+        private final boolean[] remainder = new boolean[2];
+        private final int[] span = new int[2];
+        private final double[] weight = new double[2];
+        private final int[] pad = new int[2];
+        private final Insets insets;
+        private final int anchor;
+        private final int fill;
+        private final int[][] size = new int[2][2];
+        private final int[][] componentSize = new int[2][2];
+        private boolean visible;
+        private boolean sized;
+
+        Cell(Component comp, GridBagConstraints c) {
+            this.comp = comp;
+            constraints = (GridBagConstraints) c.clone();
+            remainder[X] = c.gridwidth == GridBagConstraints.REMAINDER;
+            remainder[Y] = c.gridheight == GridBagConstraints.REMAINDER;
+            requestedSpan[X] = c.gridwidth > 0 ? c.gridwidth : 1;
+            requestedSpan[Y] = c.gridheight > 0 ? c.gridheight : 1;
+            resolvePosition(c, start, requestedSpan[X], requestedSpan[Y]);
+            weight[X] = c.weightx;
+            weight[Y] = c.weighty;
+            pad[X] = c.ipadx;
+            pad[Y] = c.ipady;
+            insets = (Insets) c.insets.clone();
+            anchor = c.anchor;
+            fill = c.fill;
+        }
+
+        /**
+         * Update the cached component sizes.
+         *
+         * @return true if the size or visibility changed
+         */
+        boolean refreshSize() {
+            boolean changed = !sized || comp.isVisible() != visible;
+            visible = comp.isVisible();
+            changed |= refreshSize(PREFERRED, visible ? comp.getPreferredSize() : null);
+            changed |= refreshSize(MINIMUM, visible ? comp.getMinimumSize() : null);
+            sized = true;
+            return changed;
+        }
+
+        private boolean refreshSize(int mode, Dimension d) {
+            int w = d != null ? d.width : 0;
+            int h = d != null ? d.height : 0;
+            if (sized && componentSize[mode][X] == w && componentSize[mode][Y] == h) {
+                return false;
+            }
+            componentSize[mode][X] = w;
+            componentSize[mode][Y] = h;
+            size[mode][X] = w + pad[X] + insets.left + insets.right;
+            size[mode][Y] = h + pad[Y] + insets.top + insets.bottom;
+            return true;
+        }
+
+        void adjustForGravity(Rectangle r, int mode, boolean leftToRight) {
+            // The left inset is the leading inset, on the right side when right to left
+            r.x += leftToRight ? insets.left : insets.right;
+            r.width -= insets.left + insets.right;
+            r.y += insets.top;
+            r.height -= insets.top + insets.bottom;
+
+            int diffx = 0;
+            int width = componentSize[mode][X] + pad[X];
+            if (fill != GridBagConstraints.HORIZONTAL && fill != GridBagConstraints.BOTH && r.width > width) {
+                diffx = r.width - width;
+                r.width = width;
+            }
+            int diffy = 0;
+            int height = componentSize[mode][Y] + pad[Y];
+            if (fill != GridBagConstraints.VERTICAL && fill != GridBagConstraints.BOTH && r.height > height) {
+                diffy = r.height - height;
+                r.height = height;
+            }
+
+            switch (absoluteAnchor(leftToRight)) {
+                case GridBagConstraints.NORTH:
+                    r.x += diffx / 2;
+                    break;
+                case GridBagConstraints.NORTHEAST:
+                    r.x += diffx;
+                    break;
+                case GridBagConstraints.EAST:
+                    r.x += diffx;
+                    r.y += diffy / 2;
+                    break;
+                case GridBagConstraints.SOUTHEAST:
+                    r.x += diffx;
+                    r.y += diffy;
+                    break;
+                case GridBagConstraints.SOUTH:
+                    r.x += diffx / 2;
+                    r.y += diffy;
+                    break;
+                case GridBagConstraints.SOUTHWEST:
+                    r.y += diffy;
+                    break;
+                case GridBagConstraints.WEST:
+                    r.y += diffy / 2;
+                    break;
+                case GridBagConstraints.NORTHWEST:
+                    break;
+                default:
+                    r.x += diffx / 2;
+                    r.y += diffy / 2;
+                    break;
+            }
+        }
+
+        private int absoluteAnchor(boolean leftToRight) {
+            switch (anchor) {
+                case GridBagConstraints.PAGE_START:
+                case GridBagConstraints.ABOVE_BASELINE:
+                    return GridBagConstraints.NORTH;
+                case GridBagConstraints.PAGE_END:
+                case GridBagConstraints.BELOW_BASELINE:
+                    return GridBagConstraints.SOUTH;
+                case GridBagConstraints.LINE_START:
+                case GridBagConstraints.BASELINE_LEADING:
+                    return leftToRight ? GridBagConstraints.WEST : GridBagConstraints.EAST;
+                case GridBagConstraints.LINE_END:
+                case GridBagConstraints.BASELINE_TRAILING:
+                    return leftToRight ? GridBagConstraints.EAST : GridBagConstraints.WEST;
+                case GridBagConstraints.FIRST_LINE_START:
+                case GridBagConstraints.ABOVE_BASELINE_LEADING:
+                    return leftToRight ? GridBagConstraints.NORTHWEST : GridBagConstraints.NORTHEAST;
+                case GridBagConstraints.FIRST_LINE_END:
+                case GridBagConstraints.ABOVE_BASELINE_TRAILING:
+                    return leftToRight ? GridBagConstraints.NORTHEAST : GridBagConstraints.NORTHWEST;
+                case GridBagConstraints.LAST_LINE_START:
+                case GridBagConstraints.BELOW_BASELINE_LEADING:
+                    return leftToRight ? GridBagConstraints.SOUTHWEST : GridBagConstraints.SOUTHEAST;
+                case GridBagConstraints.LAST_LINE_END:
+                case GridBagConstraints.BELOW_BASELINE_TRAILING:
+                    return leftToRight ? GridBagConstraints.SOUTHEAST : GridBagConstraints.SOUTHWEST;
+                default:
+                    return anchor;
+            }
+        }
+
+        GridBagConstraints toConstraints() {
+            GridBagConstraints c = new GridBagConstraints();
+            c.gridx = start[X];
+            c.gridy = start[Y];
+            c.gridwidth = remainder[X] ? GridBagConstraints.REMAINDER : requestedSpan[X];
+            c.gridheight = remainder[Y] ? GridBagConstraints.REMAINDER : requestedSpan[Y];
+            c.weightx = weight[X];
+            c.weighty = weight[Y];
+            c.ipadx = pad[X];
+            c.ipady = pad[Y];
+            c.insets = (Insets) insets.clone();
+            c.anchor = anchor;
+            c.fill = fill;
+            return c;
+        }
+    }
+}
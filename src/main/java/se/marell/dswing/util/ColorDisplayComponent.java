@@ -23,6 +23,8 @@
  */
 package se.marell.dswing.util;
 
+import se.marell.dswing.monitor.EdtMetrics;
+
 import javax.swing.*;
 import java.awt.*;
 
@@ -45,14 +47,19 @@ public class ColorDisplayComponent extends JComponent {
 
     @Override
     protected void paintComponent(Graphics g) {
-        super.paintComponent(g);
-        int w = (int) getSize().getWidth();
-        int h = (int) getSize().getHeight();
-        if (color != null) {
-            g.setColor(color);
-            g.fillRect(0, 0, w - 1, h - 1);
+        long t = EdtMetrics.begin();
+        try {
+            super.paintComponent(g);
+            int w = (int) getSize().getWidth();
+            int h = (int) getSize().getHeight();
+            if (color != null) {
+                g.setColor(color);
+                g.fillRect(0, 0, w - 1, h - 1);
+            }
+            g.setColor(Color.BLACK);
+            g.drawRect(0, 0, w - 1, h - 1);
+        } finally {
+            EdtMetrics.end(getClass(), t);
         }
-        g.setColor(Color.BLACK);
-        g.drawRect(0, 0, w - 1, h - 1);
     }
 }
\ No newline at end of file
@@ -24,9 +24,38 @@
 package se.marell.dswing.util;
 
 import javax.swing.*;
+import javax.swing.table.DefaultTableModel;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
 
+/**
+ * Sets the Nimbus look and feel, falling back on the cross platform look and feel if Nimbus is not installed.
+ *
+ * Nimbus initializes its defaults, painters and fonts lazily the first time each component type is used.
+ * Use {@link #warmUp()} instead of {@link #set()} to move that cost out of the way of the first window.
+ */
 public class NimbusLookAndFeelSetter {
+    private static final String[] SAMPLE_COMPONENTS = {
+            "button", "checkbox", "textfield", "combobox", "table", "progressbar", "dialog"
+    };
+
     public static void set() {
+        try {
+            UIManager.setLookAndFeel(getLookAndFeelClassName());
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Get the class name of the look and feel that {@link #set()} installs.
+     *
+     * @return Class name of the Nimbus look and feel if installed, else the cross platform look and feel
+     */
+    public static String getLookAndFeelClassName() {
         UIManager.LookAndFeelInfo[] plafinfo = UIManager.getInstalledLookAndFeels();
         int nimbusIndex = -1;
         for (int look = 0; look < plafinfo.length; look++) {
@@ -34,14 +63,116 @@ public class NimbusLookAndFeelSetter {
                 nimbusIndex = look;
             }
         }
-        try {
-            if (nimbusIndex >= 0) {
-                UIManager.setLookAndFeel(plafinfo[nimbusIndex].getClassName());
-            } else {
-                UIManager.setLookAndFeel(UIManager.getCrossPlatformLookAndFeelClassName());
+        if (nimbusIndex >= 0) {
+            return plafinfo[nimbusIndex].getClassName();
+        }
+        return UIManager.getCrossPlatformLookAndFeelClassName();
+    }
+
+    /**
+     * Set the look and feel in the background and warm it up, so other startup work can run in parallel.
+     * The look and feel is resolved and instantiated in a background thread. It is then installed on the
+     * swing thread, and a set of representative components (buttons, text fields, tables, progress bars and
+     * dialog content) are created and painted into an offscreen image, one component type per swing
+     * thread event.
+     *
+     * Call this as early as possible and wait for the returned future before creating the first window,
+     * so that the window is built with the new look and feel:
+     *
+     * <pre>
+     * Future&lt;PhaseTimings&gt; lafReady = NimbusLookAndFeelSetter.warmUp();
+     * // other startup work
+     * logger.info("Look and feel: " + lafReady.get());
+     * // create and show main window
+     * </pre>
+     *
+     * Must not be called from the swing thread, unless the returned future is left alone.
+     *
+     * @return Future giving the time spent in each phase when the look and feel is installed and warm
+     */
+    public static Future<PhaseTimings> warmUp() {
+        FutureTask<PhaseTimings> task = new FutureTask<PhaseTimings>(new Callable<PhaseTimings>() {
+            @Override
+            public PhaseTimings call() throws Exception {
+                return runWarmUp();
             }
-        } catch (Exception e) {
-            e.printStackTrace();
+        });
+        Thread t = new Thread(task, "LookAndFeel warm-up");
+        t.setDaemon(true);
+        t.start();
+        return task;
+    }
+
+    private static PhaseTimings runWarmUp() throws Exception {
+        final PhaseTimings timings = new PhaseTimings();
+
+        timings.begin("resolve");
+        final LookAndFeel laf = (LookAndFeel) Class.forName(getLookAndFeelClassName()).newInstance();
+        timings.end();
+
+        final Exception[] installError = new Exception[1];
+        SwingUtilities.invokeAndWait(new Runnable() {
+            @Override
+            public void run() {
+                timings.begin("install");
+                try {
+                    UIManager.setLookAndFeel(laf);
+                } catch (UnsupportedLookAndFeelException e) {
+                    installError[0] = e;
+                }
+                timings.end();
+            }
+        });
+        if (installError[0] != null) {
+            throw installError[0];
+        }
+
+        final BufferedImage image = new BufferedImage(400, 300, BufferedImage.TYPE_INT_ARGB);
+        final JPanel parent = new JPanel();
+        for (final String name : SAMPLE_COMPONENTS) {
+            SwingUtilities.invokeAndWait(new Runnable() {
+                @Override
+                public void run() {
+                    timings.begin("prime " + name);
+                    JComponent c = createSampleComponent(name);
+                    Dimension d = c.getPreferredSize();
+                    Graphics g = image.createGraphics();
+                    try {
+                        SwingUtilities.paintComponent(g, c, parent, 0, 0,
+                                Math.min(d.width, image.getWidth()), Math.min(d.height, image.getHeight()));
+                    } finally {
+                        g.dispose();
+                    }
+                    parent.removeAll();
+                    timings.end();
+                }
+            });
+        }
+        return timings;
+    }
+
+    private static JComponent createSampleComponent(String name) {
+        switch (name) {
+            case "button":
+                return new JButton("Button");
+            case "checkbox":
+                return new JCheckBox("Check box", true);
+            case "textfield":
+                return new JTextField("Text field", 20);
+            case "combobox":
+                return new JComboBox<String>(new String[]{"Combo box"});
+            case "table":
+                JTable table = new JTable(new DefaultTableModel(new Object[][]{{"a", 1}, {"b", 2}}, new Object[]{"Name", "Value"}));
+                return new JScrollPane(table);
+            case "progressbar":
+                JProgressBar pbar = new JProgressBar(0, 100);
+                pbar.setValue(50);
+                pbar.setStringPainted(true);
+                return pbar;
+            case "dialog":
+                return new JOptionPane("Dialog", JOptionPane.INFORMATION_MESSAGE, JOptionPane.OK_CANCEL_OPTION);
+            default:
+                throw new IllegalArgumentException(name);
         }
     }
 }
@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2026 Daniel Marell
+ * All rights reserved.
+ *
+ * Permission is hereby granted, free  of charge, to any person obtaining
+ * a  copy  of this  software  and  associated  documentation files  (the
+ * "Software"), to  deal in  the Software without  restriction, including
+ * without limitation  the rights to  use, copy, modify,  merge, publish,
+ * distribute,  sublicense, and/or sell  copies of  the Software,  and to
+ * permit persons to whom the Software  is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The  above  copyright  notice  and  this permission  notice  shall  be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE  SOFTWARE IS  PROVIDED  "AS  IS", WITHOUT  WARRANTY  OF ANY  KIND,
+ * EXPRESS OR  IMPLIED, INCLUDING  BUT NOT LIMITED  TO THE  WARRANTIES OF
+ * MERCHANTABILITY,    FITNESS    FOR    A   PARTICULAR    PURPOSE    AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE,  ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package se.marell.dswing.util;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Records the duration of named phases, in the order they were run. Used to report where time goes
+ * during startup and similar sequential work.
+ *
+ * Usage example:
+ *
+ * <pre>
+ * PhaseTimings timings = new PhaseTimings();
+ * timings.begin("load");
+ * ...
+ * timings.end();
+ * System.out.println(timings);
+ * </pre>
+ *
+ * The class is thread safe, but phases are not meant to overlap.
+ */
+public class PhaseTimings {
+    private final Map<String, Long> phases = new LinkedHashMap<String, Long>();
+    private String currentPhase;
+    private long currentStart;
+
+    /**
+     * Begin a new phase. A phase in progress is ended first.
+     *
+     * @param phase Name of phase
+     */
+    public synchronized void begin(String phase) {
+        if (currentPhase != null) {
+            end();
+        }
+        currentPhase = phase;
+        currentStart = System.nanoTime();
+    }
+
+    /**
+     * End the phase in progress. Does nothing if no phase is in progress.
+     */
+    public synchronized void end() {
+        if (currentPhase != null) {
+            add(currentPhase, System.nanoTime() - currentStart);
+            currentPhase = null;
+        }
+    }
+
+    /**
+     * Add a measured duration to a phase. Durations for the same phase are accumulated.
+     *
+     * @param phase Name of phase
+     * @param nanos Duration in nanoseconds
+     */
+    public synchronized void add(String phase, long nanos) {
+        Long previous = phases.get(phase);
+        phases.put(phase, previous != null ? previous + nanos : nanos);
+    }
+
+    /**
+     * Get the duration of a phase.
+     *
+     * @param phase Name of phase
+     * @return Duration in msec or -1 if there is no such phase
+     */
+    public synchronized long getMillis(String phase) {
+        Long nanos = phases.get(phase);
+        return nanos != null ? nanos / 1000000 : -1;
+    }
+
+    /**
+     * @return Sum of all ended phases in msec
+     */
+    public synchronized long getTotalMillis() {
+        long total = 0;
+        for (long nanos : phases.values()) {
+            total += nanos;
+        }
+        return total / 1000000;
+    }
+
+    /**
+     * @return Phase names mapped to durations in nanoseconds, in the order the phases were first run
+     */
+    public synchronized Map<String, Long> getPhases() {
+        return Collections.unmodifiableMap(new LinkedHashMap<String, Long>(phases));
+    }
+
+    @Override
+    public synchronized String toString() {
+        StringBuilder sb = new StringBuilder();
+        for (Map.Entry<String, Long> e : phases.entrySet()) {
+            sb.append(e.getKey()).append('=').append(e.getValue() / 1000000).append("ms ");
+        }
+        sb.append("total=").append(getTotalMillis()).append("ms");
+        return sb.toString();
+    }
+}
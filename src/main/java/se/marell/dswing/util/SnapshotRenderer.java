@@ -0,0 +1,236 @@
+/*
+ * Copyright (c) 2026 Daniel Marell
+ * All rights reserved.
+ *
+ * Permission is hereby granted, free  of charge, to any person obtaining
+ * a  copy  of this  software  and  associated  documentation files  (the
+ * "Software"), to  deal in  the Software without  restriction, including
+ * without limitation  the rights to  use, copy, modify,  merge, publish,
+ * distribute,  sublicense, and/or sell  copies of  the Software,  and to
+ * permit persons to whom the Software  is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The  above  copyright  notice  and  this permission  notice  shall  be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE  SOFTWARE IS  PROVIDED  "AS  IS", WITHOUT  WARRANTY  OF ANY  KIND,
+ * EXPRESS OR  IMPLIED, INCLUDING  BUT NOT LIMITED  TO THE  WARRANTIES OF
+ * MERCHANTABILITY,    FITNESS    FOR    A   PARTICULAR    PURPOSE    AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE,  ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package se.marell.dswing.util;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import javax.imageio.stream.MemoryCacheImageOutputStream;
+import javax.swing.*;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Renders component trees to PNG files in parallel, without the swing thread. Works with
+ * java.awt.headless=true. Each job creates its own component tree on a rendering thread, so no component is
+ * shared between threads. The tree is laid out and printed into an image buffer reused by the thread, and
+ * written by a PNG writer reused by the thread.<p>
+ *
+ * Usage example:
+ *
+ * <pre><code>
+ * SnapshotRenderer renderer = new SnapshotRenderer(Runtime.getRuntime().availableProcessors());
+ * for (final Site site : sites) {
+ *   renderer.render(new SnapshotRenderer.ComponentFactory() {
+ *     {@literal @}Override
+ *     public JComponent createComponent() {
+ *       return new SiteDashboard(site);
+ *     }
+ *   }, new File(dir, site.getName() + ".png"));
+ * }
+ * renderer.shutdown();
+ * renderer.awaitTermination(1, TimeUnit.HOURS);
+ * </code></pre>
+ */
+public class SnapshotRenderer {
+    private static final Font DEFAULT_FONT = new Font(Font.DIALOG, Font.PLAIN, 12);
+    private final ExecutorService executor;
+    private final ThreadLocal<RenderContext> renderContext = new ThreadLocal<RenderContext>() {
+        @Override
+        protected RenderContext initialValue() {
+            return new RenderContext();
+        }
+    };
+    private final AtomicLong imageCount = new AtomicLong();
+    private final AtomicLong firstStartNanos = new AtomicLong();
+    private final AtomicLong lastEndNanos = new AtomicLong();
+
+    /**
+     * Creates the component tree of a snapshot. Called on a rendering thread.
+     */
+    public interface ComponentFactory {
+        /**
+         * @return Component to render. Its size is used if set, otherwise its preferred size. A component with
+         * neither fails with an IOException.
+         */
+        JComponent createComponent();
+    }
+
+    /**
+     * @param threads Number of rendering threads, typically the number of cores
+     */
+    public SnapshotRenderer(int threads) {
+        executor = Executors.newFixedThreadPool(threads, new ThreadFactory() {
+            private final AtomicInteger threadNumber = new AtomicInteger();
+
+            @Override
+            public Thread newThread(Runnable r) {
+                Thread t = new Thread(r, "SnapshotRenderer-" + threadNumber.incrementAndGet());
+                t.setDaemon(true);
+                return t;
+            }
+        });
+    }
+
+    /**
+     * Queue a snapshot.
+     *
+     * @param factory Creates the component tree
+     * @param file    PNG file to write
+     * @return Future giving the file when written, or the IOException
+     */
+    public Future<File> render(final ComponentFactory factory, final File file) {
+        return executor.submit(new Callable<File>() {
+            @Override
+            public File call() throws IOException {
+                OutputStream out = new BufferedOutputStream(new FileOutputStream(file), 65536);
+                try {
+                    renderContext.get().render(factory.createComponent(), out);
+                } finally {
+                    out.close();
+                }
+                return file;
+            }
+        });
+    }
+
+    /**
+     * Stop accepting snapshots. Queued snapshots are still rendered.
+     */
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        return executor.awaitTermination(timeout, unit);
+    }
+
+    /**
+     * @return Number of images written
+     */
+    public long getImageCount() {
+        return imageCount.get();
+    }
+
+    /**
+     * @return Images written per second from the start of the first snapshot to the end of the last
+     */
+    public double getImagesPerSecond() {
+        long nanos = lastEndNanos.get() - firstStartNanos.get();
+        return nanos > 0 ? imageCount.get() * 1e9 / nanos : 0;
+    }
+
+    @Override
+    public String toString() {
+        return "images=" + getImageCount() + " images/s=" + String.format("%.1f", getImagesPerSecond());
+    }
+
+    private static void layoutTree(Component c) {
+        if (c instanceof Container) {
+            Container container = (Container) c;
+            container.doLayout();
+            for (Component child : container.getComponents()) {
+                layoutTree(child);
+            }
+        }
+    }
+
+    /**
+     * Image buffer and PNG writer of a rendering thread.
+     */
+    private class RenderContext {
+        private final ImageWriter writer = ImageIO.getImageWritersByFormatName("png").next();
+        private BufferedImage buffer;
+
+        void render(JComponent c, OutputStream out) throws IOException {
+            long start = System.nanoTime();
+            firstStartNanos.compareAndSet(0, start);
+            if (c.getFont() == null) {
+                // Not inherited from a window
+                c.setFont(DEFAULT_FONT);
+            }
+            Dimension size = c.getSize();
+            if (size.width <= 0 || size.height <= 0) {
+                size = c.getPreferredSize();
+                if (size.width <= 0 || size.height <= 0) {
+                    throw new IOException("Cannot render " + c.getClass().getName() + ", it has no size and its "
+                            + "preferred size is " + size.width + "x" + size.height);
+                }
+                c.setSize(size);
+            }
+            layoutTree(c);
+
+            BufferedImage image = getImage(size.width, size.height);
+            Graphics2D g = image.createGraphics();
+            try {
+                g.setComposite(AlphaComposite.Clear);
+                g.fillRect(0, 0, size.width, size.height);
+                g.setComposite(AlphaComposite.SrcOver);
+                c.print(g);
+            } finally {
+                g.dispose();
+            }
+
+            ImageOutputStream ios = new MemoryCacheImageOutputStream(out);
+            try {
+                writer.setOutput(ios);
+                writer.write(image);
+            } finally {
+                writer.reset();
+                ios.close();
+            }
+            imageCount.incrementAndGet();
+            long end = System.nanoTime();
+            long last = lastEndNanos.get();
+            while (end > last && !lastEndNanos.compareAndSet(last, end)) {
+                last = lastEndNanos.get();
+            }
+        }
+
+        private BufferedImage getImage(int width, int height) {
+            if (buffer == null || buffer.getWidth() < width || buffer.getHeight() < height) {
+                int w = buffer == null ? width : Math.max(width, buffer.getWidth());
+                int h = buffer == null ? height : Math.max(height, buffer.getHeight());
+                buffer = new BufferedImage(w, h, BufferedImage.TYPE_INT_ARGB);
+            }
+            if (buffer.getWidth() == width && buffer.getHeight() == height) {
+                return buffer;
+            }
+            return buffer.getSubimage(0, 0, width, height);
+        }
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2026 Daniel Marell
+ * All rights reserved.
+ *
+ * Permission is hereby granted, free  of charge, to any person obtaining
+ * a  copy  of this  software  and  associated  documentation files  (the
+ * "Software"), to  deal in  the Software without  restriction, including
+ * without limitation  the rights to  use, copy, modify,  merge, publish,
+ * distribute,  sublicense, and/or sell  copies of  the Software,  and to
+ * permit persons to whom the Software  is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The  above  copyright  notice  and  this permission  notice  shall  be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE  SOFTWARE IS  PROVIDED  "AS  IS", WITHOUT  WARRANTY  OF ANY  KIND,
+ * EXPRESS OR  IMPLIED, INCLUDING  BUT NOT LIMITED  TO THE  WARRANTIES OF
+ * MERCHANTABILITY,    FITNESS    FOR    A   PARTICULAR    PURPOSE    AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE,  ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package se.marell.dswing;
+
+import se.marell.dswing.util.CachedGridBagLayout;
+import se.marell.dswing.util.GridBagConstraintsSetter;
+
+import javax.swing.*;
+import java.awt.*;
+
+/**
+ * Compares GridBagLayout and CachedGridBagLayout on forms of different sizes. Run headless:
+ * java -Djava.awt.headless=true se.marell.dswing.LayoutBenchmarkApp
+ *
+ * Two operations are timed: resizing the form and changing the text of a single label, each followed
+ * by a layout of the form. The form is not displayable, so it is invalidated explicitly on resize as a
+ * displayed form would be.
+ */
+public class LayoutBenchmarkApp {
+    private static final int[] FORM_SIZES = {25, 100, 400, 1000};
+    private static final int WARMUP_ITERATIONS = 50;
+    private static final int ITERATIONS = 200;
+
+    public static void main(String[] args) {
+        System.out.println(String.format("%-8s %-22s %14s %14s", "fields", "layout", "resize us/op", "edit us/op"));
+        for (int fields : FORM_SIZES) {
+            run(fields, new GridBagLayout());
+            run(fields, new CachedGridBagLayout());
+        }
+    }
+
+    private static void run(int fields, LayoutManager layout) {
+        JPanel form = createForm(fields, layout);
+        JLabel label = (JLabel) form.getComponent(fields / 2);
+        form.setSize(form.getPreferredSize());
+        form.doLayout();
+
+        measureResize(form, WARMUP_ITERATIONS);
+        long resizeNanos = measureResize(form, ITERATIONS);
+        measureEdit(form, label, WARMUP_ITERATIONS);
+        long editNanos = measureEdit(form, label, ITERATIONS);
+
+        System.out.println(String.format("%-8d %-22s %14d %14d", fields, layout.getClass().getSimpleName(),
+                resizeNanos / ITERATIONS / 1000, editNanos / ITERATIONS / 1000));
+    }
+
+    private static long measureResize(JPanel form, int iterations) {
+        Dimension d = form.getPreferredSize();
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; ++i) {
+            form.setSize(d.width + (i % 20) * 10, d.height + (i % 10) * 10);
+            form.invalidate();
+            form.doLayout();
+        }
+        return System.nanoTime() - start;
+    }
+
+    private static long measureEdit(JPanel form, JLabel label, int iterations) {
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; ++i) {
+            label.setText("Field " + i % 3);
+            form.doLayout();
+        }
+        return System.nanoTime() - start;
+    }
+
+    private static JPanel createForm(int fields, LayoutManager layout) {
+        JPanel p = new JPanel(layout);
+        for (int i = 0; i < fields; ++i) {
+            p.add(new JLabel("Field " + i), new GridBagConstraintsSetter().setXY(0, i)
+                    .setAnchorFill(GridBagConstraints.LINE_END, GridBagConstraints.NONE).setInsets(2, 2, 2, 2));
+        }
+        for (int i = 0; i < fields; ++i) {
+            p.add(new JTextField(20), new GridBagConstraintsSetter().setXY(1, i)
+                    .setAnchorFill(GridBagConstraints.LINE_START, GridBagConstraints.HORIZONTAL)
+                    .setWeights(1, 0).setInsets(2, 2, 2, 2));
+        }
+        return p;
+    }
+}
@@ -0,0 +1,190 @@
+/*
+ * Copyright (c) 2026 Daniel Marell
+ * All rights reserved.
+ *
+ * Permission is hereby granted, free  of charge, to any person obtaining
+ * a  copy  of this  software  and  associated  documentation files  (the
+ * "Software"), to  deal in  the Software without  restriction, including
+ * without limitation  the rights to  use, copy, modify,  merge, publish,
+ * distribute,  sublicense, and/or sell  copies of  the Software,  and to
+ * permit persons to whom the Software  is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The  above  copyright  notice  and  this permission  notice  shall  be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE  SOFTWARE IS  PROVIDED  "AS  IS", WITHOUT  WARRANTY  OF ANY  KIND,
+ * EXPRESS OR  IMPLIED, INCLUDING  BUT NOT LIMITED  TO THE  WARRANTIES OF
+ * MERCHANTABILITY,    FITNESS    FOR    A   PARTICULAR    PURPOSE    AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE,  ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package se.marell.dswing;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import se.marell.dswing.progress.ActionSpinner;
+import se.marell.dswing.progress.InfiniteProgressPanel;
+import se.marell.dswing.progress.ProgressWorker;
+import se.marell.dswing.progress.ProgressWorkerPopup;
+import se.marell.dswing.util.ColorDisplayComponent;
+import se.marell.dswing.util.GridBagConstraintsSetter;
+import se.marell.dswing.util.NimbusLookAndFeelSetter;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Headless training workload for building a class data sharing archive, see the appcds profile in pom.xml.
+ * Performs the startup of a typical dswing application: sets the look and feel, creates every dswing
+ * component, lays out and paints a window content panel offscreen and runs a short progress task.
+ *
+ * System properties:
+ * <ul>
+ * <li>dswing.startup.label - name of the run in the report</li>
+ * <li>dswing.startup.report - file the time from JVM start to end of workload is appended to</li>
+ * <li>dswing.startup.report.append - false to truncate the report file first</li>
+ * </ul>
+ *
+ * Applications can copy this class, replacing the workload with their own startup code.
+ */
+public class StartupTrainingApp {
+    private static final Logger logger = LoggerFactory.getLogger(StartupTrainingApp.class);
+
+    public static void main(String[] args) throws Exception {
+        logger.info("Startup training workload");
+        NimbusLookAndFeelSetter.set();
+
+        SwingUtilities.invokeAndWait(new Runnable() {
+            @Override
+            public void run() {
+                paintOffscreen(createContent());
+            }
+        });
+        runProgressTasks();
+
+        long uptime = ManagementFactory.getRuntimeMXBean().getUptime();
+        String label = System.getProperty("dswing.startup.label", "run");
+        logger.info("Startup workload " + label + " done after " + uptime + " ms");
+        writeReport(label, uptime);
+        System.exit(0);
+    }
+
+    private static JPanel createContent() {
+        JPanel p = new JPanel(new GridBagLayout());
+        GridBagConstraintsSetter gbc = new GridBagConstraintsSetter();
+        p.add(new JLabel("Label"), gbc.setXY(0, 0).setInsets(2, 2, 2, 2));
+        p.add(new JTextField("Text", 20), gbc.setXY(1, 0).setAnchorFill(GridBagConstraints.WEST, GridBagConstraints.HORIZONTAL));
+        p.add(new JButton("Button"), gbc.setXY(0, 1));
+        p.add(new ColorDisplayComponent(Color.GREEN, 20, 20), gbc.setXY(1, 1));
+        ActionSpinner spinner = new ActionSpinner(0);
+        spinner.tick();
+        p.add(spinner, gbc.setXY(0, 2));
+        JProgressBar pbar = new JProgressBar(0, 100);
+        pbar.setStringPainted(true);
+        p.add(pbar, gbc.setXY(1, 2));
+        p.add(new JScrollPane(new JTable(5, 3)), gbc.setXY(0, 3).setWidthHeight(2, 1).setWeights(1, 1));
+
+        InfiniteProgressPanel veil = new InfiniteProgressPanel("Working");
+        JPanel root = new JPanel(new BorderLayout());
+        root.add(p, BorderLayout.CENTER);
+        root.add(veil, BorderLayout.SOUTH);
+        return root;
+    }
+
+    private static void paintOffscreen(JComponent c) {
+        c.setSize(c.getPreferredSize());
+        layoutTree(c);
+        BufferedImage image = new BufferedImage(c.getWidth(), c.getHeight(), BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = image.createGraphics();
+        try {
+            c.print(g);
+        } finally {
+            g.dispose();
+        }
+    }
+
+    private static void layoutTree(Component c) {
+        if (c instanceof Container) {
+            Container container = (Container) c;
+            container.doLayout();
+            for (Component child : container.getComponents()) {
+                layoutTree(child);
+            }
+        }
+    }
+
+    private static void runProgressTasks() throws Exception {
+        final CountDownLatch done = new CountDownLatch(2);
+        SwingUtilities.invokeAndWait(new Runnable() {
+            @Override
+            public void run() {
+                startProgressTasks(done);
+            }
+        });
+        if (!done.await(30, TimeUnit.SECONDS)) {
+            throw new IllegalStateException("Training tasks did not end");
+        }
+    }
+
+    /**
+     * Start the workers the way an application does, on the swing thread.
+     */
+    private static void startProgressTasks(final CountDownLatch done) {
+        new ProgressWorkerPopup(null, "Training", 10, false, 0, false, false) {
+            @Override
+            protected void runTask() {
+                for (int i = 0; i <= 10; ++i) {
+                    setProgressValue(i / 10f);
+                }
+            }
+
+            @Override
+            protected void notifyTaskEnded(boolean cancelled) {
+                done.countDown();
+            }
+        }.start();
+        new ProgressWorker() {
+            @Override
+            protected void runTask() {
+                setProgress(1, "Done");
+            }
+
+            @Override
+            protected void notifyProgressValueChanged(float value) {
+            }
+
+            @Override
+            protected void notifyProgressTextChanged(String text) {
+            }
+
+            @Override
+            protected void notifyTaskEnded(boolean cancelled) {
+                done.countDown();
+            }
+        }.start();
+    }
+
+    private static void writeReport(String label, long uptime) throws IOException {
+        String report = System.getProperty("dswing.startup.report");
+        if (report == null) {
+            return;
+        }
+        boolean append = Boolean.parseBoolean(System.getProperty("dswing.startup.report.append", "true"));
+        PrintWriter w = new PrintWriter(new FileWriter(report, append));
+        try {
+            w.println(label + ": " + uptime + " ms");
+        } finally {
+            w.close();
+        }
+    }
+}
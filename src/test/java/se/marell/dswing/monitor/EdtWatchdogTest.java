@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2026 Daniel Marell
+ * All rights reserved.
+ *
+ * Permission is hereby granted, free  of charge, to any person obtaining
+ * a  copy  of this  software  and  associated  documentation files  (the
+ * "Software"), to  deal in  the Software without  restriction, including
+ * without limitation  the rights to  use, copy, modify,  merge, publish,
+ * distribute,  sublicense, and/or sell  copies of  the Software,  and to
+ * permit persons to whom the Software  is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The  above  copyright  notice  and  this permission  notice  shall  be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE  SOFTWARE IS  PROVIDED  "AS  IS", WITHOUT  WARRANTY  OF ANY  KIND,
+ * EXPRESS OR  IMPLIED, INCLUDING  BUT NOT LIMITED  TO THE  WARRANTIES OF
+ * MERCHANTABILITY,    FITNESS    FOR    A   PARTICULAR    PURPOSE    AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE,  ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package se.marell.dswing.monitor;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.swing.*;
+import java.util.concurrent.ExecutionException;
+
+import static org.junit.Assert.assertEquals;
+
+public class EdtWatchdogTest {
+    /**
+     * Label regarded as displayable, so that its repaints are checked without a display.
+     */
+    private static class DisplayableLabel extends JLabel {
+        DisplayableLabel() {
+            setSize(100, 20);
+        }
+
+        @Override
+        public boolean isDisplayable() {
+            return true;
+        }
+    }
+
+    private EdtWatchdog watchdog;
+
+    @Before
+    public void install() throws Exception {
+        watchdog = EdtWatchdog.install(1000, true);
+        flushEdt();
+    }
+
+    @After
+    public void uninstall() throws Exception {
+        EdtWatchdog.uninstall();
+        flushEdt();
+    }
+
+    private static void flushEdt() throws Exception {
+        SwingUtilities.invokeAndWait(new Runnable() {
+            @Override
+            public void run() {
+            }
+        });
+    }
+
+    private static JLabel createLabel() throws Exception {
+        final JLabel[] label = new JLabel[1];
+        SwingUtilities.invokeAndWait(new Runnable() {
+            @Override
+            public void run() {
+                label[0] = new DisplayableLabel();
+            }
+        });
+        return label[0];
+    }
+
+    private static void runInSwingWorker(final Runnable r) throws InterruptedException, ExecutionException {
+        SwingWorker<Void, Void> worker = new SwingWorker<Void, Void>() {
+            @Override
+            protected Void doInBackground() {
+                r.run();
+                return null;
+            }
+        };
+        worker.execute();
+        worker.get();
+    }
+
+    @Test
+    public void repaintFromSwingWorkerIsAllowed() throws Exception {
+        final JLabel label = createLabel();
+        runInSwingWorker(new Runnable() {
+            @Override
+            public void run() {
+                label.repaint();
+            }
+        });
+        assertEquals(0, watchdog.getThreadViolations().size());
+    }
+
+    @Test
+    public void propertySetterFromSwingWorkerIsViolation() throws Exception {
+        final JLabel label = createLabel();
+        runInSwingWorker(new Runnable() {
+            @Override
+            public void run() {
+                label.setText("text");
+            }
+        });
+        assertEquals(1, watchdog.getThreadViolations().size());
+    }
+}
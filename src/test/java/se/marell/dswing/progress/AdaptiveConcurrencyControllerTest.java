@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2026 Daniel Marell
+ * All rights reserved.
+ *
+ * Permission is hereby granted, free  of charge, to any person obtaining
+ * a  copy  of this  software  and  associated  documentation files  (the
+ * "Software"), to  deal in  the Software without  restriction, including
+ * without limitation  the rights to  use, copy, modify,  merge, publish,
+ * distribute,  sublicense, and/or sell  copies of  the Software,  and to
+ * permit persons to whom the Software  is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The  above  copyright  notice  and  this permission  notice  shall  be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE  SOFTWARE IS  PROVIDED  "AS  IS", WITHOUT  WARRANTY  OF ANY  KIND,
+ * EXPRESS OR  IMPLIED, INCLUDING  BUT NOT LIMITED  TO THE  WARRANTIES OF
+ * MERCHANTABILITY,    FITNESS    FOR    A   PARTICULAR    PURPOSE    AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE,  ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package se.marell.dswing.progress;
+
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+
+public class AdaptiveConcurrencyControllerTest {
+    private static class CountingStart implements Runnable {
+        private final AtomicInteger started;
+
+        CountingStart(AtomicInteger started) {
+            this.started = started;
+        }
+
+        @Override
+        public void run() {
+            started.incrementAndGet();
+        }
+    }
+
+    private static int countTaskThreads() {
+        int n = 0;
+        for (Thread t : Thread.getAllStackTraces().keySet()) {
+            if (t.getName().equals("ProgressWorker")) {
+                ++n;
+            }
+        }
+        return n;
+    }
+
+    @Test
+    public void acquireLaterStartsWhenSlotIsReleased() {
+        AdaptiveConcurrencyController controller = new AdaptiveConcurrencyController(1, 2);
+        AtomicInteger started = new AtomicInteger();
+        for (int i = 0; i < 5; ++i) {
+            controller.acquireLater(new CountingStart(started));
+        }
+        assertEquals(2, started.get());
+        assertEquals(2, controller.getRunning());
+
+        controller.release();
+        assertEquals(3, started.get());
+        controller.release();
+        controller.release();
+        assertEquals(5, started.get());
+        controller.release();
+        controller.release();
+        assertEquals(0, controller.getRunning());
+    }
+
+    @Test
+    public void workersWaitingForSlotDoNotHoldThreads() throws Exception {
+        AdaptiveConcurrencyController controller = new AdaptiveConcurrencyController(1, 1);
+        controller.acquire();
+        final AtomicInteger ended = new AtomicInteger();
+        for (int i = 0; i < 3; ++i) {
+            ProgressWorker worker = new ProgressWorker(new SilentProgressDispatcher()) {
+                @Override
+                protected void runTask() {
+                }
+
+                @Override
+                protected void notifyProgressValueChanged(float value) {
+                }
+
+                @Override
+                protected void notifyProgressTextChanged(String text) {
+                }
+
+                @Override
+                protected void notifyTaskEnded(boolean cancelled) {
+                    ended.incrementAndGet();
+                }
+            };
+            worker.setConcurrencyController(controller);
+            worker.start();
+        }
+        Thread.sleep(200);
+        assertEquals(0, ended.get());
+        assertEquals(0, countTaskThreads());
+
+        controller.release();
+        long deadline = System.currentTimeMillis() + 10000;
+        while (ended.get() < 3 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(3, ended.get());
+        assertEquals(0, controller.getRunning());
+    }
+
+    @Test
+    public void sampleWithoutPressureKeepsLimit() {
+        AdaptiveConcurrencyController controller = new AdaptiveConcurrencyController(1, 4);
+        controller.setCpuThreshold(1.1f);
+        controller.sample();
+        assertEquals(4, controller.getLimit());
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2026 Daniel Marell
+ * All rights reserved.
+ *
+ * Permission is hereby granted, free  of charge, to any person obtaining
+ * a  copy  of this  software  and  associated  documentation files  (the
+ * "Software"), to  deal in  the Software without  restriction, including
+ * without limitation  the rights to  use, copy, modify,  merge, publish,
+ * distribute,  sublicense, and/or sell  copies of  the Software,  and to
+ * permit persons to whom the Software  is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The  above  copyright  notice  and  this permission  notice  shall  be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE  SOFTWARE IS  PROVIDED  "AS  IS", WITHOUT  WARRANTY  OF ANY  KIND,
+ * EXPRESS OR  IMPLIED, INCLUDING  BUT NOT LIMITED  TO THE  WARRANTIES OF
+ * MERCHANTABILITY,    FITNESS    FOR    A   PARTICULAR    PURPOSE    AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE,  ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package se.marell.dswing.progress;
+
+import org.junit.Test;
+
+import java.io.File;
+import java.nio.MappedByteBuffer;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ExternalProgressWorkerTest {
+    @Test
+    public void taskUpdatingAtStartIsNotLost() throws Exception {
+        File file = File.createTempFile("progress", ".bin");
+        try {
+            SharedProgressWriter writer = new SharedProgressWriter(file);
+            // Keep the record in the middle of an update, so the worker cannot read it
+            MappedByteBuffer buffer = SharedProgressFile.map(file, false);
+            buffer.putLong(SharedProgressFile.OFFSET_SEQUENCE, 1);
+
+            final CountDownLatch ended = new CountDownLatch(1);
+            ExternalProgressWorker worker = new ExternalProgressWorker(file, 5000, new SilentProgressDispatcher()) {
+                @Override
+                protected void notifyProgressValueChanged(float value) {
+                }
+
+                @Override
+                protected void notifyProgressTextChanged(String text) {
+                }
+
+                @Override
+                protected void notifyTaskEnded(boolean cancelled) {
+                    ended.countDown();
+                }
+            };
+            worker.start();
+            Thread.sleep(300);
+            assertEquals(ExternalProgressWorker.Outcome.RUNNING, worker.getOutcome());
+
+            writer.complete(true);
+            assertTrue("Task did not end", ended.await(10, TimeUnit.SECONDS));
+            assertEquals(ExternalProgressWorker.Outcome.COMPLETED, worker.getOutcome());
+        } finally {
+            file.delete();
+        }
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright (c) 2026 Daniel Marell
+ * All rights reserved.
+ *
+ * Permission is hereby granted, free  of charge, to any person obtaining
+ * a  copy  of this  software  and  associated  documentation files  (the
+ * "Software"), to  deal in  the Software without  restriction, including
+ * without limitation  the rights to  use, copy, modify,  merge, publish,
+ * distribute,  sublicense, and/or sell  copies of  the Software,  and to
+ * permit persons to whom the Software  is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The  above  copyright  notice  and  this permission  notice  shall  be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE  SOFTWARE IS  PROVIDED  "AS  IS", WITHOUT  WARRANTY  OF ANY  KIND,
+ * EXPRESS OR  IMPLIED, INCLUDING  BUT NOT LIMITED  TO THE  WARRANTIES OF
+ * MERCHANTABILITY,    FITNESS    FOR    A   PARTICULAR    PURPOSE    AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE,  ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package se.marell.dswing.progress;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import se.marell.dcommons.progress.ProgressTracker;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class FileCopyTaskTest {
+    private static final int SIZE = 1024 * 1024;
+    private File source;
+    private File target;
+
+    /**
+     * Tracker truncating the source to half its size after the first chunk.
+     */
+    private class ShrinkingTracker implements ProgressTracker {
+        private boolean shrunk;
+
+        @Override
+        public boolean isCancelled() {
+            return false;
+        }
+
+        @Override
+        public void setTotalProgress(float value) {
+            if (!shrunk) {
+                shrunk = true;
+                try {
+                    RandomAccessFile f = new RandomAccessFile(source, "rw");
+                    try {
+                        f.setLength(SIZE / 2);
+                    } finally {
+                        f.close();
+                    }
+                } catch (IOException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+        }
+
+        @Override
+        public void setProgressLabel(String text) {
+        }
+
+        @Override
+        public void activityReport(int count) {
+        }
+    }
+
+    private static class NullTracker implements ProgressTracker {
+        @Override
+        public boolean isCancelled() {
+            return false;
+        }
+
+        @Override
+        public void setTotalProgress(float value) {
+        }
+
+        @Override
+        public void setProgressLabel(String text) {
+        }
+
+        @Override
+        public void activityReport(int count) {
+        }
+    }
+
+    @Before
+    public void createSource() throws IOException {
+        source = File.createTempFile("copy", ".src");
+        target = File.createTempFile("copy", ".dst");
+        RandomAccessFile f = new RandomAccessFile(source, "rw");
+        try {
+            f.write(new byte[SIZE]);
+        } finally {
+            f.close();
+        }
+    }
+
+    @After
+    public void deleteFiles() {
+        source.delete();
+        target.delete();
+    }
+
+    private void assertShrinkFails(boolean verify) {
+        FileCopyTask task = new FileCopyTask(source, target);
+        task.setChunkSize(4096);
+        task.setVerify(verify);
+        try {
+            task.run(new ShrinkingTracker());
+            fail("Truncated copy reported as copied");
+        } catch (IOException e) {
+            assertFalse(target.exists());
+        }
+    }
+
+    @Test
+    public void shrinkingSourceFails() {
+        assertShrinkFails(false);
+    }
+
+    @Test
+    public void shrinkingSourceFailsWhenVerifying() {
+        assertShrinkFails(true);
+    }
+
+    @Test
+    public void runAgainCountsFromZero() throws IOException {
+        FileCopyTask task = new FileCopyTask(source, target);
+        task.setVerify(true);
+        assertTrue(task.run(new NullTracker()));
+        assertTrue(task.run(new NullTracker()));
+        assertEquals(2 * SIZE, task.getTotalBytes());
+        assertEquals(2 * SIZE, task.getBytesDone());
+        assertEquals(1, task.getFileCount());
+        assertEquals(SIZE, target.length());
+    }
+}
@@ -0,0 +1,426 @@
+/*
+ * Copyright (c) 2026 Daniel Marell
+ * All rights reserved.
+ *
+ * Permission is hereby granted, free  of charge, to any person obtaining
+ * a  copy  of this  software  and  associated  documentation files  (the
+ * "Software"), to  deal in  the Software without  restriction, including
+ * without limitation  the rights to  use, copy, modify,  merge, publish,
+ * distribute,  sublicense, and/or sell  copies of  the Software,  and to
+ * permit persons to whom the Software  is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The  above  copyright  notice  and  this permission  notice  shall  be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE  SOFTWARE IS  PROVIDED  "AS  IS", WITHOUT  WARRANTY  OF ANY  KIND,
+ * EXPRESS OR  IMPLIED, INCLUDING  BUT NOT LIMITED  TO THE  WARRANTIES OF
+ * MERCHANTABILITY,    FITNESS    FOR    A   PARTICULAR    PURPOSE    AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE,  ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package se.marell.dswing.progress;
+
+import com.sun.management.HotSpotDiagnosticMXBean;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintWriter;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * Frame regression check for the animated components. Each component is driven through a fixed number of frames
+ * in simulated time and painted into an offscreen image.<p>
+ *
+ * The measured values are compared with src/test/resources/frame-baseline.properties:
+ * <ul>
+ * <li>Bytes allocated per frame may exceed the baseline by {@link #ALLOC_TOLERANCE}, at least
+ * {@link #MIN_ALLOC_SLACK_BYTES}.</li>
+ * <li>The 50th and 90th percentile frame times are divided by the same percentiles of a reference workload
+ * painted right before, which removes most of the machine speed. The median ratio of the measured runs may
+ * exceed the baseline by {@link #FRAME_TIME_TOLERANCE}.</li>
+ * </ul>
+ * The values depend on the JDK, so the baseline is kept per java.specification.version and the check is skipped
+ * for a JDK without a baseline. Escape analysis makes the allocation depend on JIT decisions, so the check needs
+ * -XX:-DoEscapeAnalysis. The surefire configuration runs this test alone in a JVM with that option. Run with
+ * -Ddswing.regression.update=true to write the measured values for the current JDK to the baseline file.
+ */
+public class FrameRegressionTest {
+    private static final String BASELINE_RESOURCE = "/frame-baseline.properties";
+    private static final String BASELINE_FILE = "src/test/resources/frame-baseline.properties";
+    private static final int WARMUP_RUNS = 30;
+    private static final int MEASURED_RUNS = 20;
+    /**
+     * Fraction the bytes allocated per frame may exceed the baseline, for differences between JDK builds
+     */
+    private static final double ALLOC_TOLERANCE = 0.03;
+    /**
+     * Least number of bytes per frame allowed above the baseline, for the measurement noise of small values
+     */
+    private static final long MIN_ALLOC_SLACK_BYTES = 16;
+    /**
+     * Fraction the frame time ratios may exceed the baseline before the check fails
+     */
+    private static final double FRAME_TIME_TOLERANCE = 0.5;
+    private static final String JDK = System.getProperty("java.specification.version");
+    private static final Scenario REFERENCE = new ReferenceScenario();
+    private static Properties baseline;
+
+    private interface Scenario {
+        void run(FrameRecorder recorder);
+    }
+
+    @BeforeClass
+    public static void setUp() throws IOException {
+        baseline = new Properties();
+        InputStream in = FrameRegressionTest.class.getResourceAsStream(BASELINE_RESOURCE);
+        if (in != null) {
+            try {
+                baseline.load(in);
+            } finally {
+                in.close();
+            }
+        }
+    }
+
+    @Test
+    public void infiniteProgressPanel() throws IOException {
+        check("InfiniteProgressPanel", new InfiniteProgressPanelScenario());
+    }
+
+    @Test
+    public void actionSpinner() throws IOException {
+        check("ActionSpinner", new ActionSpinnerScenario());
+    }
+
+    private static void check(String name, Scenario scenario) throws IOException {
+        assumeTrue("Allocation measurement not supported", FrameRecorder.isAllocationSupported());
+        assumeTrue("Allocation is only checked with -XX:-DoEscapeAnalysis", isEscapeAnalysisDisabled());
+        Result r = measure(name, scenario);
+        String allocKey = JDK + "." + name + ".allocatedBytesPerFrame";
+        String p50Key = JDK + "." + name + ".p50RelativeToReference";
+        String p90Key = JDK + "." + name + ".p90RelativeToReference";
+        if (Boolean.getBoolean("dswing.regression.update")) {
+            writeBaseline(allocKey, Long.toString(r.allocatedBytesPerFrame));
+            writeBaseline(p50Key, formatRatio(r.p50Ratio));
+            writeBaseline(p90Key, formatRatio(r.p90Ratio));
+            return;
+        }
+        long allocBase = Long.parseLong(getBaseline(allocKey, r.allocatedBytesPerFrame));
+        long allowed = allocBase + Math.max(MIN_ALLOC_SLACK_BYTES, (long) (allocBase * ALLOC_TOLERANCE));
+        assertTrue(name + " allocates " + r.allocatedBytesPerFrame + " bytes per frame, baseline " + allocBase +
+                ", allowed " + allowed, r.allocatedBytesPerFrame <= allowed);
+        checkFrameTime(name + " p50", r.p50Ratio, Double.parseDouble(getBaseline(p50Key, formatRatio(r.p50Ratio))));
+        checkFrameTime(name + " p90", r.p90Ratio, Double.parseDouble(getBaseline(p90Key, formatRatio(r.p90Ratio))));
+    }
+
+    private static String getBaseline(String key, Object measured) {
+        String b = baseline.getProperty(key);
+        assumeTrue("No baseline for " + key + ", measured " + measured, b != null);
+        return b.trim();
+    }
+
+    private static void checkFrameTime(String name, double ratio, double base) {
+        double allowed = base * (1 + FRAME_TIME_TOLERANCE);
+        assertTrue(String.format(Locale.US, "%s frame time is %.4f x reference, baseline %.4f, allowed %.4f",
+                name, ratio, base, allowed), ratio <= allowed);
+    }
+
+    private static String formatRatio(double ratio) {
+        return String.format(Locale.US, "%.4f", ratio);
+    }
+
+    private static boolean isEscapeAnalysisDisabled() {
+        try {
+            HotSpotDiagnosticMXBean bean = ManagementFactory.getPlatformMXBean(HotSpotDiagnosticMXBean.class);
+            return bean != null && "false".equals(bean.getVMOption("DoEscapeAnalysis").getValue());
+        } catch (IllegalArgumentException e) {
+            // Not a HotSpot JVM
+            return false;
+        }
+    }
+
+    /**
+     * Run the scenario, each run right after a run of the reference workload, so that both see the same load
+     * of the machine.
+     */
+    private static Result measure(String name, Scenario scenario) {
+        for (int i = 0; i < WARMUP_RUNS; ++i) {
+            REFERENCE.run(new FrameRecorder());
+            scenario.run(new FrameRecorder());
+        }
+        long[] times = new long[0];
+        double[] p50Ratios = new double[MEASURED_RUNS];
+        double[] p90Ratios = new double[MEASURED_RUNS];
+        long allocatedBytesPerFrame = Long.MAX_VALUE;
+        for (int i = 0; i < MEASURED_RUNS; ++i) {
+            FrameRecorder referenceRecorder = new FrameRecorder();
+            REFERENCE.run(referenceRecorder);
+            FrameRecorder recorder = new FrameRecorder();
+            scenario.run(recorder);
+            long[] t = recorder.getFrameNanos();
+            long[] referenceTimes = referenceRecorder.getFrameNanos();
+            Arrays.sort(referenceTimes);
+            long[] sorted = t.clone();
+            Arrays.sort(sorted);
+            p50Ratios[i] = (double) percentile(sorted, 50) / percentile(referenceTimes, 50);
+            p90Ratios[i] = (double) percentile(sorted, 90) / percentile(referenceTimes, 90);
+            // The least allocating run, other runs include allocation by the JIT compiler and caches
+            allocatedBytesPerFrame = Math.min(allocatedBytesPerFrame, recorder.getAllocatedBytes() / t.length);
+            int n = times.length;
+            times = Arrays.copyOf(times, n + t.length);
+            System.arraycopy(t, 0, times, n, t.length);
+        }
+        Arrays.sort(times);
+        Result r = new Result(median(p50Ratios), median(p90Ratios), allocatedBytesPerFrame);
+        System.out.println(name + ": p50=" + percentile(times, 50) / 1000 + "us p90=" + percentile(times, 90) / 1000 +
+                "us p99=" + percentile(times, 99) / 1000 + "us" +
+                String.format(Locale.US, " (%.4f/%.4f x reference)", r.p50Ratio, r.p90Ratio) +
+                " allocated/frame=" + allocatedBytesPerFrame);
+        return r;
+    }
+
+    private static double median(double[] values) {
+        double[] sorted = values.clone();
+        Arrays.sort(sorted);
+        return sorted[sorted.length / 2];
+    }
+
+    private static long percentile(long[] sorted, int p) {
+        int i = (int) Math.ceil(p / 100.0 * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(sorted.length - 1, i))];
+    }
+
+    private static synchronized void writeBaseline(String key, String value) throws IOException {
+        Map<String, String> values = new TreeMap<String, String>();
+        for (String k : baseline.stringPropertyNames()) {
+            values.put(k, baseline.getProperty(k));
+        }
+        values.put(key, value);
+        baseline.setProperty(key, value);
+        PrintWriter w = new PrintWriter(new FileWriter(BASELINE_FILE));
+        try {
+            w.println("# Bytes allocated per frame and frame time percentiles relative to the reference workload");
+            w.println("# measured by FrameRegressionTest, per java.specification.version");
+            w.println("# Written with -Ddswing.regression.update=true");
+            for (Map.Entry<String, String> e : values.entrySet()) {
+                w.println(e.getKey() + "=" + e.getValue());
+            }
+        } finally {
+            w.close();
+        }
+    }
+
+    private static class Result {
+        private final double p50Ratio;
+        private final double p90Ratio;
+        private final long allocatedBytesPerFrame;
+
+        Result(double p50Ratio, double p90Ratio, long allocatedBytesPerFrame) {
+            this.p50Ratio = p50Ratio;
+            this.p90Ratio = p90Ratio;
+            this.allocatedBytesPerFrame = allocatedBytesPerFrame;
+        }
+    }
+
+    /**
+     * Records the time and the bytes allocated by the current thread for each frame.
+     */
+    private static class FrameRecorder {
+        private static final ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+        private final long threadId = Thread.currentThread().getId();
+        private long[] frameNanos = new long[256];
+        private int frames;
+        private long allocatedBytes;
+        private long frameStart;
+        private long allocationStart;
+
+        static boolean isAllocationSupported() {
+            if (threadBean instanceof com.sun.management.ThreadMXBean &&
+                    ((com.sun.management.ThreadMXBean) threadBean).isThreadAllocatedMemorySupported()) {
+                ((com.sun.management.ThreadMXBean) threadBean).setThreadAllocatedMemoryEnabled(true);
+                return true;
+            }
+            return false;
+        }
+
+        private long allocated() {
+            return threadBean instanceof com.sun.management.ThreadMXBean ?
+                    ((com.sun.management.ThreadMXBean) threadBean).getThreadAllocatedBytes(threadId) : 0;
+        }
+
+        void begin() {
+            allocationStart = allocated();
+            frameStart = System.nanoTime();
+        }
+
+        void end() {
+            long t = System.nanoTime() - frameStart;
+            allocatedBytes += allocated() - allocationStart;
+            if (frames == frameNanos.length) {
+                frameNanos = Arrays.copyOf(frameNanos, frames * 2);
+            }
+            frameNanos[frames++] = t;
+        }
+
+        long[] getFrameNanos() {
+            return Arrays.copyOf(frameNanos, frames);
+        }
+
+        long getAllocatedBytes() {
+            return allocatedBytes;
+        }
+    }
+
+    /**
+     * Fixed antialiased fills of the same size as the veil, giving the frame times a machine dependent scale.
+     */
+    private static class ReferenceScenario implements Scenario {
+        private final BufferedImage image = new BufferedImage(640, 480, BufferedImage.TYPE_INT_ARGB);
+
+        @Override
+        public void run(FrameRecorder recorder) {
+            Graphics2D g = image.createGraphics();
+            try {
+                g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+                for (int i = 0; i < 60; ++i) {
+                    recorder.begin();
+                    g.setColor(new Color(255, 255, 255, 180));
+                    g.fillRect(0, 0, image.getWidth(), image.getHeight());
+                    g.setColor(Color.GRAY);
+                    for (int k = 0; k < 14; ++k) {
+                        g.fillRoundRect(200 + 10 * k, 200, 42, 12, 12, 12);
+                    }
+                    recorder.end();
+                }
+            } finally {
+                g.dispose();
+            }
+        }
+    }
+
+    /**
+     * Fade in, spin and fade out of a window sized veil at the default 15 frames per second.
+     */
+    private static class InfiniteProgressPanelScenario implements Scenario {
+        private static final int SPIN_FRAMES = 60;
+        private final BufferedImage image = new BufferedImage(640, 480, BufferedImage.TYPE_INT_ARGB);
+
+        @Override
+        public void run(FrameRecorder recorder) {
+            SimulatedProgressPanel panel = new SimulatedProgressPanel();
+            panel.setSize(image.getWidth(), image.getHeight());
+            Graphics2D g = image.createGraphics();
+            try {
+                panel.start();
+                panel.stopTimer();
+                int rampFrames = panel.getRampFrames();
+                for (int i = 0; i < rampFrames + SPIN_FRAMES; ++i) {
+                    panel.frame(g, recorder);
+                }
+                panel.stop();
+                panel.stopTimer();
+                for (int i = 0; i < rampFrames; ++i) {
+                    panel.frame(g, recorder);
+                }
+            } finally {
+                g.dispose();
+            }
+        }
+    }
+
+    private static class SimulatedProgressPanel extends InfiniteProgressPanel {
+        private long now;
+
+        SimulatedProgressPanel() {
+            super("Working...");
+            // Not added to a window, so there is no font to inherit
+            setFont(new Font(Font.SANS_SERIF, Font.BOLD, 24));
+        }
+
+        @Override
+        protected long currentTimeMillis() {
+            return now;
+        }
+
+        /**
+         * Animation is driven by the scenario, not by the timer.
+         */
+        void stopTimer() {
+            if (animationTimer != null) {
+                animationTimer.stop();
+            }
+        }
+
+        int getRampFrames() {
+            return (int) Math.ceil(rampDelay * fps / 1000f) + 1;
+        }
+
+        void frame(Graphics2D g, FrameRecorder recorder) {
+            now += (long) (1000f / fps);
+            recorder.begin();
+            actionPerformed(null);
+            paintComponent(g);
+            recorder.end();
+        }
+    }
+
+    /**
+     * A spinner ticked by a 20 Hz action, then left idle until it hides.
+     */
+    private static class ActionSpinnerScenario implements Scenario {
+        private static final int FRAME_MILLIS = 50;
+        private static final int IDLE_MILLIS = 500;
+        private static final int TICK_FRAMES = 40;
+        private static final int IDLE_FRAMES = 2 * IDLE_MILLIS / FRAME_MILLIS;
+        private final BufferedImage image = new BufferedImage(30, 30, BufferedImage.TYPE_INT_ARGB);
+
+        @Override
+        public void run(FrameRecorder recorder) {
+            SimulatedSpinner spinner = new SimulatedSpinner(IDLE_MILLIS);
+            Graphics2D g = image.createGraphics();
+            try {
+                for (int i = 0; i < TICK_FRAMES + IDLE_FRAMES; ++i) {
+                    spinner.now += FRAME_MILLIS;
+                    recorder.begin();
+                    if (i < TICK_FRAMES) {
+                        spinner.tick();
+                    }
+                    spinner.paint(g);
+                    recorder.end();
+                }
+            } finally {
+                g.dispose();
+            }
+        }
+    }
+
+    private static class SimulatedSpinner extends ActionSpinner {
+        private long now;
+
+        SimulatedSpinner(int msecIdleBeforeInvisible) {
+            super(msecIdleBeforeInvisible);
+        }
+
+        @Override
+        protected long currentTimeMillis() {
+            return now;
+        }
+    }
+}
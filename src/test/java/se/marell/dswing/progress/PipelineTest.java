@@ -0,0 +1,215 @@
+/*
+ * Copyright (c) 2026 Daniel Marell
+ * All rights reserved.
+ *
+ * Permission is hereby granted, free  of charge, to any person obtaining
+ * a  copy  of this  software  and  associated  documentation files  (the
+ * "Software"), to  deal in  the Software without  restriction, including
+ * without limitation  the rights to  use, copy, modify,  merge, publish,
+ * distribute,  sublicense, and/or sell  copies of  the Software,  and to
+ * permit persons to whom the Software  is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The  above  copyright  notice  and  this permission  notice  shall  be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE  SOFTWARE IS  PROVIDED  "AS  IS", WITHOUT  WARRANTY  OF ANY  KIND,
+ * EXPRESS OR  IMPLIED, INCLUDING  BUT NOT LIMITED  TO THE  WARRANTIES OF
+ * MERCHANTABILITY,    FITNESS    FOR    A   PARTICULAR    PURPOSE    AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE,  ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package se.marell.dswing.progress;
+
+import org.junit.Test;
+import se.marell.dcommons.progress.ProgressTracker;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class PipelineTest {
+    private static class NullTracker implements ProgressTracker {
+        private volatile boolean cancelled;
+        private volatile float progress;
+
+        @Override
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        @Override
+        public void setTotalProgress(float value) {
+            progress = value;
+        }
+
+        @Override
+        public void setProgressLabel(String text) {
+        }
+
+        @Override
+        public void activityReport(int count) {
+        }
+    }
+
+    @Test
+    public void secondRunFails() {
+        Pipeline pipeline = new Pipeline(10).add(new PipelineStage<Void, Void>("source", 1) {
+            @Override
+            protected void process(Void item, Output<Void> out) {
+            }
+        });
+        pipeline.run(new NullTracker());
+        try {
+            pipeline.run(new NullTracker());
+            fail("Pipeline ran twice");
+        } catch (IllegalStateException e) {
+            assertEquals("Pipeline can only be run once", e.getMessage());
+        }
+    }
+
+    @Test(timeout = 10000)
+    public void stagesRunConcurrently() throws Exception {
+        final CountDownLatch received = new CountDownLatch(1);
+        final boolean[] sourceSawSink = new boolean[1];
+        Pipeline pipeline = new Pipeline(10)
+                .add(new PipelineStage<Void, Integer>("source", 1) {
+                    @Override
+                    protected void process(Void item, Output<Integer> out) throws Exception {
+                        out.emit(1);
+                        // Only returns if the sink runs while the source is still running
+                        sourceSawSink[0] = received.await(5, TimeUnit.SECONDS);
+                    }
+                })
+                .add(new PipelineStage<Integer, Void>("sink", 1) {
+                    @Override
+                    protected void process(Integer item, Output<Void> out) {
+                        received.countDown();
+                    }
+                });
+        pipeline.run(new NullTracker());
+        assertTrue("Sink did not run concurrently with the source", sourceSawSink[0]);
+    }
+
+    @Test(timeout = 10000)
+    public void fullQueueBlocksUpstreamStage() throws Exception {
+        final int capacity = 2;
+        final int items = 20;
+        final CountDownLatch gate = new CountDownLatch(1);
+        final PipelineStage<Void, Integer> source = new PipelineStage<Void, Integer>("source", 1) {
+            @Override
+            protected void process(Void item, Output<Integer> out) throws Exception {
+                for (int i = 0; i < items; ++i) {
+                    out.emit(i);
+                }
+            }
+        };
+        final PipelineStage<Integer, Void> sink = new PipelineStage<Integer, Void>("sink", 1) {
+            @Override
+            protected void process(Integer item, Output<Void> out) throws Exception {
+                gate.await();
+            }
+        };
+        final Pipeline pipeline = new Pipeline(capacity).add(source).add(sink);
+        Thread runner = runInBackground(pipeline);
+
+        // One item taken by the blocked sink, a full queue and one item waiting to be put
+        while (source.getEmittedCount() < capacity + 2) {
+            Thread.sleep(10);
+        }
+        Thread.sleep(200);
+        assertEquals(capacity + 2, source.getEmittedCount());
+        assertEquals(1f, sink.getQueueOccupancy(), 0);
+        assertFalse(source.isDone());
+
+        gate.countDown();
+        runner.join();
+        assertEquals(items, source.getEmittedCount());
+        assertEquals(items, sink.getProcessedCount());
+    }
+
+    @Test(timeout = 10000)
+    public void progressIsWeightedAverageOfStages() throws Exception {
+        final CountDownLatch sinkBlocked = new CountDownLatch(1);
+        final CountDownLatch gate = new CountDownLatch(1);
+        final Pipeline pipeline = new Pipeline(10)
+                .add(new PipelineStage<Void, Integer>("source", 3) {
+                    @Override
+                    protected void process(Void item, Output<Integer> out) throws Exception {
+                        out.setProgress(0.5f);
+                        out.emit(1);
+                        out.emit(2);
+                        gate.await();
+                        out.setProgress(1);
+                    }
+                })
+                .add(new PipelineStage<Integer, Void>("sink", 1) {
+                    @Override
+                    protected void process(Integer item, Output<Void> out) throws Exception {
+                        if (item == 2) {
+                            sinkBlocked.countDown();
+                            gate.await();
+                        }
+                    }
+                });
+        NullTracker tracker = new NullTracker();
+        Thread runner = runInBackground(pipeline, tracker);
+
+        assertTrue(sinkBlocked.await(5, TimeUnit.SECONDS));
+        // Source at 0.5 with weight 3, sink has processed one of two items of the source, 0.25 with weight 1
+        assertEquals((3 * 0.5f + 0.25f) / 4, pipeline.getProgress(), 1e-6f);
+
+        gate.countDown();
+        runner.join();
+        assertEquals(1f, pipeline.getProgress(), 0);
+        assertEquals(1f, tracker.progress, 0);
+    }
+
+    @Test(timeout = 10000)
+    public void cancelledTrackerStopsAllStages() {
+        final NullTracker tracker = new NullTracker();
+        PipelineStage<Void, Integer> source = new PipelineStage<Void, Integer>("source", 1) {
+            @Override
+            protected void process(Void item, Output<Integer> out) throws Exception {
+                for (int i = 0; ; ++i) {
+                    if (i == 100) {
+                        tracker.cancelled = true;
+                    }
+                    out.emit(i);
+                }
+            }
+        };
+        PipelineStage<Integer, Void> sink = new PipelineStage<Integer, Void>("sink", 1) {
+            @Override
+            protected void process(Integer item, Output<Void> out) {
+            }
+        };
+        Pipeline pipeline = new Pipeline(10).add(source).add(sink);
+        pipeline.run(tracker);
+        assertTrue(pipeline.isCancelled());
+        assertFalse(source.isDone());
+        assertFalse(sink.isDone());
+        assertTrue(source.getEmittedCount() >= 100);
+    }
+
+    private static Thread runInBackground(Pipeline pipeline) {
+        return runInBackground(pipeline, new NullTracker());
+    }
+
+    private static Thread runInBackground(final Pipeline pipeline, final NullTracker tracker) {
+        Thread t = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                pipeline.run(tracker);
+            }
+        }, "PipelineTest");
+        t.start();
+        return t;
+    }
+}
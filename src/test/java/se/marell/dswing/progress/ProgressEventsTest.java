@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2026 Daniel Marell
+ * All rights reserved.
+ *
+ * Permission is hereby granted, free  of charge, to any person obtaining
+ * a  copy  of this  software  and  associated  documentation files  (the
+ * "Software"), to  deal in  the Software without  restriction, including
+ * without limitation  the rights to  use, copy, modify,  merge, publish,
+ * distribute,  sublicense, and/or sell  copies of  the Software,  and to
+ * permit persons to whom the Software  is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The  above  copyright  notice  and  this permission  notice  shall  be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE  SOFTWARE IS  PROVIDED  "AS  IS", WITHOUT  WARRANTY  OF ANY  KIND,
+ * EXPRESS OR  IMPLIED, INCLUDING  BUT NOT LIMITED  TO THE  WARRANTIES OF
+ * MERCHANTABILITY,    FITNESS    FOR    A   PARTICULAR    PURPOSE    AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE,  ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package se.marell.dswing.progress;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ProgressEventsTest {
+    private final List<ProgressEvent> events = Collections.synchronizedList(new ArrayList<ProgressEvent>());
+    private final ProgressEventListener failingListener = new ProgressEventListener() {
+        @Override
+        public void progressEvent(ProgressEvent event) {
+            throw new IllegalStateException("Listener failure");
+        }
+    };
+    private final ProgressEventListener recordingListener = new ProgressEventListener() {
+        @Override
+        public void progressEvent(ProgressEvent event) {
+            if (event.getType() != ProgressEvent.Type.PROGRESS_DISPATCHED) {
+                events.add(event);
+            }
+        }
+    };
+
+    @After
+    public void removeListeners() {
+        ProgressEvents.removeListener(failingListener);
+        ProgressEvents.removeListener(recordingListener);
+    }
+
+    private static void runWorker() throws InterruptedException {
+        final CountDownLatch ended = new CountDownLatch(1);
+        new ProgressWorker(new SilentProgressDispatcher()) {
+            @Override
+            protected void runTask() {
+            }
+
+            @Override
+            protected void notifyProgressValueChanged(float value) {
+            }
+
+            @Override
+            protected void notifyProgressTextChanged(String text) {
+            }
+
+            @Override
+            protected void notifyTaskEnded(boolean cancelled) {
+                ended.countDown();
+            }
+        }.start();
+        assertTrue("Task did not end", ended.await(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void failingListenerDoesNotStopDelivery() throws Exception {
+        ProgressEvents.addListener(failingListener);
+        ProgressEvents.addListener(recordingListener);
+        runWorker();
+        assertEquals(3, events.size());
+    }
+
+    @Test
+    public void eventsOfRunShareRunId() throws Exception {
+        ProgressEvents.addListener(recordingListener);
+        runWorker();
+        runWorker();
+        assertEquals(6, events.size());
+        for (int run = 0; run < 2; ++run) {
+            long runId = events.get(run * 3).getRunId();
+            assertEquals(ProgressEvent.Type.TASK_QUEUED, events.get(run * 3).getType());
+            assertEquals(runId, events.get(run * 3 + 1).getRunId());
+            assertEquals(ProgressEvent.Type.TASK_STARTED, events.get(run * 3 + 1).getType());
+            assertEquals(runId, events.get(run * 3 + 2).getRunId());
+            assertEquals(ProgressEvent.Type.TASK_ENDED, events.get(run * 3 + 2).getType());
+        }
+        assertTrue(events.get(0).getRunId() != events.get(3).getRunId());
+    }
+}
@@ -0,0 +1,224 @@
+/*
+ * Copyright (c) 2026 Daniel Marell
+ * All rights reserved.
+ *
+ * Permission is hereby granted, free  of charge, to any person obtaining
+ * a  copy  of this  software  and  associated  documentation files  (the
+ * "Software"), to  deal in  the Software without  restriction, including
+ * without limitation  the rights to  use, copy, modify,  merge, publish,
+ * distribute,  sublicense, and/or sell  copies of  the Software,  and to
+ * permit persons to whom the Software  is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The  above  copyright  notice  and  this permission  notice  shall  be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE  SOFTWARE IS  PROVIDED  "AS  IS", WITHOUT  WARRANTY  OF ANY  KIND,
+ * EXPRESS OR  IMPLIED, INCLUDING  BUT NOT LIMITED  TO THE  WARRANTIES OF
+ * MERCHANTABILITY,    FITNESS    FOR    A   PARTICULAR    PURPOSE    AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE,  ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package se.marell.dswing.progress;
+
+import org.junit.After;
+import org.junit.Test;
+
+import javax.swing.*;
+import java.awt.*;
+import java.lang.ref.WeakReference;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeFalse;
+
+/**
+ * Checks that a finished ProgressWorkerPopup releases its swing objects even while the popup itself is still
+ * referenced, for example by a lingering listener. Each check holds only a weak reference to the object expected
+ * to be collectable and runs the garbage collector until it is cleared. Checks with a dialog need a display.
+ */
+public class ProgressWorkerPopupLeakTest {
+    private static final int GC_ATTEMPTS = 100;
+
+    /**
+     * Plays the part of a lingering listener referencing the finished popup.
+     */
+    private LatchPopup lingering;
+    private JFrame frame;
+
+    @After
+    public void tearDown() throws Exception {
+        if (frame != null) {
+            SwingUtilities.invokeAndWait(new Runnable() {
+                @Override
+                public void run() {
+                    frame.dispose();
+                }
+            });
+        }
+    }
+
+    @Test
+    public void progressBarsReleased() throws Exception {
+        lingering = new LatchPopup(null, false);
+        SwingUtilities.invokeAndWait(new Runnable() {
+            @Override
+            public void run() {
+                lingering.createComponents();
+                lingering.start();
+            }
+        });
+        WeakReference<JProgressBar> bar = new WeakReference<JProgressBar>(lingering.getBar());
+        WeakReference<LeanProgressBar> leanBar = new WeakReference<LeanProgressBar>(lingering.getLeanBar());
+        lingering.awaitEnded();
+        assertCollected("JProgressBar", bar);
+        assertCollected("LeanProgressBar", leanBar);
+        assertTrue(lingering.ended.getCount() == 0);
+    }
+
+    @Test
+    public void progressDialogReleased() throws Exception {
+        assumeFalse("Needs a display", GraphicsEnvironment.isHeadless());
+        startWithOwner();
+        WeakReference<Window> dialog = new WeakReference<Window>(lingering.getDialog());
+        assertTrue("No progress dialog", dialog.get() instanceof JDialog);
+        lingering.release();
+        lingering.awaitEnded();
+        assertCollected("Progress dialog", dialog);
+    }
+
+    @Test
+    public void ownerReleased() throws Exception {
+        assumeFalse("Needs a display", GraphicsEnvironment.isHeadless());
+        startWithOwner();
+        lingering.release();
+        lingering.awaitEnded();
+        SwingUtilities.invokeAndWait(new Runnable() {
+            @Override
+            public void run() {
+                frame.dispose();
+            }
+        });
+        WeakReference<JFrame> owner = new WeakReference<JFrame>(frame);
+        frame = null;
+        assertCollected("Owner window", owner);
+    }
+
+    private void startWithOwner() throws Exception {
+        SwingUtilities.invokeAndWait(new Runnable() {
+            @Override
+            public void run() {
+                frame = new JFrame("Leak check");
+                frame.getContentPane().add(new JScrollPane(new JTable(100, 10)));
+                frame.pack();
+                frame.setVisible(true);
+                lingering = new LatchPopup(frame, true);
+                lingering.start();
+            }
+        });
+    }
+
+    private static void assertCollected(String name, WeakReference<?> ref) throws Exception {
+        for (int i = 0; i < GC_ATTEMPTS && ref.get() != null; ++i) {
+            // Let pending window and focus events run, they may still reference a disposed dialog
+            SwingUtilities.invokeAndWait(new Runnable() {
+                @Override
+                public void run() {
+                }
+            });
+            System.gc();
+            Thread.sleep(20);
+        }
+        assertNull(name + " of a referenced finished ProgressWorkerPopup was retained", ref.get());
+    }
+
+    private static class LatchPopup extends ProgressWorkerPopup {
+        private final CountDownLatch ended = new CountDownLatch(1);
+        private final CountDownLatch released = new CountDownLatch(1);
+        private final boolean waitForRelease;
+        private JPanel dialogPanel;
+
+        LatchPopup(Window owner, boolean useProgressDialog) {
+            super(owner, "Leak check", 20, owner != null, 0, useProgressDialog, useProgressDialog);
+            waitForRelease = useProgressDialog;
+        }
+
+        void createComponents() {
+            createProgressBar();
+            setLeanProgressBar(new LeanProgressBar());
+        }
+
+        JProgressBar getBar() {
+            return getProgressBar();
+        }
+
+        LeanProgressBar getLeanBar() {
+            return getLeanProgressBar();
+        }
+
+        @Override
+        protected JPanel createDialogPanel() {
+            dialogPanel = super.createDialogPanel();
+            return dialogPanel;
+        }
+
+        /**
+         * @return The progress dialog while the task runs
+         */
+        Window getDialog() throws Exception {
+            final Window[] dialog = new Window[1];
+            for (int i = 0; i < 250 && dialog[0] == null; ++i) {
+                // The dialog pops up from the update timer
+                Thread.sleep(20);
+                SwingUtilities.invokeAndWait(new Runnable() {
+                    @Override
+                    public void run() {
+                        if (dialogPanel != null) {
+                            dialog[0] = SwingUtilities.getWindowAncestor(dialogPanel);
+                            dialogPanel = null;
+                        }
+                    }
+                });
+            }
+            return dialog[0];
+        }
+
+        void release() {
+            released.countDown();
+        }
+
+        void awaitEnded() throws Exception {
+            assertTrue("Task did not end", ended.await(30, TimeUnit.SECONDS));
+            // Let the swing thread finish the completion
+            SwingUtilities.invokeAndWait(new Runnable() {
+                @Override
+                public void run() {
+                }
+            });
+        }
+
+        @Override
+        protected void runTask() {
+            try {
+                if (waitForRelease) {
+                    released.await(30, TimeUnit.SECONDS);
+                }
+                for (int i = 0; i <= 10; ++i) {
+                    setProgressValue(i / 10f);
+                    Thread.sleep(20);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        @Override
+        protected void notifyTaskEnded(boolean cancelled) {
+            ended.countDown();
+        }
+    }
+}
@@ -0,0 +1,185 @@
+/*
+ * Copyright (c) 2026 Daniel Marell
+ * All rights reserved.
+ *
+ * Permission is hereby granted, free  of charge, to any person obtaining
+ * a  copy  of this  software  and  associated  documentation files  (the
+ * "Software"), to  deal in  the Software without  restriction, including
+ * without limitation  the rights to  use, copy, modify,  merge, publish,
+ * distribute,  sublicense, and/or sell  copies of  the Software,  and to
+ * permit persons to whom the Software  is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The  above  copyright  notice  and  this permission  notice  shall  be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE  SOFTWARE IS  PROVIDED  "AS  IS", WITHOUT  WARRANTY  OF ANY  KIND,
+ * EXPRESS OR  IMPLIED, INCLUDING  BUT NOT LIMITED  TO THE  WARRANTIES OF
+ * MERCHANTABILITY,    FITNESS    FOR    A   PARTICULAR    PURPOSE    AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE,  ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package se.marell.dswing.progress;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ProgressWorkerTest {
+    private static final int RECURRENCE_PERIOD = 20;
+
+    /**
+     * Runs a hook before the recurrence ticker is restarted and tracks whether that ticker is running.
+     */
+    private static class HookedDispatcher implements ProgressDispatcher {
+        private final ProgressDispatcher dispatcher = new SilentProgressDispatcher();
+        private volatile Runnable beforeRestart;
+        private volatile boolean recurrenceTickerRunning;
+
+        @Override
+        public void execute(Runnable task, Runnable completion) {
+            dispatcher.execute(task, completion);
+        }
+
+        @Override
+        public Ticker schedule(Runnable action, int periodMillis) {
+            final Ticker ticker = dispatcher.schedule(action, periodMillis);
+            if (periodMillis != RECURRENCE_PERIOD) {
+                return ticker;
+            }
+            recurrenceTickerRunning = true;
+            return new Ticker() {
+                @Override
+                public void stop() {
+                    ticker.stop();
+                    recurrenceTickerRunning = false;
+                }
+
+                @Override
+                public void restart() {
+                    Runnable hook = beforeRestart;
+                    if (hook != null) {
+                        hook.run();
+                    }
+                    ticker.restart();
+                    recurrenceTickerRunning = true;
+                }
+            };
+        }
+
+        @Override
+        public void progressChanged(float value, String text) {
+        }
+    }
+
+    private static class RecordingWorker extends ProgressWorker {
+        private final List<Boolean> cancelledAtStart = Collections.synchronizedList(new ArrayList<Boolean>());
+        private final List<Boolean> cancelledAtEnd = Collections.synchronizedList(new ArrayList<Boolean>());
+        private final CountDownLatch ended;
+
+        RecordingWorker(int runs) {
+            super(new SilentProgressDispatcher());
+            ended = new CountDownLatch(runs);
+        }
+
+        @Override
+        protected void runTask() {
+            cancelledAtStart.add(isCancelled());
+            if (cancelledAtStart.size() == 1) {
+                cancelTask();
+            }
+        }
+
+        @Override
+        protected void notifyProgressValueChanged(float value) {
+        }
+
+        @Override
+        protected void notifyProgressTextChanged(String text) {
+        }
+
+        @Override
+        protected void notifyTaskEnded(boolean cancelled) {
+            cancelledAtEnd.add(cancelled);
+            ended.countDown();
+        }
+
+        void await() throws InterruptedException {
+            assertTrue("Task did not end", ended.await(10, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    public void stopRecurringWhileCompletionRestartsTickerStopsTicker() throws Exception {
+        HookedDispatcher dispatcher = new HookedDispatcher();
+        final CountDownLatch ended = new CountDownLatch(1);
+        final ProgressWorker worker = new ProgressWorker(dispatcher) {
+            @Override
+            protected void runTask() {
+            }
+
+            @Override
+            protected void notifyProgressValueChanged(float value) {
+            }
+
+            @Override
+            protected void notifyProgressTextChanged(String text) {
+            }
+
+            @Override
+            protected void notifyTaskEnded(boolean cancelled) {
+                ended.countDown();
+            }
+        };
+        // Stop between the completion reading the ticker and restarting it
+        dispatcher.beforeRestart = new Runnable() {
+            @Override
+            public void run() {
+                worker.stopRecurring();
+            }
+        };
+        worker.startRecurring(RECURRENCE_PERIOD, ProgressWorker.Recurrence.FIXED_DELAY,
+                ProgressWorker.OverlapPolicy.SKIP);
+        assertTrue("Task did not end", ended.await(10, TimeUnit.SECONDS));
+        long deadline = System.currentTimeMillis() + 2000;
+        while (dispatcher.recurrenceTickerRunning && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertFalse("Recurrence ticker still running", dispatcher.recurrenceTickerRunning);
+        Thread.sleep(5 * RECURRENCE_PERIOD);
+        assertEquals(1, worker.getRunCount());
+    }
+
+    @Test
+    public void cancelBeforeStartCancelsRun() throws Exception {
+        RecordingWorker worker = new RecordingWorker(1);
+        worker.cancelTask();
+        worker.start();
+        worker.await();
+        assertEquals(Collections.singletonList(true), worker.cancelledAtStart);
+        assertEquals(Collections.singletonList(true), worker.cancelledAtEnd);
+    }
+
+    @Test
+    public void cancelAppliesOnlyToCurrentRecurringRun() throws Exception {
+        RecordingWorker worker = new RecordingWorker(3);
+        worker.startRecurring(20, ProgressWorker.Recurrence.FIXED_DELAY, ProgressWorker.OverlapPolicy.SKIP);
+        worker.await();
+        worker.stopRecurring();
+        assertEquals(false, worker.cancelledAtStart.get(0));
+        assertEquals(true, worker.cancelledAtEnd.get(0));
+        assertEquals(false, worker.cancelledAtStart.get(1));
+        assertEquals(false, worker.cancelledAtEnd.get(1));
+        assertEquals(false, worker.cancelledAtStart.get(2));
+    }
+}
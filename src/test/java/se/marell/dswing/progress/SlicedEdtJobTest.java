@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2026 Daniel Marell
+ * All rights reserved.
+ *
+ * Permission is hereby granted, free  of charge, to any person obtaining
+ * a  copy  of this  software  and  associated  documentation files  (the
+ * "Software"), to  deal in  the Software without  restriction, including
+ * without limitation  the rights to  use, copy, modify,  merge, publish,
+ * distribute,  sublicense, and/or sell  copies of  the Software,  and to
+ * permit persons to whom the Software  is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The  above  copyright  notice  and  this permission  notice  shall  be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE  SOFTWARE IS  PROVIDED  "AS  IS", WITHOUT  WARRANTY  OF ANY  KIND,
+ * EXPRESS OR  IMPLIED, INCLUDING  BUT NOT LIMITED  TO THE  WARRANTIES OF
+ * MERCHANTABILITY,    FITNESS    FOR    A   PARTICULAR    PURPOSE    AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE,  ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package se.marell.dswing.progress;
+
+import org.junit.Test;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.KeyEvent;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class SlicedEdtJobTest {
+    private static final Runnable NOOP = new Runnable() {
+        @Override
+        public void run() {
+        }
+    };
+
+    /**
+     * Job posting one non-input event per chunk, like a model update on a showing table posting a repaint.
+     */
+    private static class PostingJob extends SlicedEdtJob {
+        private final CountDownLatch ended = new CountDownLatch(1);
+        private final int chunks;
+        private final Runnable perChunk;
+        private int chunk;
+
+        PostingJob(int chunks, Runnable perChunk) {
+            this.chunks = chunks;
+            this.perChunk = perChunk;
+        }
+
+        @Override
+        protected boolean runChunk() {
+            perChunk.run();
+            return ++chunk == chunks;
+        }
+
+        @Override
+        protected void jobEnded(boolean cancelled) {
+            ended.countDown();
+        }
+
+        void await() throws InterruptedException {
+            assertTrue("Job did not end", ended.await(30, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    public void nonInputEventsDoNotEndSlice() throws Exception {
+        PostingJob job = new PostingJob(5000, new Runnable() {
+            @Override
+            public void run() {
+                EventQueue.invokeLater(NOOP);
+            }
+        });
+        job.start();
+        job.await();
+        assertEquals(5000, job.getChunkCount());
+        assertTrue("Too many slices: " + job, job.getSliceCount() * 10 < job.getChunkCount());
+    }
+
+    @Test
+    public void inputEventEndsSlice() throws Exception {
+        final JPanel source = new JPanel();
+        PostingJob job = new PostingJob(100, new Runnable() {
+            @Override
+            public void run() {
+                Toolkit.getDefaultToolkit().getSystemEventQueue().postEvent(new KeyEvent(source, KeyEvent.KEY_TYPED,
+                        System.currentTimeMillis(), 0, KeyEvent.VK_UNDEFINED, 'x'));
+            }
+        });
+        job.start();
+        job.await();
+        assertEquals(100, job.getSliceCount());
+    }
+}
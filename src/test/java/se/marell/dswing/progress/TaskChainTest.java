@@ -0,0 +1,243 @@
+/*
+ * Copyright (c) 2026 Daniel Marell
+ * All rights reserved.
+ *
+ * Permission is hereby granted, free  of charge, to any person obtaining
+ * a  copy  of this  software  and  associated  documentation files  (the
+ * "Software"), to  deal in  the Software without  restriction, including
+ * without limitation  the rights to  use, copy, modify,  merge, publish,
+ * distribute,  sublicense, and/or sell  copies of  the Software,  and to
+ * permit persons to whom the Software  is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The  above  copyright  notice  and  this permission  notice  shall  be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE  SOFTWARE IS  PROVIDED  "AS  IS", WITHOUT  WARRANTY  OF ANY  KIND,
+ * EXPRESS OR  IMPLIED, INCLUDING  BUT NOT LIMITED  TO THE  WARRANTIES OF
+ * MERCHANTABILITY,    FITNESS    FOR    A   PARTICULAR    PURPOSE    AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE,  ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package se.marell.dswing.progress;
+
+import org.junit.Test;
+import se.marell.dcommons.progress.ProgressTracker;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class TaskChainTest {
+    private static class RecordingTracker implements ProgressTracker {
+        private final List<Float> progress = new ArrayList<Float>();
+        private final List<String> labels = new ArrayList<String>();
+        private volatile boolean cancelled;
+
+        @Override
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        @Override
+        public void setTotalProgress(float value) {
+            progress.add(value);
+        }
+
+        @Override
+        public void setProgressLabel(String text) {
+            labels.add(text);
+        }
+
+        @Override
+        public void activityReport(int count) {
+        }
+    }
+
+    private static class FailingStep implements TaskChain.Step<Void, String> {
+        private final Exception exception;
+
+        FailingStep(Exception exception) {
+            this.exception = exception;
+        }
+
+        @Override
+        public String run(Void input, ProgressTracker tracker) throws Exception {
+            throw exception;
+        }
+    }
+
+    private static final Runnable NO_CANCEL = new Runnable() {
+        @Override
+        public void run() {
+            fail("Cancelled a completed future");
+        }
+    };
+
+    private static TaskChain<String> constant(final String value) {
+        return TaskChain.first("constant", 1, new TaskChain.Step<Void, String>() {
+            @Override
+            public String run(Void input, ProgressTracker tracker) {
+                return value;
+            }
+        });
+    }
+
+    @Test
+    public void stepProgressIsMappedToItsShareOfTheChain() throws Exception {
+        TaskChain<Integer> chain = TaskChain.first("first", 3, new TaskChain.Step<Void, String>() {
+            @Override
+            public String run(Void input, ProgressTracker tracker) {
+                tracker.setTotalProgress(0);
+                tracker.setTotalProgress(0.5f);
+                tracker.setTotalProgress(2);
+                return "abc";
+            }
+        }).then("second", 1, new TaskChain.Step<String, Integer>() {
+            @Override
+            public Integer run(String input, ProgressTracker tracker) {
+                tracker.setTotalProgress(0.5f);
+                return input.length();
+            }
+        });
+        RecordingTracker tracker = new RecordingTracker();
+        assertEquals(Integer.valueOf(3), chain.run(tracker));
+        assertEquals(Arrays.asList("first", "second"), tracker.labels);
+        assertEquals(Arrays.asList(0f, 0.375f, 0.75f, 0.75f, 0.875f, 1f), tracker.progress);
+    }
+
+    @Test
+    public void cancelBetweenStepsSkipsRemainingSteps() {
+        final RecordingTracker tracker = new RecordingTracker();
+        final boolean[] secondRan = new boolean[1];
+        TaskChain<String> chain = TaskChain.first("first", 1, new TaskChain.Step<Void, String>() {
+            @Override
+            public String run(Void input, ProgressTracker t) {
+                tracker.cancelled = true;
+                return "first";
+            }
+        }).then("second", 1, new TaskChain.Step<String, String>() {
+            @Override
+            public String run(String input, ProgressTracker t) {
+                secondRan[0] = true;
+                return "second";
+            }
+        });
+        ProgressFuture<String> future = new ProgressFuture<String>(NO_CANCEL);
+        future.run(chain, tracker);
+        assertFalse(secondRan[0]);
+        assertTrue(future.isDone());
+        assertTrue(future.isCancelled());
+        try {
+            future.get();
+            fail("Got the result of a cancelled chain");
+        } catch (CancellationException e) {
+            // Expected
+        } catch (Exception e) {
+            fail("Unexpected " + e);
+        }
+    }
+
+    @Test
+    public void checkedStepFailureIsWrapped() throws Exception {
+        IOException failure = new IOException("disk full");
+        ProgressFuture<String> future = new ProgressFuture<String>(NO_CANCEL);
+        try {
+            future.run(TaskChain.first("failing", 1, new FailingStep(failure)), new RecordingTracker());
+            fail("Failure not rethrown");
+        } catch (IllegalStateException e) {
+            assertSame(failure, e.getCause());
+        }
+        assertTrue(future.isDone());
+        assertTrue(future.isFailed());
+        try {
+            future.get();
+            fail("Got the result of a failed chain");
+        } catch (ExecutionException e) {
+            assertSame(failure, e.getCause());
+        }
+    }
+
+    @Test
+    public void uncheckedStepFailureIsRethrown() throws Exception {
+        IllegalArgumentException failure = new IllegalArgumentException("bad input");
+        ProgressFuture<String> future = new ProgressFuture<String>(NO_CANCEL);
+        try {
+            future.run(TaskChain.first("failing", 1, new FailingStep(failure)), new RecordingTracker());
+            fail("Failure not rethrown");
+        } catch (IllegalArgumentException e) {
+            assertSame(failure, e);
+        }
+        try {
+            future.get();
+            fail("Got the result of a failed chain");
+        } catch (ExecutionException e) {
+            assertSame(failure, e.getCause());
+        }
+    }
+
+    @Test
+    public void cancelAfterCompletionKeepsResult() throws Exception {
+        ProgressFuture<String> future = new ProgressFuture<String>(NO_CANCEL);
+        future.run(constant("result"), new RecordingTracker());
+        assertFalse(future.cancel(true));
+        assertFalse(future.isCancelled());
+        assertEquals("result", future.get());
+    }
+
+    @Test
+    public void cancelBeforeCompletionCancelsTask() {
+        final boolean[] cancelled = new boolean[1];
+        ProgressFuture<String> future = new ProgressFuture<String>(new Runnable() {
+            @Override
+            public void run() {
+                cancelled[0] = true;
+            }
+        });
+        assertTrue(future.cancel(false));
+        assertTrue(cancelled[0]);
+        assertTrue(future.isCancelled());
+        // The task completing later does not replace the cancellation
+        future.run(constant("late"), new RecordingTracker());
+        assertTrue(future.isCancelled());
+    }
+
+    @Test
+    public void chainWorkerCannotRecur() {
+        ChainProgressWorker<String> worker = new ChainProgressWorker<String>(new SilentProgressDispatcher()) {
+            @Override
+            protected TaskChain<String> createTaskChain() {
+                return constant("result");
+            }
+
+            @Override
+            protected void notifyProgressValueChanged(float value) {
+            }
+
+            @Override
+            protected void notifyProgressTextChanged(String text) {
+            }
+
+            @Override
+            protected void notifyTaskEnded(boolean cancelled) {
+            }
+        };
+        try {
+            worker.startRecurring(100, ProgressWorker.Recurrence.FIXED_RATE, ProgressWorker.OverlapPolicy.SKIP);
+            fail("Chain worker started recurring");
+        } catch (UnsupportedOperationException e) {
+            assertFalse(worker.isRecurring());
+        }
+    }
+}
@@ -0,0 +1,168 @@
+/*
+ * Copyright (c) 2026 Daniel Marell
+ * All rights reserved.
+ *
+ * Permission is hereby granted, free  of charge, to any person obtaining
+ * a  copy  of this  software  and  associated  documentation files  (the
+ * "Software"), to  deal in  the Software without  restriction, including
+ * without limitation  the rights to  use, copy, modify,  merge, publish,
+ * distribute,  sublicense, and/or sell  copies of  the Software,  and to
+ * permit persons to whom the Software  is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The  above  copyright  notice  and  this permission  notice  shall  be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE  SOFTWARE IS  PROVIDED  "AS  IS", WITHOUT  WARRANTY  OF ANY  KIND,
+ * EXPRESS OR  IMPLIED, INCLUDING  BUT NOT LIMITED  TO THE  WARRANTIES OF
+ * MERCHANTABILITY,    FITNESS    FOR    A   PARTICULAR    PURPOSE    AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE,  ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package se.marell.dswing.util;
+
+import org.junit.Test;
+
+import javax.swing.*;
+import java.awt.*;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Compares the bounds set by CachedGridBagLayout with the bounds set by GridBagLayout for the same forms.
+ */
+public class CachedGridBagLayoutTest {
+    private static final Insets PARENT_INSETS = new Insets(3, 7, 5, 11);
+    private static final Dimension[] SIZES = {
+            new Dimension(600, 400), new Dimension(311, 157), new Dimension(120, 60)};
+
+    /**
+     * Component with fixed preferred and minimum sizes, independent of fonts and look and feel.
+     */
+    private static class Block extends JComponent {
+        Block(int preferredWidth, int preferredHeight) {
+            setPreferredSize(new Dimension(preferredWidth, preferredHeight));
+            setMinimumSize(new Dimension(preferredWidth / 2, preferredHeight / 2));
+        }
+    }
+
+    private interface Form {
+        void build(Container parent);
+    }
+
+    private static GridBagConstraints constraints(int gridx, int gridy, int gridwidth, int gridheight,
+                                                  double weightx, double weighty, int anchor, int fill,
+                                                  Insets insets, int ipadx, int ipady) {
+        return new GridBagConstraints(gridx, gridy, gridwidth, gridheight, weightx, weighty, anchor, fill,
+                insets, ipadx, ipady);
+    }
+
+    /**
+     * Label and field rows with relative positions, asymmetric insets and leading and trailing anchors.
+     */
+    private static final Form LABEL_FIELD_FORM = new Form() {
+        @Override
+        public void build(Container parent) {
+            for (int row = 0; row < 5; ++row) {
+                parent.add(new Block(40 + 7 * row, 18), constraints(GridBagConstraints.RELATIVE,
+                        GridBagConstraints.RELATIVE, 1, 1, 0, 0, GridBagConstraints.LINE_END,
+                        GridBagConstraints.NONE, new Insets(2, 3, 2, 9), 0, 0));
+                parent.add(new Block(120, 20 + row), constraints(GridBagConstraints.RELATIVE,
+                        GridBagConstraints.RELATIVE, GridBagConstraints.REMAINDER, 1, 1, 0,
+                        GridBagConstraints.FIRST_LINE_START, row % 2 == 0 ? GridBagConstraints.HORIZONTAL :
+                                GridBagConstraints.NONE, new Insets(1, 5, 3, 2), 4, 2));
+            }
+            parent.add(new Block(200, 60), constraints(0, GridBagConstraints.RELATIVE,
+                    GridBagConstraints.REMAINDER, 1, 1, 1, GridBagConstraints.CENTER, GridBagConstraints.BOTH,
+                    new Insets(4, 1, 0, 6), 0, 0));
+        }
+    };
+
+    /**
+     * Absolute positions with cells spanning columns and rows, and unequal weights.
+     */
+    private static final Form SPANNING_FORM = new Form() {
+        @Override
+        public void build(Container parent) {
+            int[] anchors = {GridBagConstraints.NORTHWEST, GridBagConstraints.EAST, GridBagConstraints.SOUTH,
+                    GridBagConstraints.LINE_START, GridBagConstraints.LAST_LINE_END, GridBagConstraints.CENTER};
+            for (int i = 0; i < 6; ++i) {
+                parent.add(new Block(30 + 11 * i, 15 + 3 * i), constraints(i % 3, i / 3, 1, 1, 0.2 * (i % 3),
+                        0.5 * (i / 3), anchors[i], GridBagConstraints.NONE, new Insets(i, 2 * i, 1, 0), 0, 0));
+            }
+            parent.add(new Block(170, 25), constraints(0, 2, 2, 1, 0.7, 0, GridBagConstraints.LINE_START,
+                    GridBagConstraints.HORIZONTAL, new Insets(0, 4, 0, 13), 0, 0));
+            parent.add(new Block(50, 90), constraints(2, 2, 1, 2, 0, 1, GridBagConstraints.PAGE_END,
+                    GridBagConstraints.VERTICAL, new Insets(2, 0, 6, 3), 3, 0));
+            parent.add(new Block(260, 20), constraints(0, 3, 2, 1, 0, 0, GridBagConstraints.FIRST_LINE_END,
+                    GridBagConstraints.NONE, new Insets(0, 0, 0, 0), 0, 5));
+        }
+    };
+
+    private static JPanel createPanel(LayoutManager layout, Form form, ComponentOrientation orientation) {
+        JPanel panel = new JPanel(layout);
+        panel.setBorder(BorderFactory.createEmptyBorder(PARENT_INSETS.top, PARENT_INSETS.left,
+                PARENT_INSETS.bottom, PARENT_INSETS.right));
+        form.build(panel);
+        panel.applyComponentOrientation(orientation);
+        return panel;
+    }
+
+    private static List<Rectangle> layout(JPanel panel, Dimension size) {
+        panel.setSize(size);
+        panel.doLayout();
+        List<Rectangle> bounds = new ArrayList<Rectangle>();
+        for (Component c : panel.getComponents()) {
+            bounds.add(c.getBounds());
+        }
+        return bounds;
+    }
+
+    private static void assertSameLayout(JPanel expected, JPanel actual) {
+        assertEquals(expected.getPreferredSize(), actual.getPreferredSize());
+        assertEquals(expected.getMinimumSize(), actual.getMinimumSize());
+        for (Dimension size : SIZES) {
+            assertEquals("Size " + size, layout(expected, size), layout(actual, size));
+        }
+    }
+
+    private static void assertSameLayout(Form form) {
+        for (ComponentOrientation orientation : new ComponentOrientation[]{
+                ComponentOrientation.LEFT_TO_RIGHT, ComponentOrientation.RIGHT_TO_LEFT}) {
+            assertSameLayout(createPanel(new GridBagLayout(), form, orientation),
+                    createPanel(new CachedGridBagLayout(), form, orientation));
+        }
+    }
+
+    @Test
+    public void labelFieldFormMatchesGridBagLayout() {
+        assertSameLayout(LABEL_FIELD_FORM);
+    }
+
+    @Test
+    public void spanningFormMatchesGridBagLayout() {
+        assertSameLayout(SPANNING_FORM);
+    }
+
+    @Test
+    public void changedConstraintsMatchGridBagLayout() {
+        for (ComponentOrientation orientation : new ComponentOrientation[]{
+                ComponentOrientation.LEFT_TO_RIGHT, ComponentOrientation.RIGHT_TO_LEFT}) {
+            GridBagLayout gridBagLayout = new GridBagLayout();
+            CachedGridBagLayout cachedLayout = new CachedGridBagLayout();
+            JPanel expected = createPanel(gridBagLayout, LABEL_FIELD_FORM, orientation);
+            JPanel actual = createPanel(cachedLayout, LABEL_FIELD_FORM, orientation);
+            GridBagConstraints c = constraints(GridBagConstraints.RELATIVE, GridBagConstraints.RELATIVE, 1, 1, 0, 0,
+                    GridBagConstraints.WEST, GridBagConstraints.NONE, new Insets(6, 1, 0, 4), 8, 0);
+            gridBagLayout.setConstraints(expected.getComponent(2), c);
+            cachedLayout.setConstraints(actual.getComponent(2), c);
+            expected.invalidate();
+            actual.invalidate();
+            assertSameLayout(expected, actual);
+        }
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright (c) 2026 Daniel Marell
+ * All rights reserved.
+ *
+ * Permission is hereby granted, free  of charge, to any person obtaining
+ * a  copy  of this  software  and  associated  documentation files  (the
+ * "Software"), to  deal in  the Software without  restriction, including
+ * without limitation  the rights to  use, copy, modify,  merge, publish,
+ * distribute,  sublicense, and/or sell  copies of  the Software,  and to
+ * permit persons to whom the Software  is furnished to do so, subject to
+ * the following conditions:
+ *
+ * The  above  copyright  notice  and  this permission  notice  shall  be
+ * included in all copies or substantial portions of the Software.
+ *
+ * THE  SOFTWARE IS  PROVIDED  "AS  IS", WITHOUT  WARRANTY  OF ANY  KIND,
+ * EXPRESS OR  IMPLIED, INCLUDING  BUT NOT LIMITED  TO THE  WARRANTIES OF
+ * MERCHANTABILITY,    FITNESS    FOR    A   PARTICULAR    PURPOSE    AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE
+ * LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION
+ * OF CONTRACT, TORT OR OTHERWISE,  ARISING FROM, OUT OF OR IN CONNECTION
+ * WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package se.marell.dswing.util;
+
+import org.junit.After;
+import org.junit.Test;
+
+import javax.imageio.ImageIO;
+import javax.swing.*;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class SnapshotRendererTest {
+    private final List<File> files = new ArrayList<File>();
+
+    /**
+     * Component painting its left half in one color and its right half in another.
+     */
+    private static class SplitBlock extends JComponent {
+        private final Color left;
+        private final Color right;
+
+        SplitBlock(int width, int height, Color left, Color right) {
+            this.left = left;
+            this.right = right;
+            setPreferredSize(new Dimension(width, height));
+        }
+
+        @Override
+        protected void paintComponent(Graphics g) {
+            g.setColor(left);
+            g.fillRect(0, 0, getWidth() / 2, getHeight());
+            g.setColor(right);
+            g.fillRect(getWidth() / 2, 0, getWidth() - getWidth() / 2, getHeight());
+        }
+    }
+
+    private static SnapshotRenderer.ComponentFactory factory(final int width, final int height, final Color left,
+                                                             final Color right) {
+        return new SnapshotRenderer.ComponentFactory() {
+            @Override
+            public JComponent createComponent() {
+                return new SplitBlock(width, height, left, right);
+            }
+        };
+    }
+
+    @After
+    public void deleteFiles() {
+        for (File file : files) {
+            file.delete();
+        }
+    }
+
+    private File newFile() throws IOException {
+        File file = File.createTempFile("snapshot", ".png");
+        files.add(file);
+        return file;
+    }
+
+    @Test
+    public void rendersComponentsInParallel() throws Exception {
+        Color[] colors = {Color.RED, Color.GREEN, Color.BLUE, Color.YELLOW, Color.CYAN, Color.MAGENTA};
+        SnapshotRenderer renderer = new SnapshotRenderer(3);
+        List<Future<File>> futures = new ArrayList<Future<File>>();
+        for (int i = 0; i < colors.length; ++i) {
+            Color right = colors[(i + 1) % colors.length];
+            futures.add(renderer.render(factory(20 + 10 * i, 10 + 5 * i, colors[i], right), newFile()));
+        }
+        renderer.shutdown();
+        assertTrue(renderer.awaitTermination(30, TimeUnit.SECONDS));
+
+        for (int i = 0; i < colors.length; ++i) {
+            BufferedImage image = ImageIO.read(futures.get(i).get());
+            int width = 20 + 10 * i;
+            int height = 10 + 5 * i;
+            assertEquals(width, image.getWidth());
+            assertEquals(height, image.getHeight());
+            assertEquals(colors[i].getRGB(), image.getRGB(0, 0));
+            assertEquals(colors[i].getRGB(), image.getRGB(width / 2 - 1, height - 1));
+            assertEquals(colors[(i + 1) % colors.length].getRGB(), image.getRGB(width / 2, 0));
+            assertEquals(colors[(i + 1) % colors.length].getRGB(), image.getRGB(width - 1, height - 1));
+        }
+        assertEquals(colors.length, renderer.getImageCount());
+    }
+
+    @Test
+    public void setSizeOverridesPreferredSize() throws Exception {
+        SnapshotRenderer renderer = new SnapshotRenderer(1);
+        File file = renderer.render(new SnapshotRenderer.ComponentFactory() {
+            @Override
+            public JComponent createComponent() {
+                JComponent c = new SplitBlock(100, 100, Color.RED, Color.BLUE);
+                c.setSize(30, 20);
+                return c;
+            }
+        }, newFile()).get();
+        renderer.shutdown();
+        BufferedImage image = ImageIO.read(file);
+        assertEquals(30, image.getWidth());
+        assertEquals(20, image.getHeight());
+    }
+
+    @Test
+    public void componentWithoutSizeFails() throws Exception {
+        SnapshotRenderer renderer = new SnapshotRenderer(1);
+        Future<File> future = renderer.render(factory(0, 0, Color.RED, Color.BLUE), newFile());
+        renderer.shutdown();
+        try {
+            future.get();
+            fail("Rendered a component without size");
+        } catch (ExecutionException e) {
+            assertTrue(String.valueOf(e.getCause()), e.getCause() instanceof IOException);
+        }
+        assertEquals(0, renderer.getImageCount());
+    }
+}